@@ -0,0 +1,68 @@
+package com.example.project;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.example.project.dto.ProductListDTO;
+import com.example.project.dto.ReviewResponseDTO;
+import com.example.project.model.Product.Category;
+import com.example.project.model.Review;
+import com.example.project.model.User;
+import com.example.project.security.CustomUserDetails;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+// 요청마다 실행되는 DTO 변환/권한 확인 비용
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DtoMappingBenchmark {
+    private Review review;
+    private CustomUserDetails principal;
+    private long productId;
+
+    @Setup
+    public void setUp() {
+        User user = User.builder().id(1L).username("reviewer").build();
+        review = Review.builder()
+                .id(1L)
+                .user(user)
+                .reviewText("배송이 빠르고 품질이 좋습니다. ".repeat(10))
+                .rating(5)
+                .reviewDate(LocalDateTime.of(2024, 5, 1, 10, 0))
+                .build();
+        principal = new CustomUserDetails(1L, "reviewer", User.Role.USER, true, null);
+    }
+
+    @Benchmark
+    public ProductListDTO productListDTO() {    // 상품 목록 JPQL 생성자 식
+        long id = ++productId;
+        return new ProductListDTO(id, "상품 " + id, "/images/abc.png", 10000, 5, Category.ELECTRONICS, 4.5, 12L, (id & 1) == 0);
+    }
+
+    @Benchmark
+    public ReviewResponseDTO reviewResponseDTO() {
+        return ReviewResponseDTO.from(review);
+    }
+
+    @Benchmark
+    public Object authorities() {
+        return principal.getAuthorities();
+    }
+
+    @Benchmark
+    public boolean hasRoleHit() {
+        return principal.hasRole("ROLE_USER");
+    }
+
+    @Benchmark
+    public boolean hasRoleMiss() {
+        return principal.hasRole("ROLE_ADMIN");
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.project;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.example.project.dto.OrderDTO;
+import com.example.project.dto.OrderItemDTO;
+import com.example.project.model.Order;
+import com.example.project.model.OrderItem;
+import com.example.project.model.Product;
+import com.example.project.model.User;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// 마이페이지 주문 목록 한 페이지 조립 비용: 엔티티 -> DTO 변환(기존 경로)과 읽기 모델 JSON -> DTO 변환 비교
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class OrderDtoAssemblyBenchmark {
+    private static final TypeReference<List<OrderItemDTO>> ITEMS_TYPE = new TypeReference<>() {};
+
+    @Param({"5", "20"})
+    private int ordersPerPage;
+
+    @Param({"3"})
+    private int itemsPerOrder;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private List<Order> orders;
+    private Map<Long, Long> myReviewMap;
+    private List<String> itemsJson;
+
+    @Setup
+    public void setUp() throws Exception {
+        User user = User.builder().id(1L).username("bench").build();
+        orders = new ArrayList<>();
+        myReviewMap = new HashMap<>();
+        itemsJson = new ArrayList<>();
+        long itemId = 0;
+        for (long orderId = 1; orderId <= ordersPerPage; orderId++) {
+            Order order = Order.builder()
+                    .id(orderId)
+                    .user(user)
+                    .orderDate(LocalDateTime.of(2024, 5, 1, 10, 0).plusHours(orderId))
+                    .status(Order.OrderStatus.PAID)
+                    .totalPrice(30000)
+                    .build();
+            for (int i = 0; i < itemsPerOrder; i++) {
+                long productId = orderId * 10 + i;
+                Product product = Product.builder().id(productId).name("상품 " + productId).imageUrl("/images/" + productId + ".png").price(10000).build();
+                order.addOrderItem(OrderItem.builder().id(++itemId).product(product).quantity(1).price(10000).build());
+                if (i == 0) {
+                    myReviewMap.put(productId, productId * 100);
+                }
+            }
+            orders.add(order);
+            itemsJson.add(objectMapper.writeValueAsString(toOrderDTO(order).getOrderItems()));
+        }
+    }
+
+    private OrderDTO toOrderDTO(Order order) {     // OrderService.toOrderDTOs와 같은 조립
+        OrderDTO dto = OrderDTO.builder()
+                .id(order.getId())
+                .userId(order.getUser().getId())
+                .orderDate(order.getOrderDate().toString())
+                .status(order.getStatus().name())
+                .totalPrice(order.getTotalPrice())
+                .build();
+        for (OrderItem orderItem : order.getOrderItems()) {
+            dto.getOrderItems().add(OrderItemDTO.from(orderItem, myReviewMap.getOrDefault(orderItem.getProduct().getId(), null)));
+        }
+        return dto;
+    }
+
+    @Benchmark
+    public List<OrderDTO> assembleFromEntities() {
+        List<OrderDTO> result = new ArrayList<>(orders.size());
+        for (Order order : orders) {
+            result.add(toOrderDTO(order));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<OrderDTO> assembleFromReadModel() throws Exception {  // OrderHistoryProjection 경로 (행마다 JSON 역직렬화)
+        List<OrderDTO> result = new ArrayList<>(orders.size());
+        for (int i = 0; i < orders.size(); i++) {
+            Order order = orders.get(i);
+            result.add(OrderDTO.builder()
+                    .id(order.getId())
+                    .userId(1L)
+                    .orderDate(order.getOrderDate().toString())
+                    .status(order.getStatus().name())
+                    .totalPrice(order.getTotalPrice())
+                    .orderItems(objectMapper.readValue(itemsJson.get(i), ITEMS_TYPE))
+                    .build());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.project;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.example.project.dto.ProductDetailDTO;
+import com.example.project.dto.ReviewResponseDTO;
+import com.example.project.model.Product.Category;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// 상품 상세 응답(리뷰 Page 포함) JSON 직렬화 비용
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ProductDetailSerializationBenchmark {
+
+    @Param({"10", "50"})
+    private int reviewsPerPage;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();  // 애플리케이션과 같은 기본 설정 (JavaTimeModule 등)
+    private ProductDetailDTO detail;
+
+    @Setup
+    public void setUp() {
+        List<ReviewResponseDTO> reviews = new ArrayList<>();
+        for (long id = 1; id <= reviewsPerPage; id++) {
+            reviews.add(ReviewResponseDTO.builder()
+                    .id(id)
+                    .reviewText("배송이 빠르고 품질이 좋습니다. ".repeat(5))
+                    .rating((int) (id % 5) + 1)
+                    .reviewer("user" + id)
+                    .reviewDate(LocalDateTime.of(2024, 5, 1, 10, 0).plusMinutes(id))
+                    .build());
+        }
+        detail = ProductDetailDTO.builder()
+                .id(1L)
+                .name("기계식 키보드")
+                .imageUrl("/images/abc_detail.jpg")
+                .description("텐키리스 기계식 키보드. ".repeat(20))
+                .price(89000)
+                .stock(30)
+                .category(Category.ELECTRONICS)
+                .reviews(new PageImpl<>(reviews, PageRequest.of(0, reviewsPerPage), reviewsPerPage * 7L))
+                .build();
+    }
+
+    @Benchmark
+    public byte[] serialize() throws Exception {
+        return objectMapper.writeValueAsBytes(detail);
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.project;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import com.example.project.stock.StockLedger;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 같은 상품(인기 상품)에 예약/해제가 몰릴 때의 처리량 측정
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class StockLedgerBenchmark {
+
+    @Param({"1", "16"})
+    private int productCount;
+
+    private StockLedger ledger;
+    private final AtomicLong orderSequence = new AtomicLong();
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        ledger = new StockLedger(id -> Integer.MAX_VALUE / 2);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public boolean reserveAndRelease() {
+        long orderId = orderSequence.incrementAndGet();
+        Long productId = orderId % productCount;
+        ledger.reserve(orderId, Map.of(productId, 1));
+        return ledger.release(orderId);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public boolean reserveAndConfirm() {
+        long orderId = orderSequence.incrementAndGet();
+        Long productId = orderId % productCount;
+        ledger.reserve(orderId, Map.of(productId, 1));
+        return ledger.confirm(orderId);
+    }
+}
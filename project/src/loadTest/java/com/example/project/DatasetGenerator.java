@@ -0,0 +1,281 @@
+package com.example.project;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.project.model.Order.OrderStatus;
+import com.example.project.model.Product.Category;
+import com.example.project.repository.ProductRepository;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// 쿼리 벤치마크용 대량 데이터 생성기 (JDBC 일괄 INSERT)
+// 같은 seed와 규모면 항상 같은 데이터가 만들어짐 (날짜만 실행일 기준 최근 1년에 분포, 최근 30일 집계 쿼리가 의미 있도록)
+public class DatasetGenerator {
+    private static final String[] WORDS = {"무선", "프리미엄", "미니", "스마트", "클래식", "캠핑", "유기농", "원목", "블루", "세트"};
+    private static final String[] NOUNS = {"키보드", "셔츠", "커피", "의자", "블록", "이어폰", "자켓", "견과", "책상", "인형"};
+    private static final String[] REVIEW_TEXTS = {"배송이 빠르고 품질이 좋습니다.", "가격 대비 만족합니다.", "생각보다 작아요.", "재구매 의사 있습니다.", "포장이 아쉬워요."};
+    private static final int[] RATINGS = {5, 5, 5, 4, 4, 3, 2, 1};     // 높은 별점 쪽으로 치우친 분포
+    private static final double USER_ACTIVITY_EXPONENT = 0.5;          // 사용자별 주문 수 쏠림 (상품 인기보다 완만하게)
+    private static final int HISTORY_DAYS = 365;
+
+    private static final String INSERT_USER_SQL =
+            "INSERT INTO user (id, username, name, password, email, phone_number, address, role, enabled, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_PRODUCT_SQL =
+            "INSERT INTO product (id, name, description, price, stock, category, image_variants_ready, rating_sum, review_count, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, FALSE, 0, 0, ?, ?)";
+    private static final String INSERT_ORDER_SQL =
+            "INSERT INTO orders (id, user_id, address, order_date, status, total_price) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_ORDER_ITEM_SQL =
+            "INSERT INTO order_item (id, order_id, product_id, quantity, price) VALUES (?, ?, ?, ?, ?)";
+    private static final String INSERT_REVIEW_SQL =
+            "INSERT INTO review (id, user_id, product_id, review_text, review_date, rating) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_CART_ITEM_SQL =
+            "INSERT INTO cart_item (id, user_id, product_id, quantity) VALUES (?, ?, ?, ?)";
+
+    public record Scale(int users, int products, int orders, int reviews, int cartUsers) {
+        public static Scale ofOrders(int orders) {      // 주문 수 기준 규모 (사용자 1/10, 상품 1/50, 리뷰 1/4, 장바구니 보유 사용자 1/5)
+            int users = Math.max(100, orders / 10);
+            return new Scale(users, Math.max(100, orders / 50), orders, orders / 4, users / 5);
+        }
+    }
+
+    public record Dataset(Scale scale, long[] productIdsByPopularity, long[] userIdsByActivity,
+                          Map<String, Long> rows, long loadNanos) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ProductRepository productRepository;
+    private final long seed;
+    private final int batchSize;
+    private final double zipfExponent;
+
+    public DatasetGenerator(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate, ProductRepository productRepository,
+                            long seed, int batchSize, double zipfExponent) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.productRepository = productRepository;
+        this.seed = seed;
+        this.batchSize = batchSize;
+        this.zipfExponent = zipfExponent;
+    }
+
+    public Dataset load(Scale scale) {      // 빈 스키마에 적재 (id를 직접 지정하므로 기존 행이 있으면 안 됨)
+        long start = System.nanoTime();
+        LocalDateTime anchor = LocalDate.now().atStartOfDay();
+        Map<String, Long> rows = new LinkedHashMap<>();
+
+        long[] userIds = permutation(scale.users(), random(1));           // 활동 순위 -> 사용자 ID (ID 순서와 인기 순서가 겹치지 않도록 섞음)
+        long[] productIds = permutation(scale.products(), random(2));     // 인기 순위 -> 상품 ID
+        ZipfSampler userSampler = new ZipfSampler(scale.users(), USER_ACTIVITY_EXPONENT);
+        ZipfSampler productSampler = new ZipfSampler(scale.products(), zipfExponent);
+
+        rows.put("user", loadUsers(scale, anchor));
+        int[] prices = new int[scale.products() + 1];
+        rows.put("product", loadProducts(scale, anchor, prices));
+        long[] orderRows = loadOrders(scale, anchor, prices, userIds, productIds, userSampler, productSampler);
+        rows.put("orders", orderRows[0]);
+        rows.put("order_item", orderRows[1]);
+        rows.put("review", loadReviews(scale, anchor, productIds, productSampler));
+        rows.put("cart_item", loadCartItems(scale, productIds, productSampler));
+        transactionTemplate.executeWithoutResult(status -> productRepository.rebuildRatingAggregates());   // 상품 별점 집계 컬럼 채움
+
+        return new Dataset(scale, productIds, userIds, rows, System.nanoTime() - start);
+    }
+
+    private long loadUsers(Scale scale, LocalDateTime anchor) {
+        Timestamp createdAt = Timestamp.valueOf(anchor.minusDays(HISTORY_DAYS));
+        Batch batch = new Batch(INSERT_USER_SQL, null);
+        for (long id = 1; id <= scale.users(); id++) {
+            batch.add(id, "user" + id, "사용자" + id, "password", "user" + id + "@example.com",
+                    String.format("010%08d", id), "서울", "USER", true, createdAt, createdAt);
+        }
+        return batch.finish();
+    }
+
+    private long loadProducts(Scale scale, LocalDateTime anchor, int[] prices) {
+        SplittableRandom random = random(3);
+        Category[] categories = Category.values();
+        Timestamp createdAt = Timestamp.valueOf(anchor.minusDays(HISTORY_DAYS));
+        Batch batch = new Batch(INSERT_PRODUCT_SQL, null);
+        for (int id = 1; id <= scale.products(); id++) {
+            String word = WORDS[random.nextInt(WORDS.length)];
+            String noun = NOUNS[random.nextInt(NOUNS.length)];
+            prices[id] = 1000 + random.nextInt(200) * 500;
+            batch.add((long) id, word + " " + noun + " " + id, word + " " + noun + " 상품 설명입니다.", prices[id], 1000,
+                    categories[random.nextInt(categories.length)].name(), createdAt, createdAt);
+        }
+        return batch.finish();
+    }
+
+    private long[] loadOrders(Scale scale, LocalDateTime anchor, int[] prices, long[] userIds, long[] productIds,
+                              ZipfSampler userSampler, ZipfSampler productSampler) {   // 주문과 주문 항목 (주문 날짜는 ID 순으로 증가)
+        SplittableRandom random = random(4);
+        long spanSeconds = TimeUnit.DAYS.toSeconds(HISTORY_DAYS);
+        LocalDateTime from = anchor.minusDays(HISTORY_DAYS);
+        Batch orders = new Batch(INSERT_ORDER_SQL, null);
+        Batch items = new Batch(INSERT_ORDER_ITEM_SQL, orders);     // 주문 항목을 반영하기 전에 주문부터 반영 (FK 순서)
+        long itemId = 0;
+        long[] picked = new long[4];
+        int[] quantities = new int[picked.length];
+        for (long id = 1; id <= scale.orders(); id++) {
+            int itemCount = 1 + random.nextInt(picked.length);
+            int distinct = 0;
+            for (int attempt = 0; distinct < itemCount && attempt < itemCount * 4; attempt++) {    // 한 주문 안에서는 상품 중복 없이
+                long productId = productIds[productSampler.sample(random)];
+                if (!contains(picked, distinct, productId)) {
+                    picked[distinct++] = productId;
+                }
+            }
+            int totalPrice = 0;
+            for (int i = 0; i < distinct; i++) {
+                quantities[i] = 1 + random.nextInt(3);
+                totalPrice += prices[(int) picked[i]] * quantities[i];
+            }
+            LocalDateTime orderDate = from.plusSeconds(spanSeconds * (id - 1) / scale.orders() + random.nextInt(60));
+            orders.add(id, userIds[userSampler.sample(random)], "서울", Timestamp.valueOf(orderDate), status(random).name(), totalPrice);
+            for (int i = 0; i < distinct; i++) {
+                items.add(++itemId, id, picked[i], quantities[i], prices[(int) picked[i]]);
+            }
+        }
+        return new long[]{orders.finish(), items.finish()};
+    }
+
+    private long loadReviews(Scale scale, LocalDateTime anchor, long[] productIds, ZipfSampler productSampler) {
+        SplittableRandom random = random(5);
+        long spanSeconds = TimeUnit.DAYS.toSeconds(HISTORY_DAYS);
+        LocalDateTime from = anchor.minusDays(HISTORY_DAYS);
+        Batch batch = new Batch(INSERT_REVIEW_SQL, null);
+        for (long id = 1; id <= scale.reviews(); id++) {
+            LocalDateTime reviewDate = from.plusSeconds(spanSeconds * (id - 1) / Math.max(1, scale.reviews()) + random.nextInt(60));
+            batch.add(id, 1 + (long) random.nextInt(scale.users()), productIds[productSampler.sample(random)],
+                    REVIEW_TEXTS[random.nextInt(REVIEW_TEXTS.length)], Timestamp.valueOf(reviewDate), RATINGS[random.nextInt(RATINGS.length)]);
+        }
+        return batch.finish();
+    }
+
+    private long loadCartItems(Scale scale, long[] productIds, ZipfSampler productSampler) {    // (사용자, 상품) 유일 제약을 지키며 사용자당 1~5개
+        SplittableRandom random = random(6);
+        Batch batch = new Batch(INSERT_CART_ITEM_SQL, null);
+        long id = 0;
+        long[] picked = new long[5];
+        for (int k = 0; k < scale.cartUsers(); k++) {
+            long userId = 1 + (long) k * scale.users() / scale.cartUsers();
+            int itemCount = 1 + random.nextInt(picked.length);
+            int distinct = 0;
+            for (int attempt = 0; distinct < itemCount && attempt < itemCount * 4; attempt++) {
+                long productId = productIds[productSampler.sample(random)];
+                if (!contains(picked, distinct, productId)) {
+                    picked[distinct++] = productId;
+                    batch.add(++id, userId, productId, 1 + random.nextInt(3));
+                }
+            }
+        }
+        return batch.finish();
+    }
+
+    private static OrderStatus status(SplittableRandom random) {    // 결제 대기 주문은 만료 정리 작업이 지우므로 만들지 않음
+        int roll = random.nextInt(100);
+        if (roll < 80) {
+            return OrderStatus.PAID;
+        }
+        if (roll < 88) {
+            return OrderStatus.SHIPPED;
+        }
+        return roll < 95 ? OrderStatus.DELIVERED : OrderStatus.CANCELLED;
+    }
+
+    private static boolean contains(long[] values, int length, long value) {
+        for (int i = 0; i < length; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long[] permutation(int size, SplittableRandom random) {  // 1..size 셔플 (Fisher-Yates)
+        long[] ids = new long[size];
+        for (int i = 0; i < size; i++) {
+            ids[i] = i + 1;
+        }
+        for (int i = size - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            long tmp = ids[i];
+            ids[i] = ids[j];
+            ids[j] = tmp;
+        }
+        return ids;
+    }
+
+    private SplittableRandom random(int stream) {   // 테이블마다 독립된 난수열 (한 테이블 규칙을 바꿔도 다른 테이블 데이터는 그대로)
+        return new SplittableRandom(seed * 1_000_003L + stream);
+    }
+
+    private class Batch {   // batchSize 행마다 JdbcTemplate.batchUpdate로 반영
+        private final String sql;
+        private final Batch parent;     // 먼저 반영해야 하는 참조 대상 테이블
+        private final List<Object[]> pending = new ArrayList<>();
+        private long written;
+
+        Batch(String sql, Batch parent) {
+            this.sql = sql;
+            this.parent = parent;
+        }
+
+        void add(Object... row) {
+            pending.add(row);
+            if (pending.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (parent != null) {
+                parent.flush();
+            }
+            if (!pending.isEmpty()) {
+                jdbcTemplate.batchUpdate(sql, pending);
+                written += pending.size();
+                pending.clear();
+            }
+        }
+
+        long finish() {
+            flush();
+            return written;
+        }
+    }
+
+    static final class ZipfSampler {    // 순위 k(0부터)가 뽑힐 확률이 1 / (k + 1)^s 에 비례
+        private final double[] cdf;
+
+        ZipfSampler(int size, double exponent) {
+            cdf = new double[size];
+            double sum = 0;
+            for (int k = 0; k < size; k++) {
+                sum += 1.0 / Math.pow(k + 1, exponent);
+                cdf[k] = sum;
+            }
+            for (int k = 0; k < size; k++) {
+                cdf[k] /= sum;
+            }
+        }
+
+        int sample(SplittableRandom random) {
+            int index = Arrays.binarySearch(cdf, random.nextDouble());
+            return Math.min(index >= 0 ? index : -index - 1, cdf.length - 1);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.project;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// 엔드포인트별 응답 시간(HdrHistogram) / 오류 수 집계
+public class EndpointLatency {
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final Map<String, Recorder> recorders = new ConcurrentSkipListMap<>();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+    public void record(String endpoint, long elapsedNanos, boolean success) {
+        recorders.computeIfAbsent(endpoint, key -> new Recorder(HIGHEST_TRACKABLE_MICROS, 3))
+                .recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(elapsedNanos), HIGHEST_TRACKABLE_MICROS));
+        if (!success) {
+            errors.computeIfAbsent(endpoint, key -> new LongAdder()).increment();
+        }
+    }
+
+    public void reset() {   // 워밍업 구간 기록 버림
+        recorders.values().forEach(Recorder::reset);
+        errors.values().forEach(LongAdder::reset);
+    }
+
+    public void report(long elapsedNanos, PrintStream out, Path outputDir) throws IOException {   // 측정 구간 결과 출력 (ms 단위) + 엔드포인트별 .hgrm 저장
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        Files.createDirectories(outputDir);
+        out.printf("%-28s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+                "endpoint", "count", "errors", "req/s", "p50", "p90", "p99", "p99.9", "max");
+        Histogram total = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+        long totalErrors = 0;
+        for (Map.Entry<String, Recorder> entry : recorders.entrySet()) {
+            Histogram histogram = entry.getValue().getIntervalHistogram();
+            long errorCount = errors.getOrDefault(entry.getKey(), new LongAdder()).sum();
+            print(out, entry.getKey(), histogram, errorCount, seconds);
+            try (PrintStream file = new PrintStream(Files.newOutputStream(outputDir.resolve(entry.getKey().replaceAll("[^A-Za-z0-9_-]", "_") + ".hgrm")))) {
+                histogram.outputPercentileDistribution(file, 1000.0);
+            }
+            total.add(histogram);
+            totalErrors += errorCount;
+        }
+        print(out, "TOTAL", total, totalErrors, seconds);
+    }
+
+    private void print(PrintStream out, String endpoint, Histogram histogram, long errorCount, double seconds) {
+        out.printf("%-28s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                endpoint,
+                histogram.getTotalCount(),
+                errorCount,
+                histogram.getTotalCount() / seconds,
+                histogram.getValueAtPercentile(50) / 1000.0,
+                histogram.getValueAtPercentile(90) / 1000.0,
+                histogram.getValueAtPercentile(99) / 1000.0,
+                histogram.getValueAtPercentile(99.9) / 1000.0,
+                histogram.getMaxValue() / 1000.0);
+    }
+}
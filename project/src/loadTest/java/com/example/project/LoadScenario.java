@@ -0,0 +1,151 @@
+package com.example.project;
+
+import com.example.project.model.Product.Category;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.BooleanSupplier;
+
+// 가상 사용자 한 명의 시나리오: 로그인 -> (상품 목록 검색 -> 상품 상세 -> 장바구니 담기 -> 주문/결제 -> 주문 내역) 반복
+public class LoadScenario implements Runnable {
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final Category[] CATEGORIES = Category.values();
+
+    private final String baseUrl;
+    private final String username;
+    private final String password;
+    private final List<Long> productIds;
+    private final LoadTestRunner.Settings settings;
+    private final EndpointLatency latency;
+    private final BooleanSupplier running;
+    private final HttpClient client;
+
+    public LoadScenario(String baseUrl, String username, String password, List<Long> productIds,
+                        LoadTestRunner.Settings settings, EndpointLatency latency, BooleanSupplier running) {
+        this.baseUrl = baseUrl;
+        this.username = username;
+        this.password = password;
+        this.productIds = productIds;
+        this.settings = settings;
+        this.latency = latency;
+        this.running = running;
+        this.client = HttpClient.newBuilder()      // 가상 사용자마다 세션 쿠키를 따로 보관
+                .cookieHandler(new CookieManager())
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    @Override
+    public void run() {
+        try {
+            if (!login()) {
+                return;
+            }
+            while (running.getAsBoolean()) {
+                iterate();
+                if (settings.thinkMillis() > 0) {
+                    Thread.sleep(ThreadLocalRandom.current().nextLong(settings.thinkMillis() + 1));
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private boolean login() throws InterruptedException {
+        String form = "username=" + encode(username) + "&password=" + encode(password);
+        HttpResponse<String> response = send("POST /auth/login", HttpRequest.newBuilder(uri("/auth/login"))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(form)));
+        return response != null && response.statusCode() == 200;
+    }
+
+    private void iterate() throws InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        StringBuilder query = new StringBuilder("/products?page=").append(random.nextInt(3));   // 목록 검색 (카테고리/검색어 조합)
+        if (random.nextDouble() < 0.7) {
+            query.append("&category=").append(CATEGORIES[random.nextInt(CATEGORIES.length)].name());
+        }
+        if (random.nextDouble() < 0.5) {
+            query.append("&keyword=").append(encode(LoadTestRunner.KEYWORDS.get(random.nextInt(LoadTestRunner.KEYWORDS.size()))));
+        }
+        HttpResponse<String> list = send("GET /products", HttpRequest.newBuilder(uri(query.toString())).GET());
+        Long productId = pickProduct(list);
+
+        send("GET /products/{id}", HttpRequest.newBuilder(uri("/products/" + productId)).GET());
+
+        if (random.nextDouble() < settings.cartRatio()) {
+            HttpResponse<String> added = send("POST /cartitem/{id}", HttpRequest.newBuilder(uri("/cartitem/" + productId + "?quantity=1"))
+                    .POST(HttpRequest.BodyPublishers.noBody()));
+            if (added != null && added.statusCode() == 200 && random.nextDouble() < settings.checkoutRatio()) {
+                checkout();
+            }
+        }
+
+        if (random.nextDouble() < settings.ordersRatio()) {
+            send("GET /auth/orders", HttpRequest.newBuilder(uri("/auth/orders?page=0")).GET());
+        }
+    }
+
+    private void checkout() throws InterruptedException {  // 주문 생성(카카오페이 준비) -> 결제 승인
+        HttpResponse<String> placed = send("POST /order/cartitem", HttpRequest.newBuilder(uri("/order/cartitem"))
+                .POST(HttpRequest.BodyPublishers.noBody()));
+        if (placed == null || placed.statusCode() != 200) {
+            return;
+        }
+        long orderId;
+        try {
+            orderId = OBJECT_MAPPER.readTree(placed.body()).path("orderId").asLong();
+        } catch (IOException e) {
+            return;
+        }
+        send("POST /payment/success/cart", HttpRequest.newBuilder(uri("/payment/success/cart?orderId=" + orderId + "&pg_token=loadtest"))
+                .POST(HttpRequest.BodyPublishers.noBody()));
+    }
+
+    private Long pickProduct(HttpResponse<String> list) {   // 목록 결과 중 하나, 결과가 없으면 임의 상품
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (list != null && list.statusCode() == 200) {
+            try {
+                JsonNode content = OBJECT_MAPPER.readTree(list.body()).path("content");
+                if (content.size() > 0) {
+                    return content.get(random.nextInt(content.size())).path("id").asLong();
+                }
+            } catch (IOException ignored) {
+            }
+        }
+        return productIds.get(random.nextInt(productIds.size()));
+    }
+
+    private HttpResponse<String> send(String endpoint, HttpRequest.Builder request) throws InterruptedException {  // 요청 한 건 실행 및 응답 시간 기록 (2xx가 아니면 오류)
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> response = client.send(request.timeout(Duration.ofSeconds(30)).build(), HttpResponse.BodyHandlers.ofString());
+            latency.record(endpoint, System.nanoTime() - start, response.statusCode() / 100 == 2);
+            return response;
+        } catch (IOException e) {
+            latency.record(endpoint, System.nanoTime() - start, false);
+            return null;
+        }
+    }
+
+    private URI uri(String path) {
+        return URI.create(baseUrl + path);
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
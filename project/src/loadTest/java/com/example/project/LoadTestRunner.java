@@ -0,0 +1,149 @@
+package com.example.project;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import com.example.project.model.Product;
+import com.example.project.model.Product.Category;
+import com.example.project.model.User;
+import com.example.project.repository.ProductRepository;
+import com.example.project.repository.UserRepository;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+// 부하 테스트 실행기: H2(MySQL 모드) + 카카오페이 스텁으로 애플리케이션을 띄우고 가상 사용자 시나리오를 동시에 실행
+// 설정은 시스템 프로퍼티 loadtest.* (예: ./gradlew loadTest -Ploadtest.concurrency=64 -Ploadtest.duration-seconds=120)
+public class LoadTestRunner {
+    static final List<String> KEYWORDS = List.of("무선", "프리미엄", "미니", "스마트", "클래식", "캠핑", "유기농", "원목", "블루", "세트");
+    private static final String[] NOUNS = {"키보드", "셔츠", "커피", "의자", "블록", "이어폰", "자켓", "견과", "책상", "인형"};
+    private static final String PASSWORD = "loadtest1234";
+
+    public record Settings(int concurrency, int warmupSeconds, int durationSeconds, int users, int products,
+                           double cartRatio, double checkoutRatio, double ordersRatio, long thinkMillis, Path outputDir) {
+
+        static Settings fromSystemProperties() {
+            int concurrency = Integer.getInteger("loadtest.concurrency", 32);
+            return new Settings(
+                    concurrency,
+                    Integer.getInteger("loadtest.warmup-seconds", 15),
+                    Integer.getInteger("loadtest.duration-seconds", 60),
+                    Integer.getInteger("loadtest.users", concurrency),     // 기본: 가상 사용자마다 계정 하나
+                    Integer.getInteger("loadtest.products", 2000),
+                    Double.parseDouble(System.getProperty("loadtest.cart-ratio", "0.3")),       // 상세 조회 후 장바구니 담기 비율
+                    Double.parseDouble(System.getProperty("loadtest.checkout-ratio", "0.3")),   // 담은 뒤 주문/결제까지 진행하는 비율
+                    Double.parseDouble(System.getProperty("loadtest.orders-ratio", "0.1")),     // 반복마다 주문 내역 조회 비율
+                    Long.getLong("loadtest.think-millis", 0L),                                   // 반복 사이 최대 대기 시간
+                    Path.of(System.getProperty("loadtest.output-dir", "build/results/loadtest")));
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Settings settings = Settings.fromSystemProperties();
+        List<Long> productIds = new ArrayList<>();
+
+        try (KakaoPayStubServer kakaoPay = new KakaoPayStubServer();
+             ConfigurableApplicationContext context = new SpringApplicationBuilder(Application.class)
+                     .properties(applicationProperties(kakaoPay.getBaseUrl()))
+                     .listeners(new ApplicationListener<ApplicationStartedEvent>() {
+                         @Override
+                         public void onApplicationEvent(ApplicationStartedEvent event) {
+                             productIds.addAll(seed(event.getApplicationContext(), settings));
+                         }
+                     })
+                     .run(args)) {
+            String baseUrl = "http://127.0.0.1:" + context.getEnvironment().getProperty("local.server.port");
+            System.out.printf("부하 테스트 시작: 가상 사용자 %d명, 워밍업 %d초, 측정 %d초 (%s)%n",
+                    settings.concurrency(), settings.warmupSeconds(), settings.durationSeconds(), baseUrl);
+
+            EndpointLatency latency = new EndpointLatency();
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(settings.warmupSeconds() + settings.durationSeconds());
+            ExecutorService executor = Executors.newFixedThreadPool(settings.concurrency());
+            for (int i = 0; i < settings.concurrency(); i++) {
+                executor.submit(new LoadScenario(baseUrl, "load" + (i % settings.users()), PASSWORD, productIds,
+                        settings, latency, () -> System.nanoTime() < deadline));
+            }
+
+            Thread.sleep(TimeUnit.SECONDS.toMillis(settings.warmupSeconds()));
+            latency.reset();
+            long measureStart = System.nanoTime();
+            executor.shutdown();
+            if (!executor.awaitTermination(settings.durationSeconds() + 60L, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+            long measured = System.nanoTime() - measureStart;
+
+            latency.report(measured, System.out, settings.outputDir());
+            System.out.printf("카카오페이 스텁 호출: 준비 %d건, 승인 %d건%n", kakaoPay.getReadyCount(), kakaoPay.getApproveCount());
+        }
+    }
+
+    private static Map<String, Object> applicationProperties(String kakaoPayBaseUrl) throws Exception {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("spring.profiles.active", "loadtest");     // 로컬 dev 설정(MySQL) 대신 아래 설정 사용
+        properties.put("spring.datasource.url", "jdbc:h2:mem:loadtest;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER,VALUE;DB_CLOSE_DELAY=-1");
+        properties.put("spring.datasource.driver-class-name", "org.h2.Driver");
+        properties.put("spring.datasource.username", "sa");
+        properties.put("spring.datasource.password", "");
+        properties.put("spring.datasource.hikari.maximum-pool-size", Integer.getInteger("loadtest.db-pool", 20));
+        properties.put("spring.jpa.properties.hibernate.dialect", "org.hibernate.dialect.H2Dialect");
+        properties.put("spring.jpa.hibernate.ddl-auto", "create");
+        properties.put("spring.jpa.show-sql", "false");
+        properties.put("spring.mail.host", "localhost");
+        properties.put("server.port", "0");
+        properties.put("kakaopay.base-url", kakaoPayBaseUrl);
+        properties.put("kakaopay.secret-key", "loadtest");
+        properties.put("app.upload.dir", Files.createTempDirectory("loadtest-images").toString());
+        properties.put("logging.level.root", "WARN");
+        return properties;
+    }
+
+    private static List<Long> seed(ApplicationContext context, Settings settings) {  // 시작 직후(색인/읽기 모델 초기화 전) 사용자/상품 생성
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        ProductRepository productRepository = context.getBean(ProductRepository.class);
+        String encodedPassword = context.getBean(BCryptPasswordEncoder.class).encode(PASSWORD);
+
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < settings.users(); i++) {
+            users.add(User.builder()
+                    .username("load" + i)
+                    .name("부하" + i)
+                    .password(encodedPassword)
+                    .email("load" + i + "@example.com")
+                    .phoneNumber(String.format("010%08d", i))
+                    .address("서울")
+                    .role(User.Role.USER)
+                    .enabled(true)
+                    .build());
+        }
+        userRepository.saveAll(users);
+
+        Random random = new Random(42);
+        Category[] categories = Category.values();
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < settings.products(); i++) {
+            String keyword = KEYWORDS.get(random.nextInt(KEYWORDS.size()));
+            String noun = NOUNS[random.nextInt(NOUNS.length)];
+            products.add(Product.builder()
+                    .name(keyword + " " + noun + " " + i)
+                    .description(keyword + " " + noun + " 상품 설명입니다. ".repeat(5))
+                    .price(1000 + random.nextInt(100) * 500)
+                    .stock(1_000_000)       // 측정 중 재고 소진으로 주문이 실패하지 않도록
+                    .category(categories[random.nextInt(categories.length)])
+                    .build());
+        }
+        return productRepository.saveAll(products).stream().map(Product::getId).toList();
+    }
+}
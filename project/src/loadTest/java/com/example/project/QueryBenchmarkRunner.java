@@ -0,0 +1,167 @@
+package com.example.project;
+
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.project.model.Product.Category;
+import com.example.project.repository.OrderRepository;
+import com.example.project.repository.ProductRepository;
+import com.example.project.repository.ReviewRepository;
+
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+// 저장소 쿼리 벤치마크: 규모별로 스키마를 새로 만들고 DatasetGenerator로 적재한 뒤 주요 쿼리 응답 시간 측정
+// 설정은 시스템 프로퍼티 dataset.* (예: ./gradlew queryBenchmark -Pdataset.scales=10000,100000,1000000 -Pdataset.url=jdbc:mysql://localhost:3306/benchdb)
+public class QueryBenchmarkRunner {
+    private static final int PAGE_SIZE = 10;
+    private static final String[] KEYWORDS = {"무선", "캠핑", "원목"};
+    private static final Category[] CATEGORIES = Category.values();
+
+    public static void main(String[] args) throws Exception {
+        List<Integer> scales = Arrays.stream(System.getProperty("dataset.scales", "10000,100000,1000000").split(","))
+                .map(String::trim).map(Integer::parseInt).toList();     // 규모 = 주문 수 (나머지 테이블은 DatasetGenerator.Scale 비율)
+        long seed = Long.getLong("dataset.seed", 42L);
+        int batchSize = Integer.getInteger("dataset.batch-size", 5000);
+        double zipfExponent = Double.parseDouble(System.getProperty("dataset.zipf-exponent", "1.0"));
+        int warmup = Integer.getInteger("dataset.warmup-iterations", 20);
+        int iterations = Integer.getInteger("dataset.iterations", 100);
+        Path outputDir = Path.of(System.getProperty("dataset.output-dir", "build/results/query-benchmark"));
+        Files.createDirectories(outputDir);
+        Path csv = outputDir.resolve("results.csv");
+        Files.writeString(csv, "orders,rows,query,count,mean_ms,p50_ms,p90_ms,p99_ms,max_ms\n");
+
+        for (int orders : scales) {
+            try (ConfigurableApplicationContext context = new SpringApplicationBuilder(Application.class)
+                    .properties(applicationProperties())
+                    .run(args)) {       // 규모마다 컨텍스트를 새로 띄워 ddl-auto=create로 빈 스키마에서 시작
+                JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+                ProductRepository productRepository = context.getBean(ProductRepository.class);
+                DatasetGenerator generator = new DatasetGenerator(jdbcTemplate, context.getBean(TransactionTemplate.class),
+                        productRepository, seed, batchSize, zipfExponent);
+
+                DatasetGenerator.Dataset dataset = generator.load(DatasetGenerator.Scale.ofOrders(orders));
+                analyze(jdbcTemplate);
+                long totalRows = dataset.rows().values().stream().mapToLong(Long::longValue).sum();
+                System.out.printf("%n== 주문 %,d건 (전체 %,d행, 적재 %.1f초) %s%n", orders, totalRows,
+                        dataset.loadNanos() / 1_000_000_000.0, dataset.rows());
+
+                Map<String, Histogram> results = measure(dataset, productRepository, context.getBean(OrderRepository.class),
+                        context.getBean(ReviewRepository.class), new SplittableRandom(seed), warmup, iterations);
+                report(orders, totalRows, results, System.out, csv);
+            }
+        }
+        System.out.println("결과 파일: " + csv.toAbsolutePath());
+    }
+
+    private static Map<String, Histogram> measure(DatasetGenerator.Dataset dataset, ProductRepository productRepository,
+                                                  OrderRepository orderRepository, ReviewRepository reviewRepository,
+                                                  SplittableRandom random, int warmup, int iterations) {
+        long[] products = dataset.productIdsByPopularity();
+        long[] users = dataset.userIdsByActivity();
+        int deepPage = Math.max(0, dataset.scale().products() / CATEGORIES.length / PAGE_SIZE / 2);   // 카테고리 목록 중간 페이지 (OFFSET 비용)
+
+        Map<String, Consumer<SplittableRandom>> queries = new LinkedHashMap<>();
+        queries.put("findAllProducts(all, first)", r -> productRepository.findAllProducts(null, null, PageRequest.of(0, PAGE_SIZE)));
+        queries.put("findAllProducts(category, first)", r -> productRepository.findAllProducts(
+                CATEGORIES[r.nextInt(CATEGORIES.length)], null, PageRequest.of(0, PAGE_SIZE)));
+        queries.put("findAllProducts(category, deep)", r -> productRepository.findAllProducts(
+                CATEGORIES[r.nextInt(CATEGORIES.length)], null, PageRequest.of(deepPage, PAGE_SIZE)));
+        queries.put("findAllProducts(keyword, first)", r -> productRepository.findAllProducts(
+                null, KEYWORDS[r.nextInt(KEYWORDS.length)], PageRequest.of(0, PAGE_SIZE)));
+        queries.put("findPopularProducts(all, top3)", r -> productRepository.findPopularProducts(
+                LocalDate.now().minusDays(29).atStartOfDay(), null, 3));     // 최근 30일
+        queries.put("findOrderIdsByUserId(heavy)", r -> orderRepository.findOrderIdsByUserId(    // 주문이 가장 많은 상위 10명
+                users[r.nextInt(Math.min(10, users.length))], PageRequest.of(0, PAGE_SIZE)));
+        queries.put("findOrderIdsByUserId(typical)", r -> orderRepository.findOrderIdsByUserId(
+                users[r.nextInt(users.length)], PageRequest.of(0, PAGE_SIZE)));
+        queries.put("findReviewIdsByProductId(popular)", r -> reviewRepository.findReviewIdsByProductId(    // 인기 상위 10개 상품
+                products[r.nextInt(Math.min(10, products.length))], PageRequest.of(0, PAGE_SIZE)));
+        queries.put("findReviewIdsByProductId(tail)", r -> reviewRepository.findReviewIdsByProductId(
+                products[r.nextInt(products.length)], PageRequest.of(0, PAGE_SIZE)));
+
+        Map<String, Histogram> results = new LinkedHashMap<>();
+        for (Map.Entry<String, Consumer<SplittableRandom>> query : queries.entrySet()) {
+            for (int i = 0; i < warmup; i++) {
+                query.getValue().accept(random);
+            }
+            Histogram histogram = new Histogram(TimeUnit.MINUTES.toMicros(10), 3);
+            for (int i = 0; i < iterations; i++) {
+                long start = System.nanoTime();
+                query.getValue().accept(random);
+                histogram.recordValue(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start));
+            }
+            results.put(query.getKey(), histogram);
+        }
+        return results;
+    }
+
+    private static void report(int orders, long totalRows, Map<String, Histogram> results, PrintStream out, Path csv) throws Exception {  // ms 단위
+        out.printf("%-36s %9s %9s %9s %9s %9s%n", "query", "mean", "p50", "p90", "p99", "max");
+        StringBuilder lines = new StringBuilder();
+        for (Map.Entry<String, Histogram> entry : results.entrySet()) {
+            Histogram h = entry.getValue();
+            out.printf("%-36s %9.2f %9.2f %9.2f %9.2f %9.2f%n", entry.getKey(), h.getMean() / 1000.0,
+                    h.getValueAtPercentile(50) / 1000.0, h.getValueAtPercentile(90) / 1000.0,
+                    h.getValueAtPercentile(99) / 1000.0, h.getMaxValue() / 1000.0);
+            lines.append(String.format("%d,%d,\"%s\",%d,%.3f,%.3f,%.3f,%.3f,%.3f%n", orders, totalRows, entry.getKey(), h.getTotalCount(),
+                    h.getMean() / 1000.0, h.getValueAtPercentile(50) / 1000.0, h.getValueAtPercentile(90) / 1000.0,
+                    h.getValueAtPercentile(99) / 1000.0, h.getMaxValue() / 1000.0));
+        }
+        Files.writeString(csv, lines, StandardOpenOption.APPEND);
+    }
+
+    private static void analyze(JdbcTemplate jdbcTemplate) {     // 적재 직후 통계 갱신 (실행 계획이 빈 테이블 기준으로 남지 않도록)
+        if (isMySql()) {
+            jdbcTemplate.execute("ANALYZE TABLE user, product, orders, order_item, review, cart_item");
+        } else {
+            jdbcTemplate.execute("ANALYZE");
+        }
+    }
+
+    private static boolean isMySql() {
+        return System.getProperty("dataset.url", "").startsWith("jdbc:mysql:");
+    }
+
+    private static Map<String, Object> applicationProperties() throws Exception {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("spring.profiles.active", "loadtest");     // 로컬 dev 설정 대신 아래 설정 사용
+        String url = System.getProperty("dataset.url");
+        if (url == null) {      // 기본: H2(MySQL 모드) 메모리 DB (수백만 행 이상은 MySQL 권장)
+            properties.put("spring.datasource.url", "jdbc:h2:mem:dataset;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER,VALUE");
+            properties.put("spring.datasource.driver-class-name", "org.h2.Driver");
+            properties.put("spring.datasource.username", "sa");
+            properties.put("spring.datasource.password", "");
+            properties.put("spring.jpa.properties.hibernate.dialect", "org.hibernate.dialect.H2Dialect");
+        } else {
+            properties.put("spring.datasource.url", isMySql() && !url.contains("rewriteBatchedStatements")
+                    ? url + (url.contains("?") ? "&" : "?") + "rewriteBatchedStatements=true"     // 일괄 INSERT를 다중 VALUES 한 문장으로
+                    : url);
+            properties.put("spring.datasource.username", System.getProperty("dataset.username", ""));
+            properties.put("spring.datasource.password", System.getProperty("dataset.password", ""));
+        }
+        properties.put("spring.jpa.hibernate.ddl-auto", "create");
+        properties.put("spring.jpa.show-sql", "false");
+        properties.put("spring.mail.host", "localhost");
+        properties.put("server.port", "0");
+        properties.put("kakaopay.secret-key", "benchmark");
+        properties.put("app.upload.dir", Files.createTempDirectory("dataset-images").toString());
+        properties.put("logging.level.root", "WARN");
+        return properties;
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.project.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.project.dto.ProductDTO;
+import com.example.project.event.ProductChangedEvent;
+import com.example.project.model.Product;
+import com.example.project.repository.ProductRepository;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+@Component
+public class ProductCache {
+    private final ProductRepository productRepository;
+    private final Cache<Long, ProductDTO> cache;
+    private final LongAdder invalidationCount = new LongAdder();
+
+    public ProductCache(ProductRepository productRepository,
+                        @Value("${app.cache.product.max-size:10000}") long maxSize,
+                        @Value("${app.cache.product.ttl-seconds:300}") long ttlSeconds) {
+        this.productRepository = productRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)                               // 크기 기반 제거
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))   // TTL 기반 제거
+                .recordStats()
+                .build();
+    }
+
+    public ProductDTO get(Long productId) {     // 캐시에서 상품 조회 (없으면 DB 조회 후 적재)
+        ProductDTO product = cache.get(productId, id -> productRepository.findById(id)
+                .map(ProductCache::toDTO)
+                .orElse(null));     // 존재하지 않는 상품은 캐시하지 않음
+        if (product == null) {
+            throw new IllegalArgumentException("상품을 찾을 수 없습니다.");
+        }
+        return product;
+    }
+
+    public void evict(Collection<Long> productIds) {    // 캐시 무효화
+        cache.invalidateAll(productIds);
+        invalidationCount.add(productIds.size());
+    }
+
+    public void evictAll() {    // 전체 캐시 무효화
+        cache.invalidateAll();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {   // 상품 변경 커밋 후 캐시 무효화
+        evict(event.getProductIds());
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public Map<String, Object> statsSummary() {    // 캐시 적중/실패/제거 통계
+        CacheStats stats = cache.stats();
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("size", cache.estimatedSize());
+        summary.put("hitCount", stats.hitCount());
+        summary.put("missCount", stats.missCount());
+        summary.put("hitRate", stats.hitRate());
+        summary.put("evictionCount", stats.evictionCount());
+        summary.put("invalidationCount", invalidationCount.sum());
+        summary.put("loadFailureCount", stats.loadFailureCount());
+        return summary;
+    }
+
+    private static ProductDTO toDTO(Product product) {
+        return ProductDTO.builder()
+                .id(product.getId())
+                .name(product.getName())
+                .imageUrl(product.getImageUrl())
+                .imageVariantsReady(product.isImageVariantsReady())
+                .description(product.getDescription())
+                .price(product.getPrice())
+                .stock(product.getStock())
+                .category(product.getCategory())
+                .build();
+    }
+}
@@ -0,0 +1,456 @@
+package com.example.project.cart;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+import com.example.project.repository.CartItemRepository;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+@Component
+@Slf4j
+public class CartStore {   // 사용자별 장바구니를 메모리에 두고 변경분을 모아 주기적으로 cart_item에 반영 (app.cart.store.enabled=true일 때만 사용)
+    public static final int MAX_QUANTITY = 10;
+
+    private static final String CLEAR_SQL = "DELETE FROM cart_item WHERE user_id = ?";
+    private static final String DELETE_SQL = "DELETE FROM cart_item WHERE user_id = ? AND product_id = ?";
+    private static final String INSERT_SQL = "INSERT INTO cart_item (user_id, product_id, quantity) SELECT ?, p.id, ? FROM product p WHERE p.id = ? " +
+                                             "ON DUPLICATE KEY UPDATE quantity = VALUES(quantity)";  // 삭제된 상품은 건너뜀, 이미 행이 있으면 메모리 수량으로 맞춤
+    private static final String UPDATE_SQL = "UPDATE cart_item SET quantity = ? WHERE user_id = ? AND product_id = ?";
+
+    private final CartItemRepository cartItemRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final Cache<Long, Cart> carts;
+    private final Set<Long> dirtyUsers = ConcurrentHashMap.newKeySet();
+    private final Map<Long, Cart> unflushedEvicted = new ConcurrentHashMap<>();     // 제거 시 반영에 실패한 장바구니 (다음 주기에 재시도)
+    private final AtomicLong temporaryIds = new AtomicLong();
+
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder mutations = new LongAdder();
+    private final LongAdder flushes = new LongAdder();
+    private final LongAdder rowsWritten = new LongAdder();
+    private final LongAdder evictionFlushes = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+
+    public CartStore(CartItemRepository cartItemRepository,
+                     JdbcTemplate jdbcTemplate,
+                     PlatformTransactionManager transactionManager,
+                     @Value("${app.cart.store.enabled:false}") boolean enabled,
+                     @Value("${app.cart.store.max-carts:100000}") long maxCarts,
+                     @Value("${app.cart.store.idle-seconds:1800}") long idleSeconds) {
+        this.cartItemRepository = cartItemRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);    // 호출한 트랜잭션이 롤백되어도 반영된 변경은 유지
+        this.enabled = enabled;
+        this.carts = Caffeine.newBuilder()
+                .maximumSize(maxCarts)                                  // 크기 기반 제거
+                .expireAfterAccess(Duration.ofSeconds(idleSeconds))     // 사용하지 않는 장바구니 제거
+                .evictionListener(this::onEvicted)                      // 제거와 원자적으로 실행되므로 반영이 끝나기 전에는 같은 사용자를 다시 적재하지 않음
+                .build();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public <T> T read(Long userId, Function<Cart, T> reader) {     // 장바구니 조회
+        while (true) {
+            Cart cart = cart(userId);
+            synchronized (cart) {
+                if (!cart.evicted) {
+                    return reader.apply(cart);
+                }
+            }
+        }
+    }
+
+    public <T> T mutate(Long userId, Function<Cart, T> mutation) {     // 장바구니 변경 (메모리만 변경, DB는 주기적으로 반영)
+        while (true) {
+            Cart cart = cart(userId);
+            synchronized (cart) {
+                if (cart.evicted) {
+                    continue;   // 반영 후 제거된 장바구니면 다시 적재
+                }
+                T result = mutation.apply(cart);
+                if (cart.isDirty()) {
+                    dirtyUsers.add(userId);
+                }
+                mutations.increment();
+                return result;
+            }
+        }
+    }
+
+    public void clearAfterCommit(Long userId) {    // 결제 완료 등 트랜잭션 커밋 후 장바구니 비우기
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    mutate(userId, cart -> { cart.clear(); return null; });
+                }
+            });
+        } else {
+            mutate(userId, cart -> { cart.clear(); return null; });
+        }
+    }
+
+    public void flush(Long userId) {   // 주문 생성 전 해당 사용자의 변경분 즉시 반영
+        if (!enabled) {
+            return;
+        }
+        Cart cart = unflushedEvicted.get(userId);
+        if (cart == null) {
+            cart = carts.getIfPresent(userId);
+        }
+        if (cart != null) {
+            cart.flushLock.lock();
+            try {
+                write(List.of(cart));
+            } finally {
+                cart.flushLock.unlock();
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.cart.store.flush-interval-ms:2000}")
+    public void flushDirty() {     // 변경된 장바구니를 모아 한 트랜잭션에서 일괄 반영
+        if (!enabled) {
+            return;
+        }
+        List<Cart> locked = new ArrayList<>();
+        for (Cart cart : unflushedEvicted.values()) {
+            if (cart.flushLock.tryLock()) {
+                locked.add(cart);
+            }
+        }
+        for (Long userId : dirtyUsers) {
+            dirtyUsers.remove(userId);
+            Cart cart = carts.getIfPresent(userId);
+            if (cart != null && cart.flushLock.tryLock()) {     // 다른 스레드가 반영 중이면 그쪽에 맡김
+                locked.add(cart);
+            }
+        }
+        try {
+            if (!locked.isEmpty()) {
+                write(locked);
+            }
+        } finally {
+            locked.forEach(cart -> cart.flushLock.unlock());
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        dirtyUsers.addAll(carts.asMap().keySet());
+        flushDirty();
+    }
+
+    private Cart cart(Long userId) {
+        return carts.get(userId, this::load);
+    }
+
+    private Cart load(Long userId) {   // DB의 장바구니 적재 (제거 시 반영에 실패한 장바구니가 있으면 그대로 재사용)
+        Cart pending = unflushedEvicted.remove(userId);
+        if (pending != null) {
+            synchronized (pending) {
+                pending.evicted = false;
+            }
+            dirtyUsers.add(userId);
+            return pending;
+        }
+        Cart cart = new Cart(userId);
+        for (Object[] row : cartItemRepository.findLinesByUserId(userId)) {
+            cart.lines.put((Long) row[1], new Line((Long) row[0], (Long) row[1], (Integer) row[2], true));
+        }
+        loads.increment();
+        return cart;
+    }
+
+    private void onEvicted(Long userId, Cart cart, RemovalCause cause) {   // 크기/유휴 시간으로 제거될 때 변경분 동기 반영
+        cart.flushLock.lock();
+        try {
+            synchronized (cart) {
+                cart.evicted = true;
+            }
+            if (enabled && cart.isDirty()) {
+                evictionFlushes.increment();
+                if (!write(List.of(cart))) {
+                    unflushedEvicted.put(userId, cart);
+                }
+            }
+        } finally {
+            cart.flushLock.unlock();
+        }
+    }
+
+    private boolean write(List<Cart> targets) {    // flushLock을 쥔 장바구니들의 변경분 반영, 실패하면 변경 표시 복구
+        List<Snapshot> snapshots = new ArrayList<>();
+        for (Cart cart : targets) {
+            synchronized (cart) {
+                if (cart.isDirty()) {
+                    snapshots.add(cart.snapshot());
+                }
+            }
+        }
+        if (snapshots.isEmpty()) {
+            targets.forEach(cart -> unflushedEvicted.remove(cart.userId, cart));
+            return true;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> apply(snapshots));
+        } catch (DataIntegrityViolationException e) {
+            if (snapshots.size() > 1) {     // 한 사용자 때문에 전체가 실패하지 않도록 사용자별로 다시 시도
+                snapshots.forEach(snapshot -> snapshot.cart.restore(snapshot));
+                boolean allWritten = true;
+                for (Cart cart : targets) {
+                    allWritten &= write(List.of(cart));
+                }
+                return allWritten;
+            }
+            failures.increment();   // 탈퇴한 사용자 등 반영할 수 없는 장바구니는 버림
+            log.warn("장바구니 반영 불가, 변경분 폐기: userId={}, {}", snapshots.get(0).cart.userId, e.getMessage());
+            targets.forEach(cart -> unflushedEvicted.remove(cart.userId, cart));
+            return true;
+        } catch (RuntimeException e) {
+            failures.increment();
+            snapshots.forEach(snapshot -> {
+                snapshot.cart.restore(snapshot);
+                dirtyUsers.add(snapshot.cart.userId);
+            });
+            log.warn("장바구니 반영 실패, 다음 주기에 재시도: {}", e.getMessage());
+            return false;
+        }
+        snapshots.forEach(snapshot -> snapshot.cart.committed(snapshot));
+        targets.forEach(cart -> unflushedEvicted.remove(cart.userId, cart));
+        flushes.increment();
+        return true;
+    }
+
+    private void apply(List<Snapshot> snapshots) {     // 비우기 -> 삭제 -> 추가 -> 수량 변경 순서로 배치 실행
+        List<Object[]> clears = new ArrayList<>();
+        List<Object[]> deletes = new ArrayList<>();
+        List<Object[]> inserts = new ArrayList<>();
+        List<Object[]> updates = new ArrayList<>();
+        for (Snapshot snapshot : snapshots) {
+            Long userId = snapshot.cart.userId;
+            if (snapshot.cleared) {
+                clears.add(new Object[]{userId});
+            }
+            snapshot.removed.forEach(productId -> deletes.add(new Object[]{userId, productId}));
+            for (Line line : snapshot.written) {
+                if (line.persisted) {
+                    updates.add(new Object[]{line.quantity, userId, line.productId});
+                } else {
+                    inserts.add(new Object[]{userId, line.quantity, line.productId});
+                }
+            }
+        }
+        batch(CLEAR_SQL, clears);
+        batch(DELETE_SQL, deletes);
+        batch(INSERT_SQL, inserts);
+        batch(UPDATE_SQL, updates);
+    }
+
+    private void batch(String sql, List<Object[]> args) {
+        if (!args.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, args);
+            rowsWritten.add(args.size());
+        }
+    }
+
+    public Map<String, Object> stats() {   // 장바구니 수, 적재/변경/반영 통계
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("enabled", enabled);
+        summary.put("carts", carts.estimatedSize());
+        summary.put("dirty", dirtyUsers.size());
+        summary.put("unflushedEvicted", unflushedEvicted.size());
+        summary.put("loads", loads.sum());
+        summary.put("mutations", mutations.sum());
+        summary.put("flushes", flushes.sum());
+        summary.put("rowsWritten", rowsWritten.sum());
+        summary.put("evictionFlushes", evictionFlushes.sum());
+        summary.put("failures", failures.sum());
+        return summary;
+    }
+
+    public final class Cart {  // 한 사용자의 장바구니 (변경은 객체 모니터로 직렬화)
+        private final Long userId;
+        private final Map<Long, Line> lines = new LinkedHashMap<>();   // 상품 ID -> 항목
+        private final Set<Long> removed = new HashSet<>();             // DB에서 지울 상품 ID
+        private final ReentrantLock flushLock = new ReentrantLock();   // 같은 장바구니의 반영 순서 보장
+        private boolean cleared;
+        private boolean evicted;
+
+        private Cart(Long userId) {
+            this.userId = userId;
+        }
+
+        public List<Line> lines() {
+            return List.copyOf(lines.values());
+        }
+
+        public Line find(Long productId) {
+            return lines.get(productId);
+        }
+
+        public Line findById(Long id) {    // 항목 ID(DB ID 또는 아직 저장되지 않은 항목의 임시 ID)로 조회
+            for (Line line : lines.values()) {
+                if (id.equals(line.id)) {
+                    return line;
+                }
+            }
+            return null;
+        }
+
+        public int add(Long productId, int quantity) {     // 담기 (같은 상품이면 수량 합산) 후 담긴 수량 반환
+            Line line = lines.get(productId);
+            int current = line == null ? 0 : line.quantity;
+            if (current + quantity > MAX_QUANTITY) {
+                throw new IllegalArgumentException("장바구니 수량 제한을 초과합니다. 최대 " + MAX_QUANTITY + "개까지 가능합니다.");
+            }
+            if (line == null) {
+                lines.put(productId, new Line(-temporaryIds.incrementAndGet(), productId, quantity, false));
+            } else {
+                line.setQuantity(current + quantity);
+            }
+            return current + quantity;
+        }
+
+        public void change(Line line, int change) {    // 수량 증감
+            int newQuantity = line.quantity + change;
+            if (newQuantity < 1) {
+                throw new IllegalArgumentException("수량은 1 이상이어야 합니다.");
+            } else if (newQuantity > MAX_QUANTITY) {
+                throw new IllegalArgumentException("수량은 " + MAX_QUANTITY + " 이하여야 합니다.");
+            }
+            line.setQuantity(newQuantity);
+        }
+
+        public boolean remove(Long productId) {
+            if (lines.remove(productId) == null) {
+                return false;
+            }
+            removed.add(productId);
+            return true;
+        }
+
+        public void clear() {
+            lines.clear();
+            removed.clear();
+            cleared = true;
+        }
+
+        private boolean isDirty() {
+            if (cleared || !removed.isEmpty()) {
+                return true;
+            }
+            for (Line line : lines.values()) {
+                if (line.dirty) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private Snapshot snapshot() {  // 반영할 변경분을 떼어내고 변경 표시 초기화
+            List<Line> written = new ArrayList<>();
+            for (Line line : lines.values()) {
+                if (line.dirty) {
+                    written.add(new Line(line.id, line.productId, line.quantity, line.persisted));
+                    line.dirty = false;
+                }
+            }
+            Snapshot snapshot = new Snapshot(this, cleared, Set.copyOf(removed), written);
+            cleared = false;
+            removed.clear();
+            return snapshot;
+        }
+
+        private synchronized void committed(Snapshot snapshot) {   // 반영된 새 항목은 이후 UPDATE 대상
+            for (Line written : snapshot.written) {
+                Line line = lines.get(written.productId);
+                if (line != null && line.id.equals(written.id)) {
+                    line.persisted = true;
+                }
+            }
+        }
+
+        private synchronized void restore(Snapshot snapshot) {     // 반영 실패 시 변경 표시 복구 (그 사이의 변경과 합쳐짐)
+            if (snapshot.cleared) {
+                cleared = true;
+            }
+            removed.addAll(snapshot.removed);
+            for (Line written : snapshot.written) {
+                Line line = lines.get(written.productId);
+                if (line != null && line.id.equals(written.id)) {
+                    line.dirty = true;
+                }
+            }
+        }
+    }
+
+    public static final class Line {   // 장바구니 항목
+        private final Long id;
+        private final Long productId;
+        private int quantity;
+        private boolean persisted;     // cart_item에 행이 있는지 (없으면 INSERT)
+        private boolean dirty;
+
+        private Line(Long id, Long productId, int quantity, boolean persisted) {
+            this.id = id;
+            this.productId = productId;
+            this.quantity = quantity;
+            this.persisted = persisted;
+            this.dirty = !persisted;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public Long getProductId() {
+            return productId;
+        }
+
+        public int getQuantity() {
+            return quantity;
+        }
+
+        private void setQuantity(int quantity) {
+            this.quantity = quantity;
+            this.dirty = true;
+        }
+    }
+
+    private record Snapshot(Cart cart, boolean cleared, Set<Long> removed, List<Line> written) {
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.project.config;
+
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+@Configuration
+public class KakaoPayConfig {
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient kakaoPayHttpClient(@Value("${kakaopay.http.connect-timeout-ms:2000}") long connectTimeoutMs,
+                                                  @Value("${kakaopay.http.read-timeout-ms:5000}") long readTimeoutMs,
+                                                  @Value("${kakaopay.http.pool-timeout-ms:1000}") long poolTimeoutMs,
+                                                  @Value("${kakaopay.http.max-connections:50}") int maxConnections) {
+        return createHttpClient(connectTimeoutMs, readTimeoutMs, poolTimeoutMs, maxConnections);
+    }
+
+    @Bean
+    public RestTemplate kakaoPayRestTemplate(@Qualifier("kakaoPayHttpClient") CloseableHttpClient kakaoPayHttpClient) {
+        return new RestTemplate(new HttpComponentsClientHttpRequestFactory(kakaoPayHttpClient));
+    }
+
+    public static CloseableHttpClient createHttpClient(long connectTimeoutMs, long readTimeoutMs,
+                                                       long poolTimeoutMs, int maxConnections) {   // keep-alive 커넥션 풀 기반 HTTP 클라이언트 생성
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnections)     // 카카오페이 단일 호스트만 호출
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+                        .setSocketTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(10))
+                        .setTimeToLive(TimeValue.ofMinutes(5))
+                        .build())
+                .build();
+
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(poolTimeoutMs))    // 풀에서 커넥션을 얻기까지 대기 시간
+                        .setResponseTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .build())
+                .evictIdleConnections(TimeValue.ofSeconds(30))
+                .evictExpiredConnections()
+                .build();
+    }
+}
@@ -1,17 +1,26 @@
 package com.example.project.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import com.example.project.security.CustomUserDetails;
+import com.example.project.security.TokenAuthenticationFilter;
+import com.example.project.security.TokenRevocationList;
+import com.example.project.security.TokenService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 import jakarta.servlet.http.HttpServletResponse;
 
 @Configuration
@@ -20,18 +29,40 @@ import jakarta.servlet.http.HttpServletResponse;
 public class SecurityConfig {
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http,
+                                                   TokenService tokenService,
+                                                   TokenRevocationList revocationList,
+                                                   ObjectMapper objectMapper,
+                                                   @Value("${app.auth.stateless.enabled:false}") boolean statelessEnabled,
+                                                   @Value("${management.server.port:-1}") int managementPort) throws Exception {
+        if (statelessEnabled) {     // 토큰 인증 모드: 세션을 만들거나 조회하지 않음
+            if (!tokenService.isSecretConfigured()) {   // 서버별 임의 키로는 재시작/다른 서버에서 토큰이 무효가 되므로 시작 중단
+                throw new IllegalStateException("토큰 인증 모드에서는 AUTH_TOKEN_SECRET(app.auth.token.secret)을 설정해야 합니다.");
+            }
+            http
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .addFilterBefore(new TokenAuthenticationFilter(tokenService, revocationList), UsernamePasswordAuthenticationFilter.class);
+        }
+
         http
             .cors(cors -> cors.configurationSource(corsConfigurationSource())) // CORS 설정
             .csrf(csrf -> csrf.disable()) // 테스트 중이므로 CSRF 비활성화
             .authorizeHttpRequests(auth -> auth
-                .requestMatchers("/", "/auth/login", "/register", "/products/**", "/cartitem/**", "images/**", "/auth/verify").permitAll() // 인증 없이 접근 가능
+                .requestMatchers("/", "/auth/login", "/register", "/products/**", "/cartitem/**", "/images/**", "/auth/verify", "/auth/token/refresh").permitAll() // 인증 없이 접근 가능
+                .requestMatchers("/actuator/health").permitAll()    // 헬스 체크
+                .requestMatchers(request -> request.getLocalPort() == managementPort && "/actuator/prometheus".equals(request.getRequestURI())).permitAll()   // 지표 수집은 관리 포트로 들어온 요청만 허용
+                .requestMatchers("/actuator/**").hasRole("ADMIN")
                 .anyRequest().authenticated()   // 나머지 요청은 로그인한 사용자만 접근 가능
             )
             .formLogin(login -> login
                 .loginProcessingUrl("/auth/login")
                 .successHandler((request, response, authentication) -> {
                     response.setStatus(HttpServletResponse.SC_OK);
+                    if (statelessEnabled && authentication.getPrincipal() instanceof CustomUserDetails principal) {
+                        response.setContentType("application/json;charset=UTF-8");
+                        objectMapper.writeValue(response.getWriter(), tokenService.issue(principal));   // 액세스/리프레시 토큰 발급
+                        return;
+                    }
                     response.getWriter().write("로그인 성공: " + authentication.getName());
                 })
                 .failureHandler((request, response, exception) -> {
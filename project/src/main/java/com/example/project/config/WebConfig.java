@@ -3,21 +3,12 @@ package com.example.project.config;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
-import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
-import org.springframework.lang.NonNull;
 import org.springframework.scheduling.annotation.EnableAsync;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @EnableWebSecurity
 @EnableAsync
+@EnableScheduling
 @Configuration
-public class WebConfig implements WebMvcConfigurer {
-    @Value("${app.upload.dir}")
-    private String uploadDir;
-
-    @Override
-    public void addResourceHandlers(@NonNull ResourceHandlerRegistry registry) {
-        registry.addResourceHandler("/images/**")
-                .addResourceLocations("file:" + uploadDir + "/");
-    }
+public class WebConfig implements WebMvcConfigurer {    // 업로드 이미지는 ImageController가 전송
 }
@@ -0,0 +1,54 @@
+package com.example.project.controller;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.web.bind.annotation.*;
+
+import lombok.RequiredArgsConstructor;
+
+import com.example.project.security.CustomUserDetails;
+import com.example.project.security.CustomUserDetailsService;
+import com.example.project.security.TokenRevocationList;
+import com.example.project.security.TokenService;
+
+@RestController
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "app.auth.stateless.enabled", havingValue = "true")
+public class AuthTokenController {
+    private final TokenService tokenService;
+    private final TokenRevocationList revocationList;
+    private final CustomUserDetailsService customUserDetailsService;
+
+    @PostMapping("/auth/token/refresh")    // 리프레시 토큰으로 새 토큰 발급 (기존 리프레시 토큰은 폐기)
+    public ResponseEntity<?> refresh(@RequestParam("refreshToken") String refreshToken) {
+        try {
+            TokenService.TokenClaims claims = tokenService.verify(refreshToken, TokenService.TokenType.REFRESH);
+            CustomUserDetails principal = customUserDetailsService.loadPrincipalById(claims.userId());     // 권한/활성화 여부 재확인
+            if (!principal.isEnabled()) {
+                return ResponseEntity.status(401).body("인증되지 않은 사용자입니다.");
+            }
+            if (!revocationList.revokeRefresh(claims)) {    // DB에 폐기 기록 (이미 폐기됐거나 다른 요청이 먼저 사용한 토큰이면 거부)
+                return ResponseEntity.status(401).body("폐기된 토큰입니다.");
+            }
+            return ResponseEntity.ok(tokenService.issue(principal));
+        } catch (IllegalArgumentException | UsernameNotFoundException e) {
+            return ResponseEntity.status(401).body(e.getMessage());
+        }
+    }
+
+    @PostMapping("/auth/token/revoke")     // 토큰 폐기 (로그아웃)
+    public ResponseEntity<?> revoke(@RequestHeader(HttpHeaders.AUTHORIZATION) String authorization,
+                                    @RequestParam(value = "refreshToken", required = false) String refreshToken) {
+        try {
+            revocationList.revoke(tokenService.verify(authorization.replaceFirst("^Bearer ", ""), TokenService.TokenType.ACCESS));
+            if (refreshToken != null) {
+                revocationList.revoke(tokenService.verify(refreshToken, TokenService.TokenType.REFRESH));
+            }
+            return ResponseEntity.ok("토큰이 폐기되었습니다.");
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.project.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.project.image.ImageFileServer;
+import com.example.project.image.ImageStore;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.util.Map;
+
+@RestController
+@RequiredArgsConstructor
+public class ImageController {
+    private final ImageFileServer imageFileServer;
+    private final ImageStore imageStore;
+
+    @RequestMapping(value = "/images/{filename}", method = {RequestMethod.GET, RequestMethod.HEAD})   // 상품 이미지 조회
+    public void getImage(@PathVariable("filename") String filename,
+                         HttpServletRequest request, HttpServletResponse response) throws IOException {
+        imageFileServer.serve(filename, request, response);
+    }
+
+    @GetMapping("/admin/images/serving")  // 이미지 전송 건수/바이트/처리 시간 통계 조회
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getImageServingStats() {
+        return ResponseEntity.ok(imageFileServer.stats());
+    }
+
+    @GetMapping("/admin/images/store")  // 이미지 저장/중복 제거/정리 통계 조회
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getImageStoreStats() {
+        return ResponseEntity.ok(imageStore.stats());
+    }
+}
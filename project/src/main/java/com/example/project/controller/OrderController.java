@@ -2,18 +2,29 @@ package com.example.project.controller;
 
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import com.example.project.dto.CartItemDTO;
+import com.example.project.dto.CursorPageDTO;
 import com.example.project.dto.OrderDTO;
 import com.example.project.dto.KakaoPayReadyResponseDTO;
 import com.example.project.dto.KakaoPayApproveResponseDTO;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import com.example.project.cart.CartStore;
+import com.example.project.payment.KakaoPayClient;
 import com.example.project.security.CustomUserDetails;
+import com.example.project.stock.StockReservationLedger;
 import com.example.project.service.CartItemService;
+import com.example.project.service.OrderHistoryExporter;
+import com.example.project.service.OrderHistoryProjection;
 import com.example.project.service.OrderService;
+import com.example.project.service.PendingOrderSweeper;
 import com.example.project.model.Order;
 import java.util.List;
 import java.util.Collections;
@@ -25,6 +36,12 @@ import java.util.Map;
 public class OrderController {
     private final OrderService orderService;
     private final CartItemService cartItemService;
+    private final KakaoPayClient kakaoPayClient;
+    private final StockReservationLedger stockReservationLedger;
+    private final PendingOrderSweeper pendingOrderSweeper;
+    private final OrderHistoryExporter orderHistoryExporter;
+    private final OrderHistoryProjection orderHistoryProjection;
+    private final CartStore cartStore;
 
     @GetMapping("/cartitem")    // 장바구니 아이템 목록 조회
     public ResponseEntity<?> showCartItems(@AuthenticationPrincipal CustomUserDetails principal) {
@@ -61,15 +78,14 @@ public class OrderController {
     public ResponseEntity<?> updateCartItemQuantity(@AuthenticationPrincipal CustomUserDetails principal,
                                                     @PathVariable("cartId") Long cartId,
                                                     @RequestParam("operation") String operation) {
-        if (cartItemService.findById(cartId).getUser().getId() != principal.getUserId()) {
-            return ResponseEntity.status(403).body("권한이 없습니다. 해당 장바구니 상품을 수정할 수 없습니다.");
-        }
         if (!operation.equals("increase") && !operation.equals("decrease")) {   // 수량 변경 작업이 'increase' 또는 'decrease'가 아닐 경우
             return ResponseEntity.badRequest().body("잘못된 요청입니다. 'increase' 또는 'decrease'만 허용됩니다.");
         }
         int change = operation.equals("increase") ? 1 : -1; // 수량 변경 값 설정
         try {
-            cartItemService.updateCartItem(cartId, change);
+            cartItemService.updateCartItem(principal.getUserId(), cartId, change);
+        } catch (AccessDeniedException e) {
+            return ResponseEntity.status(403).body(e.getMessage());
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
@@ -92,6 +108,7 @@ public class OrderController {
     @PostMapping("/order/cartitem") // 장바구니 아이템으로 주문 생성 및 카카오페이 결제 준비
     public ResponseEntity<?> placeCartOrder(@AuthenticationPrincipal CustomUserDetails principal) {
         try {
+            cartItemService.flush(principal.getUserId());   // 메모리 장바구니 변경분을 주문 트랜잭션 밖에서 먼저 반영 (커넥션 하나만 사용)
             Order order = orderService.createPendingOrderFromCart(principal.getUserId());
             KakaoPayReadyResponseDTO responseDTO = orderService.KakaoPayReadyFromCart(principal.getUserId(), order);
 
@@ -156,10 +173,51 @@ public class OrderController {
         return ResponseEntity.ok("주문이 취소되었습니다.");
     }
 
-    @GetMapping("/auth/orders/all")     // 현재 로그인한 유저의 주문 목록 전체 조회
-    public ResponseEntity<?> getCurrentUserAllOrders(@AuthenticationPrincipal CustomUserDetails principal) {
-        List<OrderDTO> orders = orderService.getOrderDTOsByUserId(principal.getUserId());
-        return ResponseEntity.ok(orders);
+    @GetMapping("/admin/payment/stats")   // 카카오페이 API 호출 통계 조회
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> getPaymentStats() {
+        return ResponseEntity.ok(kakaoPayClient.stats());
+    }
+
+    @GetMapping("/admin/cart/store")   // 메모리 장바구니 현황 조회
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> getCartStoreStats() {
+        return ResponseEntity.ok(cartStore.stats());
+    }
+
+    @GetMapping("/admin/stock/reservations")   // 재고 예약 현황 조회
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> getStockReservationStats() {
+        return ResponseEntity.ok(stockReservationLedger.stats());
+    }
+
+    @GetMapping("/admin/orders/pending/sweeper")   // 만료 주문 정리 통계 조회
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> getPendingOrderSweeperStats() {
+        return ResponseEntity.ok(pendingOrderSweeper.stats());
+    }
+
+    @GetMapping("/admin/orders/history")   // 주문 내역 읽기 모델 통계 조회
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> getOrderHistoryStats() {
+        return ResponseEntity.ok(orderHistoryProjection.stats());
+    }
+
+    @PostMapping("/admin/orders/history/catch-up")   // 주문 내역 읽기 모델 전체 보정
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> catchUpOrderHistory() {
+        return ResponseEntity.ok(orderHistoryProjection.catchUp(true));
+    }
+
+    @GetMapping("/auth/orders/all")     // 현재 로그인한 유저의 주문 목록 전체 조회 (스트리밍, format=ndjson이면 한 줄에 주문 하나)
+    public ResponseEntity<StreamingResponseBody> getCurrentUserAllOrders(@AuthenticationPrincipal CustomUserDetails principal,
+                                                                         @RequestParam(value = "format", defaultValue = "json") String format) {
+        boolean ndjson = "ndjson".equalsIgnoreCase(format);
+        Long userId = principal.getUserId();
+        StreamingResponseBody body = out -> orderHistoryExporter.export(userId, out, ndjson);
+        return ResponseEntity.ok()
+                .contentType(ndjson ? MediaType.APPLICATION_NDJSON : MediaType.APPLICATION_JSON)
+                .body(body);
     }
 
     @GetMapping("/auth/orders")   // 현재 로그인한 유저의 주문 목록 조회 (페이징)
@@ -170,6 +228,17 @@ public class OrderController {
         return ResponseEntity.ok(orders);
     }
 
+    @GetMapping("/auth/orders/scroll")   // 현재 로그인한 유저의 주문 목록 조회 (커서 기반)
+    public ResponseEntity<?> scrollCurrentUserOrders(@AuthenticationPrincipal CustomUserDetails principal,
+                                                     @RequestParam(value = "after", required = false) String after) {
+        try {
+            CursorPageDTO<OrderDTO> orders = orderService.scrollOrdersByUserId(principal.getUserId(), after, 5);
+            return ResponseEntity.ok(orders);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
     @GetMapping("/order/status/{orderId}") // 주문 상태 조회
     public ResponseEntity<?> getOrderStatus(@AuthenticationPrincipal CustomUserDetails principal,
                                             @PathVariable("orderId") Long orderId) {
@@ -10,10 +10,12 @@ import org.springframework.web.multipart.MultipartFile;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 
+import com.example.project.dto.CursorPageDTO;
 import com.example.project.dto.PopularProductDTO;
 import com.example.project.dto.ProductDTO;
 import com.example.project.dto.ProductListDTO;
 import com.example.project.dto.ReviewDTO;
+import com.example.project.dto.ReviewResponseDTO;
 import com.example.project.dto.ProductDetailDTO;
 import com.example.project.model.Product.Category;
 import com.example.project.repository.ReviewRepository;
@@ -24,6 +26,7 @@ import jakarta.validation.Valid;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/products")
@@ -42,6 +45,18 @@ public class ProductController {
         return ResponseEntity.ok(productListDTOs);
     }
 
+    @GetMapping("/scroll")  // 상품 목록 커서 기반 조회 (무한 스크롤용)
+    public ResponseEntity<?> scrollProducts(@RequestParam(value = "category", required = false) Category category,
+                                            @RequestParam(value = "keyword", required = false) String keyword,
+                                            @RequestParam(value = "after", required = false) String after) {
+        try {
+            CursorPageDTO<ProductListDTO> products = productService.scrollProducts(category, keyword, after, 8);
+            return ResponseEntity.ok(products);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
     @GetMapping("/{productId}") // 상품 상세 조회
     public ResponseEntity<ProductDetailDTO> getProduct(@PathVariable("productId") Long productId,
                                                        @RequestParam(value = "page", defaultValue = "0") int pageable) {
@@ -50,6 +65,17 @@ public class ProductController {
         return ResponseEntity.ok(productDTO);
     }
 
+    @GetMapping("/{productId}/reviews") // 상품 리뷰 커서 기반 조회
+    public ResponseEntity<?> scrollReviews(@PathVariable("productId") Long productId,
+                                           @RequestParam(value = "after", required = false) String after) {
+        try {
+            CursorPageDTO<ReviewResponseDTO> reviews = productService.scrollReviews(productId, after, 5);
+            return ResponseEntity.ok(reviews);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
     @PostMapping("/{productId}/reviews") // 상품 리뷰 추가
     public ResponseEntity<String> addReview(@PathVariable("productId") Long productId,
                                             @RequestBody @Valid ReviewDTO reviewDTO,
@@ -95,14 +121,41 @@ public class ProductController {
 
     @DeleteMapping("/{productId}") // 상품 삭제
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<String> deleteProduct(@PathVariable("productId") Long productId) throws IOException {
+    public ResponseEntity<String> deleteProduct(@PathVariable("productId") Long productId) {
         productService.deleteProduct(productId);
         return ResponseEntity.ok("상품 삭제 완료.");
     }
 
-    @GetMapping("/popular")  // 가장 많이 팔린 top3 상품 조회
-    public ResponseEntity<?> getPopularProducts() {
-        List<PopularProductDTO> popularProducts = productService.getTop3PopularProducts();
+    @GetMapping("/popular")  // 최근 30일 가장 많이 팔린 상품 조회 (기본 top3, 카테고리별 가능)
+    public ResponseEntity<?> getPopularProducts(@RequestParam(value = "limit", defaultValue = "3") int limit,
+                                                @RequestParam(value = "category", required = false) Category category) {
+        if (limit < 1 || limit > 50) {
+            return ResponseEntity.badRequest().body("조회 개수는 1개 이상 50개 이하만 가능합니다.");
+        }
+        List<PopularProductDTO> popularProducts = productService.getPopularProducts(limit, category);
         return ResponseEntity.ok(popularProducts);
     }
+
+    @GetMapping("/cache/stats")  // 상품 캐시 적중/실패/제거 통계 조회
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getProductCacheStats() {
+        return ResponseEntity.ok(productService.getProductCacheStats());
+    }
+
+    @PostMapping("/images/reprocess")  // 기존 상품 이미지 파생본 일괄 재생성 (force=true면 전체)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<String> reprocessImages(@RequestParam(value = "force", defaultValue = "false") boolean force) {
+        try {
+            productService.reprocessImages(force);
+            return ResponseEntity.accepted().body("이미지 재처리 시작.");
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/images/stats")  // 이미지 파생본 생성/실패/대기 통계 조회
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getImageVariantStats() {
+        return ResponseEntity.ok(productService.getImageVariantStats());
+    }
 }
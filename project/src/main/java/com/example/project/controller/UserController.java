@@ -4,6 +4,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.validation.BindingResult;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.HttpStatus;
+import com.example.project.service.EmailOutboxDispatcher;
 import com.example.project.service.UserService;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
@@ -27,6 +28,7 @@ import java.util.Map;
 public class UserController {
   private final UserRepository userRepository;
   private final UserService userService;
+  private final EmailOutboxDispatcher emailOutboxDispatcher;
 
     @PostMapping("/register")   // 회원가입
     public ResponseEntity<?> Register(@RequestBody @Valid RegisterDTO registerDTO, BindingResult result) {
@@ -76,6 +78,12 @@ public class UserController {
     return ResponseEntity.ok(userList);
   }
 
+  @GetMapping("/admin/email/outbox")	// 메일 발송 대기열 통계
+  @PreAuthorize("hasRole('ADMIN')")
+  public ResponseEntity<?> getEmailOutboxStats() {
+    return ResponseEntity.ok(emailOutboxDispatcher.stats());
+  }
+
   @PostMapping("/user/name")	// 유저 수정 (이름)
   public ResponseEntity<?> EditUsername(@AuthenticationPrincipal CustomUserDetails principal,
                              @RequestParam("newName") String newName) {
@@ -104,7 +112,7 @@ public class UserController {
     if (principal == null) {
         return ResponseEntity.status(401).body("로그인 하지 않은 사용자입니다.");
     }
-    User user = principal.getUser();
+    User user = userService.findUserById(principal.getUserId());     // 세션에는 최소 정보만 있으므로 DB에서 조회
     UserDTO dto = new UserDTO(user.getId(), user.getUsername(), user.getName(),
                                user.getEmail(), user.getPhoneNumber(), user.getAddress());
     return ResponseEntity.ok(dto);
@@ -1,5 +1,7 @@
 package com.example.project.dto;
 
+import com.example.project.image.ImageVariant;
+
 import lombok.*;
 
 @Getter
@@ -13,4 +15,8 @@ public class CartItemDTO {
     private String imageUrl;
     private int productPrice;
     private int quantity;
+
+    public CartItemDTO(Long id, Long productId, String productName, String imageUrl, boolean imageVariantsReady, int productPrice, int quantity) {
+        this(id, productId, productName, ImageVariant.THUMBNAIL.url(imageUrl, imageVariantsReady), productPrice, quantity);   // 장바구니는 썸네일
+    }
 }
@@ -0,0 +1,22 @@
+package com.example.project.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageDTO<T> {     // 커서 기반 페이지 (COUNT 쿼리 없이 다음 페이지 커서만 제공)
+    @Builder.Default
+    private List<T> content = new ArrayList<>();
+    private String nextCursor;      // 다음 페이지 요청 시 after 파라미터로 전달 (마지막 페이지면 null)
+    private boolean hasNext;
+    private int size;
+}
@@ -0,0 +1,19 @@
+package com.example.project.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class KakaoPayCancelRequestDTO {
+    private String cid;
+    private String tid;
+    private int cancel_amount;
+    private int cancel_tax_free_amount;
+}
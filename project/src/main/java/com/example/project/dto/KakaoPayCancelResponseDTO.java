@@ -0,0 +1,27 @@
+package com.example.project.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class KakaoPayCancelResponseDTO {
+    private String aid;
+    private String tid;
+    private String cid;
+    private String status;
+    private String partner_order_id;
+    private String partner_user_id;
+    private String payment_method_type;
+    private String item_name;
+    private int quantity;
+    private String created_at;
+    private String approved_at;
+    private String canceled_at;
+}
@@ -30,6 +30,8 @@ public class ProductDTO {
     @Size(min = 1, max = 255, message = "이미지 URL은 1자 이상 255자 이하이어야 합니다.")
     private String imageUrl;
 
+    private boolean imageVariantsReady;     // 조회 전용 (상품 추가/수정 시 무시)
+
     private String description;
 
     @NotNull(message = "상품 가격은 필수 입력 항목입니다.")
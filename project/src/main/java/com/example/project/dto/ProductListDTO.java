@@ -1,5 +1,6 @@
 package com.example.project.dto;
 
+import com.example.project.image.ImageVariant;
 import com.example.project.model.Product.Category;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -22,10 +23,11 @@ public class ProductListDTO {
     private Double averageRating;
     private Long reviewCount;
 
-    public ProductListDTO(Long id, String name, String imageUrl, int price, int stock, Category category, Number averageRating, Long reviewCount) {
+    public ProductListDTO(Long id, String name, String imageUrl, int price, int stock, Category category, Number averageRating, Long reviewCount,
+                          boolean imageVariantsReady) {
         this.id = id;
         this.name = name;
-        this.imageUrl = imageUrl;
+        this.imageUrl = ImageVariant.LIST.url(imageUrl, imageVariantsReady);  // 목록용 축소 이미지 (생성 전이면 원본)
         this.price = price;
         this.stock = stock;
         this.category = category;
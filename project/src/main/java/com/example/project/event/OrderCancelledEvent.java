@@ -0,0 +1,15 @@
+package com.example.project.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class OrderCancelledEvent {  // 결제 완료된 주문이 취소되었음을 알리는 이벤트
+    private final Long orderId;
+    private final LocalDateTime orderDate;
+    private final List<Long> productIds;    // 주문 항목별 상품 ID (항목 수만큼)
+}
@@ -0,0 +1,26 @@
+package com.example.project.event;
+
+import com.example.project.model.Product.Category;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class OrderPaidEvent {   // 주문 결제가 완료되었음을 알리는 이벤트
+    private final Long orderId;
+    private final Long userId;
+    private final LocalDateTime orderDate;
+    private final List<PaidItem> items;
+
+    @Getter
+    @AllArgsConstructor
+    public static class PaidItem {
+        private final Long productId;
+        private final Category category;
+        private final int quantity;
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.project.event;
+
+import lombok.Getter;
+
+import java.util.Collection;
+import java.util.List;
+
+@Getter
+public class ProductChangedEvent {     // 상품 정보(재고 포함)가 변경되었음을 알리는 이벤트
+    private final List<Long> productIds;
+    private final boolean stockOnly;    // 재고만 변경된 경우 (상품명/설명/카테고리 변경 없음)
+    private final boolean imageOnly;    // 이미지 파생본만 변경된 경우 (재고/상품명/카테고리 변경 없음)
+
+    public ProductChangedEvent(Collection<Long> productIds, boolean stockOnly, boolean imageOnly) {
+        this.productIds = List.copyOf(productIds);
+        this.stockOnly = stockOnly;
+        this.imageOnly = imageOnly;
+    }
+
+    public static ProductChangedEvent of(Long productId) {
+        return new ProductChangedEvent(List.of(productId), false, false);
+    }
+
+    public static ProductChangedEvent stockChanged(Collection<Long> productIds) {
+        return new ProductChangedEvent(productIds, true, false);
+    }
+
+    public static ProductChangedEvent imageChanged(Long productId) {
+        return new ProductChangedEvent(List.of(productId), false, true);
+    }
+}
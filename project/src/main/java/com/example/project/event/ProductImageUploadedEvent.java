@@ -0,0 +1,11 @@
+package com.example.project.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class ProductImageUploadedEvent {   // 상품 원본 이미지가 새로 저장되었음을 알리는 이벤트 (파생본 생성 대상)
+    private final Long productId;
+    private final String imageUrl;
+}
@@ -0,0 +1,15 @@
+package com.example.project.event;
+
+import lombok.Getter;
+
+@Getter
+public class ProductStockAdjustedEvent {   // 관리자가 상품 재고를 직접 수정했음을 알리는 이벤트 (변경 전후 차이만 전달)
+    private final Long productId;
+    private final int delta;
+    private final long adjustedAtNanos = System.nanoTime();     // 이 시각 이후 DB에서 읽은 재고에는 이미 반영되어 있음
+
+    public ProductStockAdjustedEvent(Long productId, int delta) {
+        this.productId = productId;
+        this.delta = delta;
+    }
+}
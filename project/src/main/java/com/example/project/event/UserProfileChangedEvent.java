@@ -0,0 +1,10 @@
+package com.example.project.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public class UserProfileChangedEvent {     // 회원 정보가 변경되었음을 알리는 이벤트 (세션 사용자 정보 갱신용)
+    private final Long userId;
+}
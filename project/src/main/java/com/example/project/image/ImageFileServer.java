@@ -0,0 +1,254 @@
+package com.example.project.image;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Component;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+@Component
+public class ImageFileServer {     // 업로드 이미지 전송 (원본은 장기 캐시, 파생본은 짧은 캐시, 조건부 GET, 범위 요청, sendfile)
+    static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private static final Pattern FILENAME = Pattern.compile("[A-Za-z0-9_-]+(\\.[A-Za-z0-9]+)?");
+
+    private final Path imagesDir;
+    private final String cacheControl;
+    private final String variantCacheControl;
+    private final long sendfileMinBytes;
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder ok = new LongAdder();
+    private final LongAdder partial = new LongAdder();
+    private final LongAdder notModified = new LongAdder();
+    private final LongAdder notFound = new LongAdder();
+    private final LongAdder rangeNotSatisfiable = new LongAdder();
+    private final LongAdder sendfile = new LongAdder();
+    private final LongAdder bytes = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    public ImageFileServer(@Value("${app.upload.dir}") String uploadDir,
+                           @Value("${app.image.serving.max-age-seconds:31536000}") long maxAgeSeconds,
+                           @Value("${app.image.serving.variant-max-age-seconds:3600}") long variantMaxAgeSeconds,
+                           @Value("${app.image.serving.sendfile-min-bytes:49152}") long sendfileMinBytes) {
+        this.imagesDir = Paths.get(uploadDir).toAbsolutePath().normalize();
+        this.cacheControl = "public, max-age=" + maxAgeSeconds + ", immutable";   // 원본은 파일명이 바뀌지 않음
+        this.variantCacheControl = "public, max-age=" + variantMaxAgeSeconds;   // 파생본은 강제 재처리 시 같은 이름으로 다시 쓰이므로 만료 후 ETag로 재검증
+        this.sendfileMinBytes = sendfileMinBytes;
+    }
+
+    public void serve(String filename, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        long start = System.nanoTime();
+        requests.increment();
+        try {
+            write(filename, request, response);
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            totalNanos.add(elapsed);
+            maxNanos.accumulateAndGet(elapsed, Math::max);
+        }
+    }
+
+    private void write(String filename, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Path file = FILENAME.matcher(filename).matches() ? imagesDir.resolve(filename) : null;
+        BasicFileAttributes attributes = file == null ? null : readAttributes(file);
+        if (attributes == null || !attributes.isRegularFile()) {
+            notFound.increment();
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        long length = attributes.size();
+        long lastModified = attributes.lastModifiedTime().toMillis();
+        String etag = "\"" + Long.toHexString(length) + "-" + Long.toHexString(lastModified) + "\"";
+
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, ImageVariant.isVariant(filename) ? variantCacheControl : cacheControl);
+        response.setDateHeader(HttpHeaders.LAST_MODIFIED, lastModified);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        if (isNotModified(request, etag, lastModified)) {
+            notModified.increment();
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        long from = 0;
+        long to = length - 1;
+        String range = request.getHeader(HttpHeaders.RANGE);
+        if (range != null && ifRangeMatches(request, etag, lastModified)) {
+            long[] bounds = parseRange(range, length);
+            if (bounds == null) {
+                rangeNotSatisfiable.increment();
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+            if (bounds.length == 2) {
+                from = bounds[0];
+                to = bounds[1];
+            }
+        }
+
+        long count = to - from + 1;
+        if (from > 0 || to < length - 1) {
+            partial.increment();
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + from + "-" + to + "/" + length);
+        } else {
+            ok.increment();
+            response.setStatus(HttpServletResponse.SC_OK);
+        }
+        response.setContentType(MediaTypeFactory.getMediaType(filename).orElse(MediaType.APPLICATION_OCTET_STREAM).toString());
+        response.setContentLengthLong(count);
+
+        if ("HEAD".equals(request.getMethod()) || count == 0) {
+            return;
+        }
+        bytes.add(count);
+        if (count >= sendfileMinBytes && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            sendfile.increment();   // 요청 스레드를 반환한 뒤 커넥터가 커널 sendfile로 전송
+            request.setAttribute(SENDFILE_FILENAME, file.toString());
+            request.setAttribute(SENDFILE_START, from);
+            request.setAttribute(SENDFILE_END, to + 1);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            OutputStream out = response.getOutputStream();
+            WritableByteChannel target = Channels.newChannel(out);
+            long position = from;
+            long remaining = count;
+            while (remaining > 0) {
+                long sent = channel.transferTo(position, remaining, target);
+                if (sent <= 0) {
+                    break;
+                }
+                position += sent;
+                remaining -= sent;
+            }
+            out.flush();
+        }
+    }
+
+    private BasicFileAttributes readAttributes(Path file) {
+        try {
+            return Files.readAttributes(file, BasicFileAttributes.class);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private boolean isNotModified(HttpServletRequest request, String etag, long lastModified) {    // If-None-Match 우선, 없으면 If-Modified-Since
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            return matches(ifNoneMatch, etag);
+        }
+        long ifModifiedSince = dateHeader(request, HttpHeaders.IF_MODIFIED_SINCE);
+        return ifModifiedSince >= 0 && lastModified / 1000 <= ifModifiedSince / 1000;
+    }
+
+    private boolean ifRangeMatches(HttpServletRequest request, String etag, long lastModified) {   // If-Range가 다르면 전체 전송
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"")) {
+            return ifRange.equals(etag);
+        }
+        long date = dateHeader(request, HttpHeaders.IF_RANGE);
+        return date >= 0 && lastModified / 1000 == date / 1000;
+    }
+
+    private static boolean matches(String header, String etag) {
+        for (String candidate : header.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long dateHeader(HttpServletRequest request, String name) {
+        try {
+            return request.getDateHeader(name);
+        } catch (IllegalArgumentException e) {
+            return -1;
+        }
+    }
+
+    static long[] parseRange(String header, long length) {    // 단일 범위만 처리: {시작, 끝}, 무시할 범위는 빈 배열, 범위 밖이면 null
+        if (!header.startsWith("bytes=") || header.indexOf(',') >= 0) {
+            return new long[0];     // 형식이 다르거나 다중 범위면 전체 전송
+        }
+        String spec = header.substring(6).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return new long[0];
+        }
+        try {
+            String first = spec.substring(0, dash).trim();
+            String last = spec.substring(dash + 1).trim();
+            if (first.isEmpty()) {  // bytes=-N (마지막 N바이트)
+                long suffix = Long.parseLong(last);
+                if (suffix <= 0 || length == 0) {
+                    return null;
+                }
+                return new long[] {Math.max(0, length - suffix), length - 1};
+            }
+            long from = Long.parseLong(first);
+            long requestedTo = last.isEmpty() ? Long.MAX_VALUE : Long.parseLong(last);
+            if (requestedTo < from) {
+                return new long[0];     // 잘못된 범위는 무시
+            }
+            if (from >= length) {
+                return null;
+            }
+            return new long[] {from, Math.min(requestedTo, length - 1)};
+        } catch (NumberFormatException e) {
+            return new long[0];
+        }
+    }
+
+    public Map<String, Object> stats() {   // 응답 종류별 건수, 전송 바이트, 처리 시간 통계
+        long count = requests.sum();
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("requests", count);
+        summary.put("ok", ok.sum());
+        summary.put("partial", partial.sum());
+        summary.put("notModified", notModified.sum());
+        summary.put("notFound", notFound.sum());
+        summary.put("rangeNotSatisfiable", rangeNotSatisfiable.sum());
+        summary.put("sendfile", sendfile.sum());
+        summary.put("bytes", bytes.sum());
+        summary.put("avgMillis", count == 0 ? 0.0 : totalNanos.sum() / 1_000_000.0 / count);
+        summary.put("maxMillis", maxNanos.get() / 1_000_000.0);
+        return summary;
+    }
+}
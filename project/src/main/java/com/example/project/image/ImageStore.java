@@ -0,0 +1,258 @@
+package com.example.project.image;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import lombok.extern.slf4j.Slf4j;
+
+import com.example.project.repository.StoredImageRepository;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+@Service
+@Slf4j
+public class ImageStore {  // 내용 해시로 이름 붙인 이미지 저장소 (같은 이미지는 한 번만 저장, 참조 수가 0이 되면 정리)
+    private static final String URL_PREFIX = "/images/";
+    private static final Pattern HASHED = Pattern.compile("[0-9a-f]{64}(\\.[a-z0-9]{1,10})?");
+    private static final Pattern EXTENSION = Pattern.compile("\\.[a-z0-9]{1,10}");
+
+    private final StoredImageRepository storedImageRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Path imagesDir;
+    private final long graceSeconds;
+    private final int batchSize;
+    private final int maxBatches;
+
+    private final LongAdder stored = new LongAdder();
+    private final LongAdder deduplicated = new LongAdder();
+    private final LongAdder released = new LongAdder();
+    private final LongAdder adopted = new LongAdder();
+    private final LongAdder collected = new LongAdder();
+    private final LongAdder tempFilesRemoved = new LongAdder();
+    private final LongAdder bytesReclaimed = new LongAdder();
+    private volatile LocalDateTime lastCollectedAt;
+
+    public ImageStore(StoredImageRepository storedImageRepository,
+                      TransactionTemplate transactionTemplate,
+                      @Value("${app.upload.dir}") String uploadDir,
+                      @Value("${app.image.store.gc-grace-seconds:3600}") long graceSeconds,
+                      @Value("${app.image.store.gc-batch-size:200}") int batchSize,
+                      @Value("${app.image.store.gc-max-batches:50}") int maxBatches) {
+        this.storedImageRepository = storedImageRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.imagesDir = Paths.get(uploadDir).toAbsolutePath().normalize();
+        this.graceSeconds = graceSeconds;
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public String store(MultipartFile image) throws IOException {  // 업로드를 임시 파일로 받으며 해시 계산 -> 참조 수 증가 -> 없으면 원자적 이름 변경
+        Files.createDirectories(imagesDir);
+        Path temp = Files.createTempFile(imagesDir, ".upload-", ".tmp");
+        try {
+            MessageDigest digest = sha256();
+            try (InputStream in = new DigestInputStream(image.getInputStream(), digest)) {
+                Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
+            }
+            String filename = HexFormat.of().formatHex(digest.digest()) + extension(image.getOriginalFilename());
+            long size = Files.size(temp);
+
+            storedImageRepository.reference(filename, size, LocalDateTime.now());     // 같은 파일을 정리 중이면 끝날 때까지 대기
+            Path target = imagesDir.resolve(filename);
+            if (Files.exists(target)) {
+                deduplicated.increment();
+            } else {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+                stored.increment();
+            }
+            return URL_PREFIX + filename;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void retain(String imageUrl) {   // 상품 외의 곳(주문 내역 스냅샷 등)에서 같은 이미지를 계속 참조할 때 참조 수 증가
+        if (imageUrl == null) {
+            return;
+        }
+        String filename = imageUrl.substring(imageUrl.lastIndexOf('/') + 1);
+        if (HASHED.matcher(filename).matches()) {
+            storedImageRepository.retain(filename, LocalDateTime.now());
+        }
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void release(String imageUrl) {     // 상품 이미지 교체/삭제 시 참조 해제 (파일은 정리 작업이 삭제)
+        if (imageUrl == null) {
+            return;
+        }
+        String filename = imageUrl.substring(imageUrl.lastIndexOf('/') + 1);
+        if (HASHED.matcher(filename).matches()) {
+            storedImageRepository.release(filename, LocalDateTime.now());
+            released.increment();
+            return;
+        }
+        afterCommit(() -> deleteWithVariants(filename));    // 해시 저장소 도입 전 이미지(UUID 파일명)는 커밋 후 바로 삭제
+    }
+
+    @Scheduled(fixedDelayString = "${app.image.store.gc-interval-ms:600000}")
+    public void collect() {    // 참조가 없는 이미지 정리: 기록 없는 파일 등록 -> 유예 시간이 지난 행 잠금 후 파일/행 삭제
+        LocalDateTime cutoff = LocalDateTime.now().minusSeconds(graceSeconds);
+        sweepDirectory(cutoff);
+        for (int batch = 0; batch < maxBatches; batch++) {
+            Integer deleted = transactionTemplate.execute(status -> collectBatch(cutoff));
+            if (deleted == null || deleted < batchSize) {
+                break;
+            }
+        }
+        lastCollectedAt = LocalDateTime.now();
+    }
+
+    private int collectBatch(LocalDateTime cutoff) {
+        List<String> filenames = storedImageRepository.lockOrphans(cutoff, batchSize);
+        if (filenames.isEmpty()) {
+            return 0;
+        }
+        filenames.forEach(this::deleteWithVariants);   // 행 잠금을 쥔 채 삭제하므로 같은 이미지의 새 업로드는 커밋 후 파일을 다시 만든다
+        int deleted = storedImageRepository.deleteOrphans(filenames);
+        collected.add(deleted);
+        return filenames.size();
+    }
+
+    private void sweepDirectory(LocalDateTime cutoff) {    // 중단된 업로드의 임시 파일 삭제, 롤백 등으로 기록 없이 남은 해시 파일은 참조 0으로 등록
+        long threshold = cutoff.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        List<Path> unknown = new ArrayList<>();
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(imagesDir)) {
+            for (Path entry : entries) {
+                String name = entry.getFileName().toString();
+                BasicFileAttributes attributes = Files.readAttributes(entry, BasicFileAttributes.class);
+                if (!attributes.isRegularFile() || attributes.lastModifiedTime().toMillis() >= threshold) {
+                    continue;
+                }
+                if (name.startsWith(".") && name.endsWith(".tmp")) {
+                    if (Files.deleteIfExists(entry)) {
+                        tempFilesRemoved.increment();
+                    }
+                } else if (HASHED.matcher(name).matches()) {
+                    unknown.add(entry);
+                }
+            }
+        } catch (NoSuchFileException e) {
+            return;
+        } catch (IOException e) {
+            log.warn("이미지 디렉터리 정리 실패: {}", e.getMessage());
+            return;
+        }
+
+        for (int from = 0; from < unknown.size(); from += batchSize) {
+            List<Path> chunk = unknown.subList(from, Math.min(from + batchSize, unknown.size()));
+            transactionTemplate.executeWithoutResult(status -> {
+                List<String> names = chunk.stream().map(path -> path.getFileName().toString()).toList();
+                List<String> existing = storedImageRepository.findExistingFilenames(names);
+                for (Path path : chunk) {
+                    String name = path.getFileName().toString();
+                    if (!existing.contains(name)) {
+                        adopted.add(storedImageRepository.adoptOrphan(name, sizeOf(path), cutoff.minusSeconds(1)));
+                    }
+                }
+            });
+        }
+    }
+
+    private void deleteWithVariants(String filename) {
+        Path original = imagesDir.resolve(filename);
+        try {
+            bytesReclaimed.add(sizeOf(original));
+            Files.deleteIfExists(original);
+            for (ImageVariant variant : ImageVariant.values()) {
+                Path variantPath = original.resolveSibling(variant.filename(filename));
+                bytesReclaimed.add(sizeOf(variantPath));
+                Files.deleteIfExists(variantPath);
+            }
+        } catch (IOException e) {
+            log.warn("이미지 파일 삭제 실패: {}, {}", filename, e.getMessage());
+        }
+    }
+
+    private static long sizeOf(Path path) {
+        try {
+            return Files.size(path);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static String extension(String originalFilename) {    // 원본 파일명의 확장자 (소문자, 형식이 이상하면 생략)
+        if (originalFilename == null) {
+            return "";
+        }
+        int dot = originalFilename.lastIndexOf('.');
+        String ext = dot >= 0 ? originalFilename.substring(dot).toLowerCase(Locale.ROOT) : "";
+        return EXTENSION.matcher(ext).matches() ? ext : "";
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    public Map<String, Object> stats() {   // 저장/중복 제거/정리 통계
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("stored", stored.sum());
+        summary.put("deduplicated", deduplicated.sum());
+        summary.put("released", released.sum());
+        summary.put("adopted", adopted.sum());
+        summary.put("collected", collected.sum());
+        summary.put("tempFilesRemoved", tempFilesRemoved.sum());
+        summary.put("bytesReclaimed", bytesReclaimed.sum());
+        summary.put("lastCollectedAt", lastCollectedAt);
+        summary.put("graceSeconds", graceSeconds);
+        return summary;
+    }
+}
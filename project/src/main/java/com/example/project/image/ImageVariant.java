@@ -0,0 +1,42 @@
+package com.example.project.image;
+
+public enum ImageVariant {     // 상품 이미지 파생본 종류 (원본 비율 유지, 최대 크기 이내로 축소)
+    THUMBNAIL("thumb", 160),
+    LIST("list", 480),
+    DETAIL("detail", 1200);
+
+    private final String suffix;
+    private final int maxSize;
+
+    ImageVariant(String suffix, int maxSize) {
+        this.suffix = suffix;
+        this.maxSize = maxSize;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public String filename(String originalFilename) {  // 원본 파일명 -> 파생본 파일명 (abc.png -> abc_list.jpg)
+        int dot = originalFilename.lastIndexOf('.');
+        String base = dot >= 0 ? originalFilename.substring(0, dot) : originalFilename;
+        return base + "_" + suffix + ".jpg";
+    }
+
+    public static boolean isVariant(String filename) {     // 파생본 파일명인지 (재처리 시 같은 이름으로 다시 생성됨)
+        for (ImageVariant variant : values()) {
+            if (filename.endsWith("_" + variant.suffix + ".jpg")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public String url(String originalUrl, boolean variantsReady) {     // 파생본 URL (생성 전이면 원본 URL)
+        if (originalUrl == null || !variantsReady) {
+            return originalUrl;
+        }
+        int slash = originalUrl.lastIndexOf('/');
+        return originalUrl.substring(0, slash + 1) + filename(originalUrl.substring(slash + 1));
+    }
+}
@@ -0,0 +1,321 @@
+package com.example.project.image;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+import com.example.project.event.ProductChangedEvent;
+import com.example.project.event.ProductImageUploadedEvent;
+import com.example.project.repository.ProductRepository;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+@Service
+@Slf4j
+public class ImageVariantService implements MeterBinder {     // 상품 이미지 파생본(썸네일/목록/상세) 백그라운드 생성
+    private static final ImageVariant[] LARGEST_FIRST = {ImageVariant.DETAIL, ImageVariant.LIST, ImageVariant.THUMBNAIL};
+
+    private final ProductRepository productRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Path imagesDir;
+    private final float jpegQuality;
+    private final int reprocessBatchSize;
+    private final ThreadPoolExecutor executor;
+    private final Semaphore permits;    // 실행 중 + 대기 중 작업 수 상한
+
+    private final AtomicBoolean reprocessing = new AtomicBoolean(false);
+    private final LongAdder generated = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder stale = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAdder reprocessQueued = new LongAdder();
+
+    public ImageVariantService(ProductRepository productRepository,
+                               TransactionTemplate transactionTemplate,
+                               ApplicationEventPublisher eventPublisher,
+                               @Value("${app.upload.dir}") String uploadDir,
+                               @Value("${app.image.variant.workers:2}") int workers,
+                               @Value("${app.image.variant.queue-capacity:100}") int queueCapacity,
+                               @Value("${app.image.variant.jpeg-quality:0.85}") float jpegQuality,
+                               @Value("${app.image.variant.reprocess-batch-size:200}") int reprocessBatchSize) {
+        this.productRepository = productRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.imagesDir = Paths.get(uploadDir).toAbsolutePath().normalize();
+        this.jpegQuality = jpegQuality;
+        this.reprocessBatchSize = reprocessBatchSize;
+        this.permits = new Semaphore(workers + queueCapacity);
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "image-variant-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {     // 작업 스레드 풀 대기열 길이/활성 스레드/완료 작업 수 지표
+        new ExecutorServiceMetrics(executor, "imageVariant", Tags.empty()).bindTo(registry);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onImageUploaded(ProductImageUploadedEvent event) {     // 상품 저장 커밋 후 파생본 생성 예약
+        submit(event.getProductId(), event.getImageUrl(), false, false);
+    }
+
+    private boolean submit(Long productId, String imageUrl, boolean wait, boolean regenerate) {    // 큐가 가득 차면 업로드는 건너뛰고(재처리 대상으로 남음), 재처리는 대기
+        try {
+            if (wait) {
+                permits.acquire();
+            } else if (!permits.tryAcquire()) {
+                rejected.increment();
+                log.warn("이미지 파생본 작업 큐가 가득 차 건너뜀: 상품 ID {}", productId);
+                return false;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+
+        try {
+            executor.execute(() -> {
+                try {
+                    process(productId, imageUrl, regenerate);
+                } finally {
+                    permits.release();
+                }
+            });
+            return true;
+        } catch (RuntimeException e) {     // 종료 중
+            permits.release();
+            rejected.increment();
+            return false;
+        }
+    }
+
+    void process(Long productId, String imageUrl, boolean regenerate) {    // 파생본 생성 -> 원본이 그대로일 때만 준비 완료 표시
+        long start = System.nanoTime();
+        Path original = resolve(imageUrl);
+        try {
+            if (!Files.exists(original)) {
+                stale.increment();  // 이미 교체되거나 삭제된 이미지
+                return;
+            }
+            if (regenerate || !variantsExist(original)) {     // 같은 이미지를 쓰는 다른 상품이 이미 만든 파생본은 재사용
+                generate(original);
+            }
+
+            Integer updated = transactionTemplate.execute(status -> {
+                int rows = productRepository.markImageVariantsReady(productId, imageUrl);
+                if (rows > 0) {
+                    eventPublisher.publishEvent(ProductChangedEvent.imageChanged(productId));   // 캐시만 무효화 (재고/색인/순위와 무관)
+                }
+                return rows;
+            });
+            if (updated == null || updated == 0) {
+                stale.increment();
+                if (!Files.exists(original)) {
+                    deleteVariants(original);   // 생성 도중 원본이 정리된 경우 (원본이 남아 있으면 다른 상품이 공유 중)
+                }
+                return;
+            }
+            generated.increment();
+            totalNanos.add(System.nanoTime() - start);
+        } catch (Exception e) {
+            failed.increment();
+            log.warn("이미지 파생본 생성 실패: 상품 ID {}, {}", productId, e.getMessage());
+        }
+    }
+
+    private void generate(Path original) throws IOException {  // 원본을 한 번만 디코딩하고 큰 파생본부터 차례로 축소
+        BufferedImage source = read(original);
+        String filename = original.getFileName().toString();
+        for (ImageVariant variant : LARGEST_FIRST) {
+            source = scale(source, variant.getMaxSize());
+            writeJpeg(source, original.resolveSibling(variant.filename(filename)));
+        }
+    }
+
+    private BufferedImage read(Path original) throws IOException {     // 큰 원본은 서브샘플링으로 디코딩 메모리 절감
+        try (ImageInputStream input = ImageIO.createImageInputStream(original.toFile())) {
+            Iterator<ImageReader> readers = input == null ? null : ImageIO.getImageReaders(input);
+            if (readers == null || !readers.hasNext()) {
+                throw new IOException("지원하지 않는 이미지 형식입니다.");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int longest = Math.max(reader.getWidth(0), reader.getHeight(0));
+                int subsampling = Math.max(1, longest / (ImageVariant.DETAIL.getMaxSize() * 2));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    static BufferedImage scale(BufferedImage source, int maxSize) {    // 비율 유지 축소 (확대하지 않음, 절반씩 단계적으로 축소)
+        double ratio = Math.min(1.0, (double) maxSize / Math.max(source.getWidth(), source.getHeight()));
+        int targetWidth = Math.max(1, (int) Math.round(source.getWidth() * ratio));
+        int targetHeight = Math.max(1, (int) Math.round(source.getHeight() * ratio));
+
+        BufferedImage current = source;
+        int width = source.getWidth();
+        int height = source.getHeight();
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+            BufferedImage next = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = next.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                graphics.setColor(Color.WHITE);     // 투명 배경은 흰색으로
+                graphics.fillRect(0, 0, width, height);
+                graphics.drawImage(current, 0, 0, width, height, null);
+            } finally {
+                graphics.dispose();
+            }
+            current = next;
+        } while (width != targetWidth || height != targetHeight);
+        return current;
+    }
+
+    private void writeJpeg(BufferedImage image, Path target) throws IOException {  // 임시 파일에 쓴 뒤 원자적으로 교체
+        Path temp = Files.createTempFile(target.getParent(), ".variant-", ".tmp");
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(temp.toFile())) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(jpegQuality);
+            writer.setOutput(output);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        } finally {
+            writer.dispose();
+        }
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private static boolean variantsExist(Path original) {
+        for (ImageVariant variant : ImageVariant.values()) {
+            if (!Files.exists(original.resolveSibling(variant.filename(original.getFileName().toString())))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void deleteVariants(Path original) throws IOException {
+        for (ImageVariant variant : ImageVariant.values()) {
+            Files.deleteIfExists(original.resolveSibling(variant.filename(original.getFileName().toString())));
+        }
+    }
+
+    public void startReprocess(boolean force) {    // 기존 이미지 일괄 재처리 시작 (force가 false면 파생본이 없는 상품만)
+        if (!reprocessing.compareAndSet(false, true)) {
+            throw new IllegalStateException("이미 이미지 재처리가 진행 중입니다.");
+        }
+        Thread thread = new Thread(() -> {
+            try {
+                reprocess(force);
+            } finally {
+                reprocessing.set(false);
+            }
+        }, "image-variant-reprocess");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void reprocess(boolean force) {    // 상품 ID 순으로 배치 조회하며 작업 큐에 여유가 생길 때마다 투입
+        long start = System.currentTimeMillis();
+        int queued = 0;
+        Long afterId = 0L;
+        List<Object[]> rows;
+        do {
+            rows = productRepository.findImageVariantTargets(afterId, force, PageRequest.of(0, reprocessBatchSize));
+            for (Object[] row : rows) {
+                afterId = (Long) row[0];
+                if (!submit(afterId, (String) row[1], true, force)) {
+                    log.warn("이미지 재처리 중단: 상품 ID {}", afterId);
+                    return;
+                }
+                queued++;
+                reprocessQueued.increment();
+            }
+        } while (rows.size() == reprocessBatchSize);
+        log.info("이미지 재처리 작업 {}건 등록 ({}ms)", queued, System.currentTimeMillis() - start);
+    }
+
+    private Path resolve(String imageUrl) {     // /images/abc.png -> {업로드 경로}/abc.png
+        return imagesDir.resolve(imageUrl.substring(imageUrl.lastIndexOf('/') + 1));
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    public Map<String, Object> stats() {   // 파생본 생성/실패/대기 통계
+        long count = generated.sum();
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("workers", executor.getMaximumPoolSize());
+        summary.put("active", executor.getActiveCount());
+        summary.put("queued", executor.getQueue().size());
+        summary.put("generated", count);
+        summary.put("failed", failed.sum());
+        summary.put("rejected", rejected.sum());
+        summary.put("stale", stale.sum());
+        summary.put("avgMillis", count == 0 ? 0.0 : totalNanos.sum() / 1_000_000.0 / count);
+        summary.put("reprocessing", reprocessing.get());
+        summary.put("reprocessQueued", reprocessQueued.sum());
+        return summary;
+    }
+}
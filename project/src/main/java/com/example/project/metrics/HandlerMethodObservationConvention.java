@@ -0,0 +1,28 @@
+package com.example.project.metrics;
+
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+
+@Component
+public class HandlerMethodObservationConvention extends DefaultServerRequestObservationConvention {   // http.server.requests 지표에 처리한 컨트롤러 메서드(handler) 태그 추가
+    private static final String HANDLER_KEY = "handler";
+    private static final KeyValue HANDLER_NONE = KeyValue.of(HANDLER_KEY, "none");     // 정적 리소스, 인증 필터에서 끝난 요청 등
+
+    @Override
+    public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+        return super.getLowCardinalityKeyValues(context).and(handler(context));
+    }
+
+    private KeyValue handler(ServerRequestObservationContext context) {
+        if (context.getCarrier().getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod method) {
+            return KeyValue.of(HANDLER_KEY, method.getBeanType().getSimpleName() + "." + method.getMethod().getName());
+        }
+        return HANDLER_NONE;
+    }
+}
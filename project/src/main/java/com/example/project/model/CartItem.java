@@ -6,6 +6,7 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Check;
 
 @Entity
 @Getter
@@ -13,6 +14,10 @@ import lombok.Setter;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
+@Table(uniqueConstraints = {
+    @UniqueConstraint(name = "uk_cart_item_user_product", columnNames = {"user_id", "product_id"})   // 사용자당 상품 1행 (담기 upsert 기준)
+})
+@Check(name = "ck_cart_item_quantity", constraints = "quantity BETWEEN 1 AND 10")
 public class CartItem {
     @Id
     @GeneratedValue(strategy = jakarta.persistence.GenerationType.IDENTITY)
@@ -17,7 +17,10 @@ import org.hibernate.annotations.CreationTimestamp;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+    @Index(name = "idx_orders_user_status_date", columnList = "user_id, status, order_date, id"),  // 주문 목록 커서 조회용
+    @Index(name = "idx_orders_status_date", columnList = "status, order_date")     // 만료된 결제 대기 주문 정리용
+})
 public class Order {
     @Id
     @GeneratedValue(strategy = jakarta.persistence.GenerationType.IDENTITY)
@@ -41,6 +44,8 @@ public class Order {
     @Column(unique = true, length = 100)
     private String tid;
 
+    private LocalDateTime approveRequestedAt;   // 마지막 결제 승인 요청 시각 (승인을 요청한 주문은 카카오페이 결제 상태를 확인한 뒤에만 정리)
+
     public enum OrderStatus {
         PENDING,
         PAID,
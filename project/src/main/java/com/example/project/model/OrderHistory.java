@@ -0,0 +1,45 @@
+package com.example.project.model;
+
+import java.time.LocalDateTime;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import com.example.project.model.Order.OrderStatus;
+
+@Entity
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "order_history", indexes = {
+    @Index(name = "idx_order_history_user_status_date", columnList = "user_id, status, order_date, order_id")     // 마이페이지 주문 내역 범위 조회용
+})
+public class OrderHistory {    // 마이페이지 주문 내역 읽기 모델 (주문 1건 = 1행, 주문 항목은 화면에 내려주는 형태 그대로 JSON 저장)
+    @Id
+    private Long orderId;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private LocalDateTime orderDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private OrderStatus status;
+
+    @Column(nullable = false)
+    private int totalPrice;
+
+    @Lob
+    @Column(columnDefinition = "TEXT", nullable = false)
+    private String itemsJson;   // List<OrderItemDTO> (결제 시점 상품명/이미지, 리뷰 ID 포함)
+
+    @Column(nullable = false, length = 2000)
+    private String productIds;  // ",1,2," 형식 (리뷰 추가/삭제 시 갱신할 행 검색용)
+}
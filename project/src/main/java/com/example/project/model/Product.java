@@ -9,10 +9,14 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import java.util.ArrayList;
 import java.util.List;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
 @Entity
+@Table(indexes = {
+    @Index(name = "idx_product_updated", columnList = "updated_at, id")   // 검색 색인 변경분 반영용
+})
 @Getter
 @Setter
 @Builder
@@ -28,6 +32,10 @@ public class Product {
 
     private String imageUrl;
 
+    @Column(nullable = false, updatable = false)   // 파생본 생성 작업이 벌크 UPDATE로만 갱신
+    @ColumnDefault("false")
+    private boolean imageVariantsReady;     // 현재 imageUrl의 썸네일/목록/상세 파생본 생성 완료 여부
+
     @Lob
     @Column(columnDefinition = "TEXT")
     private String description;
@@ -50,6 +58,14 @@ public class Product {
         TOYS
     }
 
+    @Column(nullable = false, updatable = false)   // 엔티티 저장으로 덮어쓰지 않도록 벌크 UPDATE로만 갱신
+    @ColumnDefault("0")
+    private long ratingSum;     // 리뷰 별점 합계 (리뷰 추가/수정/삭제 시 갱신)
+
+    @Column(nullable = false, updatable = false)
+    @ColumnDefault("0")
+    private long reviewCount;   // 리뷰 개수
+
     @Column(nullable = false)
     @CreationTimestamp
     private LocalDateTime createdAt;
@@ -62,6 +78,10 @@ public class Product {
     @OneToMany(mappedBy = "product", cascade = CascadeType.ALL , orphanRemoval = true)
     private final List<Review> reviews = new ArrayList<>();
 
+    public double getAverageRating() {  // 평균 별점
+        return reviewCount == 0 ? 0.0 : (double) ratingSum / reviewCount;
+    }
+
     public void addReview(Review review) {
         reviews.add(review);
         review.setProduct(this);
@@ -15,6 +15,10 @@ import org.hibernate.annotations.UpdateTimestamp;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
+@Table(indexes = {
+    @Index(name = "idx_review_product_date", columnList = "product_id, review_date, id"),  // 리뷰 목록 페이지 조회용
+    @Index(name = "idx_review_product_id", columnList = "product_id, id")     // 리뷰 목록 커서 조회용
+})
 public class Review {
     @Id
     @GeneratedValue(strategy = jakarta.persistence.GenerationType.IDENTITY)
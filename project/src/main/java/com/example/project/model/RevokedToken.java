@@ -0,0 +1,30 @@
+package com.example.project.model;
+
+import java.time.LocalDateTime;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Entity
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "revoked_token", indexes = {
+    @Index(name = "idx_revoked_token_expires", columnList = "expires_at")     // 만료된 행 정리용
+})
+public class RevokedToken {    // 폐기된 리프레시 토큰 (토큰 만료 시각까지 보관, 모든 서버가 공유)
+    @Id
+    @Column(length = 36)
+    private String tokenId;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+}
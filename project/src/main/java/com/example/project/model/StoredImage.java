@@ -0,0 +1,36 @@
+package com.example.project.model;
+
+import java.time.LocalDateTime;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Entity
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "stored_image", indexes = {
+    @Index(name = "idx_stored_image_ref_updated", columnList = "ref_count, updated_at")   // 참조가 없는 이미지 정리용
+})
+public class StoredImage {     // 내용 해시(SHA-256)로 이름 붙인 이미지 파일과 참조 수
+    @Id
+    @Column(length = 80)
+    private String filename;    // {sha256}.{확장자}
+
+    @Column(nullable = false)
+    private long size;
+
+    @Column(nullable = false)
+    private int refCount;       // 이 파일을 쓰는 상품 수 (0이 되면 유예 시간 후 삭제)
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;    // 참조 수가 마지막으로 바뀐 시각
+}
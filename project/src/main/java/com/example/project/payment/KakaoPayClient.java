@@ -0,0 +1,134 @@
+package com.example.project.payment;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import com.example.project.dto.KakaoPayApproveRequestDTO;
+import com.example.project.dto.KakaoPayApproveResponseDTO;
+import com.example.project.dto.KakaoPayCancelRequestDTO;
+import com.example.project.dto.KakaoPayCancelResponseDTO;
+import com.example.project.dto.KakaoPayOrderRequestDTO;
+import com.example.project.dto.KakaoPayOrderResponseDTO;
+import com.example.project.dto.KakaoPayReadyRequestDTO;
+import com.example.project.dto.KakaoPayReadyResponseDTO;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+@Component
+public class KakaoPayClient implements MeterBinder {      // 카카오페이 결제 API 호출 (커넥션 풀 재사용, 호출별 지연 시간 측정)
+    private static final String READY_PATH = "/online/v1/payment/ready";
+    private static final String APPROVE_PATH = "/online/v1/payment/approve";
+    private static final String CANCEL_PATH = "/online/v1/payment/cancel";
+    private static final String ORDER_PATH = "/online/v1/payment/order";
+
+    private final RestTemplate restTemplate;
+    private final String baseUrl;
+    private final String secretKey;
+    private final Map<String, CallStats> callStats = new ConcurrentHashMap<>();
+    private volatile MeterRegistry meterRegistry;   // 지표 수집기 (애플리케이션 밖에서 생성한 경우 없음)
+
+    public KakaoPayClient(@Qualifier("kakaoPayRestTemplate") RestTemplate restTemplate,
+                          @Value("${kakaopay.base-url:https://open-api.kakaopay.com}") String baseUrl,
+                          @Value("${kakaopay.secret-key}") String secretKey) {
+        this.restTemplate = restTemplate;
+        this.baseUrl = baseUrl;
+        this.secretKey = secretKey;
+    }
+
+    public KakaoPayReadyResponseDTO ready(KakaoPayReadyRequestDTO request) {   // 결제 준비
+        return post("ready", READY_PATH, request, KakaoPayReadyResponseDTO.class);
+    }
+
+    public KakaoPayApproveResponseDTO approve(KakaoPayApproveRequestDTO request) {   // 결제 승인
+        return post("approve", APPROVE_PATH, request, KakaoPayApproveResponseDTO.class);
+    }
+
+    public KakaoPayCancelResponseDTO cancel(KakaoPayCancelRequestDTO request) {   // 승인된 결제 취소 (환불)
+        return post("cancel", CANCEL_PATH, request, KakaoPayCancelResponseDTO.class);
+    }
+
+    public KakaoPayOrderResponseDTO order(KakaoPayOrderRequestDTO request) {   // 결제 상태 조회 (승인 결과를 모르는 주문 확인)
+        return post("order", ORDER_PATH, request, KakaoPayOrderResponseDTO.class);
+    }
+
+    private <T> T post(String operation, String path, Object body, Class<T> responseType) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set("Authorization", "SECRET_KEY " + secretKey);
+
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            ResponseEntity<T> response = restTemplate.postForEntity(baseUrl + path, new HttpEntity<>(body, headers), responseType);
+            if (!response.getStatusCode().is2xxSuccessful() || response.getBody() == null) {
+                throw new IllegalStateException("카카오페이 응답이 올바르지 않습니다: " + response.getStatusCode());
+            }
+            success = true;
+            return response.getBody();
+        } finally {
+            long elapsedNanos = System.nanoTime() - start;
+            callStats.computeIfAbsent(operation, op -> new CallStats()).record(elapsedNanos, success);
+            MeterRegistry registry = meterRegistry;
+            if (registry != null) {
+                Timer.builder("kakaopay.requests")
+                        .description("카카오페이 API 호출 지연 시간")
+                        .tag("operation", operation)
+                        .tag("outcome", success ? "SUCCESS" : "FAILURE")
+                        .register(registry)
+                        .record(elapsedNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.meterRegistry = registry;
+    }
+
+    public Map<String, Object> stats() {   // 호출 종류별 횟수/실패/지연 시간 통계
+        Map<String, Object> summary = new LinkedHashMap<>();
+        callStats.forEach((operation, stats) -> summary.put(operation, stats.toMap()));
+        return summary;
+    }
+
+    private static final class CallStats {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        void record(long elapsedNanos, boolean success) {
+            count.increment();
+            if (!success) {
+                failures.increment();
+            }
+            totalNanos.add(elapsedNanos);
+            maxNanos.accumulateAndGet(elapsedNanos, Math::max);
+        }
+
+        Map<String, Object> toMap() {
+            long calls = count.sum();
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("count", calls);
+            map.put("failures", failures.sum());
+            map.put("avgMillis", calls == 0 ? 0.0 : totalNanos.sum() / 1_000_000.0 / calls);
+            map.put("maxMillis", maxNanos.get() / 1_000_000.0);
+            return map;
+        }
+    }
+}
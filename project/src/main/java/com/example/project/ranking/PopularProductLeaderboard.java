@@ -0,0 +1,262 @@
+package com.example.project.ranking;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import lombok.extern.slf4j.Slf4j;
+
+import com.example.project.event.OrderCancelledEvent;
+import com.example.project.event.OrderPaidEvent;
+import com.example.project.event.ProductChangedEvent;
+import com.example.project.model.Product;
+import com.example.project.model.Product.Category;
+import com.example.project.repository.OrderItemRepository;
+import com.example.project.repository.OrderRepository;
+import com.example.project.repository.ProductRepository;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+
+@Component
+@Slf4j
+public class PopularProductLeaderboard {   // 최근 30일(오늘 포함) 판매 건수 기준 인기 상품 순위 (일별 버킷 합산)
+    public static final int WINDOW_DAYS = 30;
+
+    private final OrderItemRepository orderItemRepository;
+    private final OrderRepository orderRepository;
+    private final ProductRepository productRepository;
+    private final TransactionTemplate snapshotTemplate;
+
+    private final TreeMap<LocalDate, Map<Long, Long>> dailyBuckets = new TreeMap<>();
+    private final Map<Long, Long> totals = new HashMap<>();
+    private final Map<Long, Category> categories = new HashMap<>();
+
+    private volatile List<Entry> ranking = List.of();
+    private volatile Map<Category, List<Entry>> rankingByCategory = Map.of();
+    private volatile boolean dirty = false;
+    private volatile boolean ready = false;
+    private boolean rebuilding = false;
+    private final Map<Long, OrderPaidEvent> paidDuringRebuild = new LinkedHashMap<>();    // 초기화 중 도착한 결제 이벤트 (집계 스냅샷에 포함됐는지 확인 후 반영)
+    private final Map<Long, OrderCancelledEvent> cancelledDuringRebuild = new LinkedHashMap<>();  // 초기화 중 도착한 취소 이벤트 (스냅샷에서 결제 완료였던 주문만 차감)
+
+    public PopularProductLeaderboard(OrderItemRepository orderItemRepository,
+                                     OrderRepository orderRepository,
+                                     ProductRepository productRepository,
+                                     PlatformTransactionManager transactionManager) {
+        this.orderItemRepository = orderItemRepository;
+        this.orderRepository = orderRepository;
+        this.productRepository = productRepository;
+        this.snapshotTemplate = new TransactionTemplate(transactionManager);
+        this.snapshotTemplate.setReadOnly(true);
+        this.snapshotTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);   // 집계와 결제 여부 확인을 같은 스냅샷에서 조회
+    }
+
+    public record Entry(Long productId, Category category, long sales) {
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {   // DB의 최근 30일 결제 주문으로 버킷 초기화
+        synchronized (this) {
+            if (rebuilding) {
+                return;     // 이미 다른 스레드가 재구성 중
+            }
+            rebuilding = true;
+            paidDuringRebuild.clear();
+            cancelledDuringRebuild.clear();
+        }
+        LocalDate since = windowStart();
+        try {
+            snapshotTemplate.executeWithoutResult(status -> {
+                List<Object[]> rows = orderItemRepository.countDailySalesSince(since.atStartOfDay());
+                synchronized (this) {
+                    dailyBuckets.clear();
+                    totals.clear();
+                    categories.clear();
+                    for (Object[] row : rows) {
+                        Long productId = ((Number) row[0]).longValue();
+                        Category category = Category.valueOf(row[1].toString());
+                        LocalDate day = row[2] instanceof Date date ? date.toLocalDate() : (LocalDate) row[2];
+                        add(day, productId, category, ((Number) row[3]).longValue());
+                    }
+
+                    if (!paidDuringRebuild.isEmpty() || !cancelledDuringRebuild.isEmpty()) {
+                        Set<Long> orderIds = new LinkedHashSet<>(paidDuringRebuild.keySet());
+                        orderIds.addAll(cancelledDuringRebuild.keySet());
+                        Set<Long> counted = new HashSet<>(orderRepository.findPaidOrderIdsIn(List.copyOf(orderIds)));
+                        paidDuringRebuild.values().stream()     // 스냅샷에 이미 포함됐거나 그 뒤 취소된 주문은 더하지 않음
+                                .filter(event -> !counted.contains(event.getOrderId()) && !cancelledDuringRebuild.containsKey(event.getOrderId()))
+                                .forEach(this::apply);
+                        cancelledDuringRebuild.values().stream()    // 스냅샷에서 결제 완료로 집계된 주문만 차감
+                                .filter(event -> counted.contains(event.getOrderId()))
+                                .forEach(this::revert);
+                        paidDuringRebuild.clear();
+                        cancelledDuringRebuild.clear();
+                    }
+                    rebuilding = false;
+                    dirty = true;
+                    ready = true;
+                }
+            });
+        } catch (RuntimeException e) {     // 실패하면 기존 집계에 그동안의 이벤트를 반영하고 다음 주기에 재시도
+            synchronized (this) {
+                paidDuringRebuild.values().forEach(this::apply);
+                cancelledDuringRebuild.values().forEach(this::revert);
+                paidDuringRebuild.clear();
+                cancelledDuringRebuild.clear();
+                rebuilding = false;
+            }
+            log.warn("인기 상품 집계 재구성 실패: {}", e.getMessage());
+            return;
+        }
+        log.info("인기 상품 집계 초기화 완료: {}개 상품", totals.size());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public synchronized void onOrderPaid(OrderPaidEvent event) {    // 결제 완료 시 판매 건수 증가
+        if (rebuilding) {
+            paidDuringRebuild.put(event.getOrderId(), event);
+            return;
+        }
+        apply(event);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public synchronized void onOrderCancelled(OrderCancelledEvent event) {  // 결제 완료 주문 취소 시 판매 건수 차감
+        if (rebuilding) {
+            cancelledDuringRebuild.put(event.getOrderId(), event);
+            return;
+        }
+        revert(event);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {   // 상품 삭제 시 순위에서 제거, 카테고리 변경 반영
+        if (event.isStockOnly() || event.isImageOnly()) {
+            return;
+        }
+        for (Long productId : event.getProductIds()) {
+            Optional<Category> category = productRepository.findById(productId).map(Product::getCategory);
+            synchronized (this) {
+                if (category.isEmpty()) {
+                    removeProduct(productId);
+                } else if (totals.containsKey(productId)) {
+                    categories.put(productId, category.get());
+                }
+                dirty = true;
+            }
+        }
+    }
+
+    // 주기적으로 DB 기준 재구성 (다른 서버에서 처리된 결제/취소 반영, 자정 실행 시 집계 기간을 벗어난 버킷도 제거)
+    @Scheduled(cron = "${app.ranking.popular.resync-cron:0 */10 * * * *}")
+    public void resync() {
+        rebuild();
+    }
+
+    public List<Entry> top(int limit, Category category) {     // 상위 N개 상품 조회 (category가 null이면 전체)
+        if (dirty) {
+            refreshRanking();
+        }
+        List<Entry> source = category == null ? ranking : rankingByCategory.getOrDefault(category, List.of());
+        return source.subList(0, Math.min(limit, source.size()));
+    }
+
+    private synchronized void refreshRanking() {   // 정렬된 순위 스냅샷 갱신 (변경이 있을 때만)
+        if (!dirty) {
+            return;
+        }
+        dirty = false;
+        List<Entry> entries = new ArrayList<>(totals.size());
+        totals.forEach((productId, sales) -> entries.add(new Entry(productId, categories.get(productId), sales)));
+        entries.sort(Comparator.comparingLong(Entry::sales).reversed().thenComparing(Entry::productId));
+
+        Map<Category, List<Entry>> byCategory = new EnumMap<>(Category.class);
+        for (Entry entry : entries) {
+            if (entry.category() != null) {
+                byCategory.computeIfAbsent(entry.category(), c -> new ArrayList<>()).add(entry);
+            }
+        }
+        ranking = List.copyOf(entries);
+        byCategory.replaceAll((c, list) -> List.copyOf(list));
+        rankingByCategory = byCategory;
+    }
+
+    private void apply(OrderPaidEvent event) {
+        LocalDate day = event.getOrderDate() != null ? event.getOrderDate().toLocalDate() : LocalDate.now();
+        if (day.isBefore(windowStart())) {
+            return;
+        }
+        for (OrderPaidEvent.PaidItem item : event.getItems()) {
+            add(day, item.getProductId(), item.getCategory(), 1);
+        }
+        dirty = true;
+    }
+
+    private void revert(OrderCancelledEvent event) {
+        LocalDate day = event.getOrderDate() != null ? event.getOrderDate().toLocalDate() : LocalDate.now();
+        Map<Long, Long> bucket = dailyBuckets.get(day);
+        if (bucket == null) {
+            return;     // 집계 기간 밖의 주문
+        }
+        for (Long productId : event.getProductIds()) {
+            Long sales = bucket.get(productId);
+            if (sales == null) {
+                continue;
+            }
+            if (sales > 1) {
+                bucket.put(productId, sales - 1);
+            } else {
+                bucket.remove(productId);
+            }
+            long remaining = totals.getOrDefault(productId, 0L) - 1;
+            if (remaining > 0) {
+                totals.put(productId, remaining);
+            } else {
+                totals.remove(productId);
+                categories.remove(productId);
+            }
+        }
+        dirty = true;
+    }
+
+    private void removeProduct(Long productId) {
+        dailyBuckets.values().forEach(bucket -> bucket.remove(productId));
+        totals.remove(productId);
+        categories.remove(productId);
+    }
+
+    private void add(LocalDate day, Long productId, Category category, long sales) {
+        dailyBuckets.computeIfAbsent(day, d -> new HashMap<>()).merge(productId, sales, Long::sum);
+        totals.merge(productId, sales, Long::sum);
+        if (category != null) {
+            categories.put(productId, category);
+        }
+    }
+
+    private LocalDate windowStart() {
+        return LocalDate.now().minusDays(WINDOW_DAYS - 1);     // 오늘을 포함한 30개 일별 버킷
+    }
+}
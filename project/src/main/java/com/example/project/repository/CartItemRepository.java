@@ -13,12 +13,15 @@ public interface CartItemRepository extends JpaRepository<CartItem, Long> {
     List<CartItem> findByUserId(Long userId);
 
     @Query(value= "SELECT new com.example.project.dto.CartItemDTO(" +
-                  "c.id, p.id, p.name, p.imageUrl, p.price, c.quantity) " +
+                  "c.id, p.id, p.name, p.imageUrl, p.imageVariantsReady, p.price, c.quantity) " +
                   "FROM CartItem c " +
                   "JOIN c.product p " +
                   "WHERE c.user.id = :userId")
     List<CartItemDTO> findDTOByUserId(@Param("userId") Long userId);
 
+    @Query("SELECT c.id, c.product.id, c.quantity FROM CartItem c WHERE c.user.id = :userId ORDER BY c.id")
+    List<Object[]> findLinesByUserId(@Param("userId") Long userId);    // 장바구니 메모리 적재용 (항목 ID, 상품 ID, 수량)
+
     CartItem findByUserIdAndProductId(Long userId, Long productId);
     
     void deleteByUserId(Long userId);
@@ -0,0 +1,40 @@
+package com.example.project.repository;
+
+import org.springframework.stereotype.Repository;
+import com.example.project.model.OrderHistory;
+import com.example.project.model.Order.OrderStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OrderHistoryRepository extends JpaRepository<OrderHistory, Long> {
+    Page<OrderHistory> findByUserIdAndStatusOrderByOrderDateDescOrderIdDesc(Long userId, OrderStatus status, Pageable pageable);
+
+    @Query("SELECT h FROM OrderHistory h WHERE h.userId = :userId AND h.status = :status ORDER BY h.orderDate DESC, h.orderId DESC")
+    List<OrderHistory> findFirstPage(@Param("userId") Long userId, @Param("status") OrderStatus status, Pageable pageable);   // 커서 기반 첫 페이지
+
+    @Query("SELECT h FROM OrderHistory h WHERE h.userId = :userId AND h.status = :status " +
+           "AND (h.orderDate < :afterDate OR (h.orderDate = :afterDate AND h.orderId < :afterId)) " +
+           "ORDER BY h.orderDate DESC, h.orderId DESC")
+    List<OrderHistory> findPageAfter(@Param("userId") Long userId, @Param("status") OrderStatus status,
+                                     @Param("afterDate") LocalDateTime afterDate, @Param("afterId") Long afterId, Pageable pageable);   // 커서 이후 페이지
+
+    List<OrderHistory> findByUserIdAndProductIdsContaining(Long userId, String productIdToken);
+
+    @Modifying
+    @Query("UPDATE OrderHistory h SET h.status = :status WHERE h.orderId = :orderId")
+    int updateStatus(@Param("orderId") Long orderId, @Param("status") OrderStatus status);
+
+    @Modifying
+    @Query("UPDATE OrderHistory h SET h.status = (SELECT o.status FROM Order o WHERE o.id = h.orderId) " +
+           "WHERE h.status = :paid AND EXISTS (SELECT o.id FROM Order o WHERE o.id = h.orderId AND o.status <> :paid)")
+    int syncStatusFromOrders(@Param("paid") OrderStatus paid);     // 결제 완료로 남아 있지만 실제로는 상태가 바뀐 주문 보정
+
+    long countByStatus(OrderStatus status);
+}
@@ -5,10 +5,32 @@ import org.springframework.stereotype.Repository;
 import com.example.project.model.OrderItem;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
 public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
     List<OrderItem> findByOrderId(Long orderId);
+
+    @Query(value = "SELECT oi.product_id, p.category, DATE(o.order_date) AS sales_date, COUNT(*) AS sales " +
+                   "FROM order_item oi " +
+                   "JOIN orders o ON oi.order_id = o.id " +
+                   "JOIN product p ON p.id = oi.product_id " +
+                   "WHERE o.status = 'PAID' AND o.order_date >= :since " +
+                   "GROUP BY oi.product_id, p.category, DATE(o.order_date)", nativeQuery = true)
+    List<Object[]> countDailySalesSince(@Param("since") LocalDateTime since);     // 상품별 일별 판매 건수 (인기 상품 집계 초기화용)
+
+    @Query("SELECT p.id, p.category, oi.quantity FROM OrderItem oi JOIN oi.product p WHERE oi.order.id = :orderId ORDER BY oi.id")
+    List<Object[]> findItemRowsByOrderId(@Param("orderId") Long orderId);     // 주문 항목의 상품 ID, 카테고리, 수량 (상품 엔티티를 영속성 컨텍스트에 올리지 않음)
+
+    @Query("SELECT p.name FROM OrderItem oi JOIN oi.product p WHERE oi.order.id = :orderId ORDER BY oi.id")
+    List<String> findProductNamesByOrderId(@Param("orderId") Long orderId);   // 주문 항목의 상품명 (결제 준비 요청용)
+
+    @Modifying
+    @Query("DELETE FROM OrderItem oi WHERE oi.order.id IN :orderIds")
+    int deleteByOrderIds(@Param("orderIds") List<Long> orderIds);     // 주문 항목 일괄 삭제
 }
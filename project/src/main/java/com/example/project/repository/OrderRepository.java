@@ -4,23 +4,85 @@ import org.springframework.stereotype.Repository;
 import com.example.project.model.Order;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.EntityGraph;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
-    @EntityGraph(attributePaths = {"orderItems", "orderItems.product"})
-    List<Order> findByUserId(Long userId);
+    @Query("SELECT o.id, o.orderDate FROM Order o WHERE o.user.id = :userId ORDER BY o.orderDate DESC, o.id DESC")
+    List<Object[]> findOrderKeysByUserId(@Param("userId") Long userId, Pageable pageable);    // 주문 내역 내보내기 첫 배치 (주문 ID, 주문 일시)
+
+    @Query("SELECT o.id, o.orderDate FROM Order o WHERE o.user.id = :userId " +
+           "AND (o.orderDate < :orderDate OR (o.orderDate = :orderDate AND o.id < :orderId)) " +
+           "ORDER BY o.orderDate DESC, o.id DESC")
+    List<Object[]> findOrderKeysByUserIdAfter(@Param("userId") Long userId,
+                                              @Param("orderDate") LocalDateTime orderDate,
+                                              @Param("orderId") Long orderId,
+                                              Pageable pageable);     // 마지막으로 읽은 주문 다음 배치 (키셋, OFFSET 없이)
+
+    @Query("SELECT o.id, o.orderDate, o.status, o.totalPrice, oi.id, p.id, p.name, p.imageUrl, oi.quantity, oi.price " +
+           "FROM Order o JOIN o.orderItems oi JOIN oi.product p " +
+           "WHERE o.id IN :orderIds " +
+           "ORDER BY o.orderDate DESC, o.id DESC, oi.id")
+    List<Object[]> findOrderRowsByOrderIds(@Param("orderIds") List<Long> orderIds);    // 주문 항목 행 (주문 단위로 연속, 엔티티를 만들지 않음)
 
     @Query("SELECT o.id FROM Order o WHERE o.user.id = :userId AND o.status = 'PAID' ORDER BY o.orderDate DESC")
     Page<Long> findOrderIdsByUserId(@Param("userId") Long userId, Pageable pageable);
 
+    @Query("SELECT o.id FROM Order o WHERE o.user.id = :userId AND o.status = 'PAID' ORDER BY o.orderDate DESC, o.id DESC")
+    List<Long> findFirstOrderIdsByUserId(@Param("userId") Long userId, Pageable pageable);     // 커서 기반 첫 페이지
+
+    @Query("SELECT o.id FROM Order o WHERE o.user.id = :userId AND o.status = 'PAID' " +
+           "AND (o.orderDate < :afterDate OR (o.orderDate = :afterDate AND o.id < :afterId)) " +
+           "ORDER BY o.orderDate DESC, o.id DESC")
+    List<Long> findOrderIdsByUserIdAfter(@Param("userId") Long userId, @Param("afterDate") LocalDateTime afterDate,
+                                         @Param("afterId") Long afterId, Pageable pageable);   // 커서 이후 페이지
+
     @Query("SELECT o FROM Order o " +
            "JOIN FETCH o.orderItems oi " +
            "JOIN FETCH oi.product p " +
            "WHERE o.id IN :ids")
     List<Order> findOrdersWithItemsByIds(@Param("ids") List<Long> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Order o SET o.tid = :tid WHERE o.id = :id AND o.status = 'PENDING'")
+    int assignTid(@Param("id") Long id, @Param("tid") String tid);     // 결제 준비 후 tid 저장
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Order o SET o.status = 'PAID' WHERE o.id = :id AND o.tid = :tid AND o.status = 'PENDING'")
+    int markPaid(@Param("id") Long id, @Param("tid") String tid);      // 결제 대기 주문만 결제 완료로 변경 (중복 승인 방지)
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Order o SET o.approveRequestedAt = :now WHERE o.id = :id AND o.status = 'PENDING' AND o.tid IS NOT NULL")
+    int markApproveRequested(@Param("id") Long id, @Param("now") LocalDateTime now);   // 승인 요청 시작 기록 (정리 작업이 행을 잠그고 있으면 끝날 때까지 대기)
+
+    @Query(value = "SELECT id FROM orders WHERE status = 'PENDING' AND order_date < :cutoff AND approve_requested_at IS NULL " +
+                   "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Long> lockStalePendingOrderIds(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);    // 만료된 결제 대기 주문 잠금 (다른 트랜잭션이 잠근 주문, 승인을 요청한 적 있는 주문은 건너뜀)
+
+    @Query("SELECT o.id, o.tid, o.totalPrice, o.approveRequestedAt FROM Order o " +
+           "WHERE o.status = 'PENDING' AND o.approveRequestedAt < :approveCutoff ORDER BY o.approveRequestedAt")
+    List<Object[]> findUnsettledApprovals(@Param("approveCutoff") LocalDateTime approveCutoff, Pageable pageable);    // 승인 요청 후 결제 완료되지 않은 주문 (결제 여부를 카카오페이에 확인)
+
+    @Query(value = "SELECT id FROM orders WHERE id = :id AND status = 'PENDING' AND approve_requested_at = :approveRequestedAt " +
+                   "FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Long> lockUnsettledApproval(@Param("id") Long id, @Param("approveRequestedAt") LocalDateTime approveRequestedAt);   // 확인한 뒤 다시 승인 요청되지 않은 경우만 잠금
+
+    @Modifying
+    @Query("DELETE FROM Order o WHERE o.id IN :ids AND o.status = 'PENDING'")
+    int deletePendingByIds(@Param("ids") List<Long> ids);   // 결제 대기 주문 일괄 삭제
+
+    long countByStatus(Order.OrderStatus status);
+
+    boolean existsByIdAndTidAndStatus(Long id, String tid, Order.OrderStatus status);
+
+    @Query("SELECT o.id FROM Order o WHERE o.status = 'PAID' AND o.id > :afterId ORDER BY o.id")
+    List<Long> findPaidOrderIdsAfter(@Param("afterId") Long afterId, Pageable pageable);   // 결제 완료 주문 ID 순차 조회 (읽기 모델 재구성용)
+
+    @Query("SELECT o.id FROM Order o WHERE o.id IN :ids AND o.status = 'PAID'")
+    List<Long> findPaidOrderIdsIn(@Param("ids") List<Long> ids);   // 결제 완료된 주문 ID만 조회
 }
@@ -4,16 +4,18 @@ import org.springframework.stereotype.Repository;
 
 import com.example.project.model.Product;
 import com.example.project.model.Product.Category;
-import com.example.project.dto.PopularProductDTO;
 import com.example.project.dto.ProductListDTO;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import jakarta.persistence.LockModeType;
 import java.util.Optional;
+import java.util.Collection;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -22,31 +24,34 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     @Query("SELECT p FROM Product p WHERE p.id = :id")
     Optional<Product> findByIdWithLock(@Param("id") Long id);
 
+    @Query(value = "SELECT id FROM product WHERE id IN (:ids) ORDER BY id FOR UPDATE", nativeQuery = true)
+    List<Long> lockAllByIdsInOrder(@Param("ids") Collection<Long> ids);   // 여러 상품 행을 ID 오름차순으로 한 번에 잠금
+
     Page<Product> findByNameContainingIgnoreCase(String keyword, Pageable pageable);
 
     Page<Product> findByCategory(Category category, Pageable pageable);
 
     Page<Product> findByCategoryAndNameContainingIgnoreCase(Category category, String name, Pageable pageable);
 
-    @Query(value = "SELECT p.id, p.name, p.image_Url AS thumbnailUrl, p.category, p.price, COUNT(DISTINCT oi.id) AS sales30d, " +
-                   "COALESCE(CAST(AVG(r.rating) AS DOUBLE), 0) AS averageRating, COUNT(DISTINCT r.id) AS reviewCount " +
+    @Query(value = "SELECT p.id, p.name, p.image_url AS imageUrl, p.image_variants_ready AS imageVariantsReady, p.category, p.price, COUNT(DISTINCT oi.id) AS sales30d, " +
+                   "CASE WHEN p.review_count = 0 THEN 0 ELSE CAST(p.rating_sum AS DOUBLE) / p.review_count END AS averageRating, p.review_count AS reviewCount " +
                    "FROM product p " +
                    "JOIN order_item oi ON p.id = oi.product_id " +
                    "JOIN orders o ON oi.order_id = o.id " +
-                   "LEFT JOIN review r ON p.id = r.product_id " +
-                   "WHERE o.order_date >= DATE_SUB(NOW(), INTERVAL 30 DAY) " +
+                   "WHERE o.status = 'PAID' AND o.order_date >= :since " +
+                   "AND (:category IS NULL OR p.category = :category) " +
                    "GROUP BY p.id " +
-                   "ORDER BY sales30d DESC " +
-                   "LIMIT 3", nativeQuery = true)
-    List<PopularProductDTO> findTop3ByOrderTimes();
+                   "ORDER BY sales30d DESC, p.id " +
+                   "LIMIT :limit", nativeQuery = true)
+    List<Object[]> findPopularProducts(@Param("since") LocalDateTime since, @Param("category") String category,
+                                       @Param("limit") int limit);    // 기간 내 결제 완료 판매 건수 기준 인기 상품 (인기 상품 집계 초기화 전 사용)
     
     @Query(value = "SELECT new com.example.project.dto.ProductListDTO(" +
-                "p.id, p.name, p.imageUrl, p.price, p.stock, p.category, COALESCE(AVG(r.rating), 0), COUNT(r)) " +
+                "p.id, p.name, p.imageUrl, p.price, p.stock, p.category, " +
+                "CASE WHEN p.reviewCount = 0 THEN 0.0 ELSE (p.ratingSum * 1.0) / p.reviewCount END, p.reviewCount, p.imageVariantsReady) " +
                 "FROM Product p " +
-                "LEFT JOIN p.reviews r " +
                 "WHERE (:category IS NULL OR p.category = :category) " +
                 "AND (:keyword IS NULL OR LOWER(p.name) LIKE CONCAT('%', LOWER(:keyword), '%')) " +
-                "GROUP BY p.id " +
                 "ORDER BY p.id",
         countQuery = "SELECT COUNT(p) " +
                      "FROM Product p " +
@@ -54,4 +59,62 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
                      "AND (:keyword IS NULL OR LOWER(p.name) LIKE CONCAT('%', LOWER(:keyword), '%'))")
     Page<ProductListDTO> findAllProducts(@Param("category") Product.Category category, @Param("keyword") String keyword, Pageable pageable);
 
+    @Query("SELECT new com.example.project.dto.ProductListDTO(" +
+           "p.id, p.name, p.imageUrl, p.price, p.stock, p.category, " +
+           "CASE WHEN p.reviewCount = 0 THEN 0.0 ELSE (p.ratingSum * 1.0) / p.reviewCount END, p.reviewCount, p.imageVariantsReady) " +
+           "FROM Product p " +
+           "WHERE (:category IS NULL OR p.category = :category) " +
+           "AND (:keyword IS NULL OR LOWER(p.name) LIKE CONCAT('%', LOWER(:keyword), '%')) " +
+           "AND (:afterId IS NULL OR p.id > :afterId) " +
+           "ORDER BY p.id")
+    List<ProductListDTO> findProductsAfter(@Param("category") Product.Category category, @Param("keyword") String keyword,
+                                           @Param("afterId") Long afterId, Pageable pageable);     // 커서 기반 조회 (COUNT 쿼리 없음)
+
+    @Query("SELECT p.id, p.name, p.category, SUBSTRING(p.description, 1, :descriptionMaxChars), p.updatedAt " +
+           "FROM Product p " +
+           "WHERE p.id > :afterId " +
+           "ORDER BY p.id")
+    List<Object[]> findSearchRowsAfter(@Param("afterId") long afterId, @Param("descriptionMaxChars") int descriptionMaxChars,
+                                       Pageable pageable);     // 검색 색인용 컬럼만 ID 커서로 조회 (COUNT 쿼리 없음)
+
+    @Query("SELECT p.id, p.name, p.category, SUBSTRING(p.description, 1, :descriptionMaxChars), p.updatedAt " +
+           "FROM Product p " +
+           "WHERE p.updatedAt > :since OR (p.updatedAt = :since AND p.id > :afterId) " +
+           "ORDER BY p.updatedAt, p.id")
+    List<Object[]> findSearchRowsUpdatedAfter(@Param("since") LocalDateTime since, @Param("afterId") long afterId,
+                                              @Param("descriptionMaxChars") int descriptionMaxChars, Pageable pageable);    // (수정 시각, ID) 커서로 변경된 상품 조회
+
+    @Query("SELECT new com.example.project.dto.ProductListDTO(" +
+           "p.id, p.name, p.imageUrl, p.price, p.stock, p.category, " +
+           "CASE WHEN p.reviewCount = 0 THEN 0.0 ELSE (p.ratingSum * 1.0) / p.reviewCount END, p.reviewCount, p.imageVariantsReady) " +
+           "FROM Product p " +
+           "WHERE p.id IN :ids")
+    List<ProductListDTO> findListDTOsByIds(@Param("ids") List<Long> ids);
+
+    @Modifying
+    @Query("UPDATE Product p SET p.imageVariantsReady = true WHERE p.id = :id AND p.imageUrl = :imageUrl")
+    int markImageVariantsReady(@Param("id") Long id, @Param("imageUrl") String imageUrl);   // 생성 도중 이미지가 교체되었으면 0
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Product p SET p.imageVariantsReady = false WHERE p.id = :id")
+    int resetImageVariants(@Param("id") Long id);
+
+    @Query("SELECT p.id, p.imageUrl FROM Product p " +
+           "WHERE p.imageUrl IS NOT NULL AND (:force = true OR p.imageVariantsReady = false) AND p.id > :afterId " +
+           "ORDER BY p.id")
+    List<Object[]> findImageVariantTargets(@Param("afterId") Long afterId, @Param("force") boolean force, Pageable pageable);   // 파생본 재처리 대상 (ID 커서)
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Product p SET p.ratingSum = p.ratingSum + :ratingDelta, p.reviewCount = p.reviewCount + :countDelta WHERE p.id = :id")
+    int adjustRatingAggregate(@Param("id") Long id, @Param("ratingDelta") long ratingDelta, @Param("countDelta") long countDelta);
+
+    @Query("SELECT COUNT(p) FROM Product p WHERE p.reviewCount = 0 AND EXISTS (SELECT 1 FROM Review r WHERE r.product = p)")
+    long countMissingRatingAggregates();    // 리뷰가 있는데 집계가 비어 있는 상품 수 (집계 컬럼 추가 직후)
+
+    @Modifying
+    @Query(value = "UPDATE product p SET " +
+                   "p.rating_sum = (SELECT COALESCE(SUM(r.rating), 0) FROM review r WHERE r.product_id = p.id), " +
+                   "p.review_count = (SELECT COUNT(*) FROM review r WHERE r.product_id = p.id)", nativeQuery = true)
+    int rebuildRatingAggregates();
+
 }
@@ -15,6 +15,13 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
     @Query("SELECT r.id FROM Review r WHERE r.product.id = :productId ORDER BY r.reviewDate DESC")
     Page<Long> findReviewIdsByProductId(@Param("productId") Long productId, Pageable pageable);
 
+    @Query("SELECT r.id FROM Review r WHERE r.product.id = :productId ORDER BY r.id DESC")
+    List<Long> findFirstReviewIdsByProductId(@Param("productId") Long productId, Pageable pageable);   // 커서 기반 첫 페이지 (최신 작성 순)
+
+    @Query("SELECT r.id FROM Review r WHERE r.product.id = :productId AND r.id < :afterId ORDER BY r.id DESC")
+    List<Long> findReviewIdsByProductIdAfter(@Param("productId") Long productId, @Param("afterId") Long afterId,
+                                             Pageable pageable);   // 커서 이후 페이지 (수정해도 바뀌지 않는 id 기준)
+
     @Query("SELECT r FROM Review r JOIN FETCH r.user WHERE r.id IN :reviewIds")
     List<Review> findReviewsByIds(@Param("reviewIds") List<Long> reviewIds);
 
@@ -23,4 +30,7 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
     Optional<Review> findByUserIdAndProductId(Long userId, Long productId);
     
     List<Review> findByUserId(Long userId);
+
+    @Query("SELECT r.product.id, r.id FROM Review r WHERE r.user.id = :userId")
+    List<Object[]> findReviewIdsByUserId(@Param("userId") Long userId);     // 사용자가 작성한 리뷰의 (상품 ID, 리뷰 ID) (본문 LOB 제외)
 }
@@ -0,0 +1,21 @@
+package com.example.project.repository;
+
+import org.springframework.stereotype.Repository;
+
+import com.example.project.model.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.time.LocalDateTime;
+
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO revoked_token (token_id, user_id, expires_at) VALUES (:tokenId, :userId, :expiresAt)", nativeQuery = true)
+    int revoke(@Param("tokenId") String tokenId, @Param("userId") Long userId, @Param("expiresAt") LocalDateTime expiresAt);   // 폐기 기록 (이미 폐기된 토큰이면 0)
+
+    @Modifying
+    @Query("DELETE FROM RevokedToken t WHERE t.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
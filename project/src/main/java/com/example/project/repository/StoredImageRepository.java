@@ -0,0 +1,43 @@
+package com.example.project.repository;
+
+import org.springframework.stereotype.Repository;
+
+import com.example.project.model.StoredImage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface StoredImageRepository extends JpaRepository<StoredImage, String> {
+    @Modifying
+    @Query(value = "INSERT INTO stored_image (filename, size, ref_count, created_at, updated_at) VALUES (:filename, :size, 1, :now, :now) " +
+                   "ON DUPLICATE KEY UPDATE ref_count = ref_count + 1, updated_at = :now", nativeQuery = true)
+    int reference(@Param("filename") String filename, @Param("size") long size, @Param("now") LocalDateTime now);   // 참조 수 증가 (없으면 추가), 커밋 전까지 행 잠금 유지
+
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO stored_image (filename, size, ref_count, created_at, updated_at) VALUES (:filename, :size, 0, :at, :at)", nativeQuery = true)
+    int adoptOrphan(@Param("filename") String filename, @Param("size") long size, @Param("at") LocalDateTime at);   // 기록 없이 남은 파일을 참조 0으로 등록 (업로드 중인 행과는 잠금으로 직렬화)
+
+    @Modifying
+    @Query("UPDATE StoredImage s SET s.refCount = s.refCount + 1, s.updatedAt = :now WHERE s.filename = :filename")
+    int retain(@Param("filename") String filename, @Param("now") LocalDateTime now);   // 이미 저장된 이미지의 참조 수 증가
+
+    @Modifying
+    @Query("UPDATE StoredImage s SET s.refCount = s.refCount - 1, s.updatedAt = :now WHERE s.filename = :filename AND s.refCount > 0")
+    int release(@Param("filename") String filename, @Param("now") LocalDateTime now);
+
+    @Query(value = "SELECT filename FROM stored_image WHERE ref_count = 0 AND updated_at < :cutoff " +
+                   "ORDER BY filename LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<String> lockOrphans(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);    // 정리 대상 잠금 (사용 중인 행은 건너뜀)
+
+    @Modifying
+    @Query("DELETE FROM StoredImage s WHERE s.filename IN :filenames AND s.refCount = 0")
+    int deleteOrphans(@Param("filenames") Collection<String> filenames);
+
+    @Query("SELECT s.filename FROM StoredImage s WHERE s.filename IN :filenames")
+    List<String> findExistingFilenames(@Param("filenames") Collection<String> filenames);
+}
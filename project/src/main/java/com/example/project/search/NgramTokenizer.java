@@ -0,0 +1,69 @@
+package com.example.project.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+public final class NgramTokenizer {    // 한글 n-gram 토크나이저 (형태소 분석 없이 부분 문자열 검색 지원)
+    private NgramTokenizer() {
+    }
+
+    public static String normalize(String text) {     // 전각/반각, 호환 자모 정규화 및 소문자 변환
+        if (text == null) {
+            return "";
+        }
+        return Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+    }
+
+    public static void index(String text, int weight, int maxChars, Map<String, Integer> terms) {   // 문서 색인용 토큰 (1-gram + 2-gram)
+        String normalized = normalize(text);
+        if (normalized.length() > maxChars) {
+            normalized = normalized.substring(0, maxChars);
+        }
+        for (String run : runs(normalized)) {
+            for (int i = 0; i < run.length(); i++) {
+                terms.merge(run.substring(i, i + 1), weight, Integer::sum);
+                if (i + 1 < run.length()) {
+                    terms.merge(run.substring(i, i + 2), weight, Integer::sum);
+                }
+            }
+        }
+    }
+
+    public static List<String> queryTerms(String query) {   // 검색어 토큰 (2자 이상은 2-gram, 1자는 1-gram)
+        Set<String> terms = new LinkedHashSet<>();
+        for (String run : runs(normalize(query))) {
+            if (run.length() == 1) {
+                terms.add(run);
+            } else {
+                for (int i = 0; i + 1 < run.length(); i++) {
+                    terms.add(run.substring(i, i + 2));
+                }
+            }
+        }
+        return new ArrayList<>(terms);
+    }
+
+    private static List<String> runs(String text) {    // 문자/숫자 연속 구간 분리 (공백, 특수문자 기준)
+        List<String> runs = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i < text.length(); i++) {
+            if (Character.isLetterOrDigit(text.charAt(i))) {
+                if (start < 0) {
+                    start = i;
+                }
+            } else if (start >= 0) {
+                runs.add(text.substring(start, i));
+                start = -1;
+            }
+        }
+        if (start >= 0) {
+            runs.add(text.substring(start));
+        }
+        return runs;
+    }
+}
@@ -0,0 +1,358 @@
+package com.example.project.search;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import lombok.extern.slf4j.Slf4j;
+
+import com.example.project.event.ProductChangedEvent;
+import com.example.project.model.Product;
+import com.example.project.model.Product.Category;
+import com.example.project.repository.ProductRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Component
+@Slf4j
+public class ProductSearchIndex {      // 상품 검색용 인메모리 역색인 (상품명 부분 문자열 일치, 관련도는 상품명/설명/카테고리 가중치)
+    private static final int NAME_WEIGHT = 5;
+    private static final int CATEGORY_WEIGHT = 3;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final int REBUILD_PAGE_SIZE = 1000;
+
+    private final ProductRepository productRepository;
+    private final int descriptionMaxChars;
+    private final int catchUpOverlapSeconds;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Set<Long> changedDuringRebuild = ConcurrentHashMap.newKeySet();
+
+    private Segment segment = new Segment();
+    private volatile boolean ready = false;
+    private volatile boolean rebuilding = false;
+    private volatile LocalDateTime caughtUpAt;     // 이 시각 이후 수정된 상품은 변경분 반영 대상
+
+    public ProductSearchIndex(ProductRepository productRepository,
+                              @Value("${app.search.description-max-chars:1000}") int descriptionMaxChars,
+                              @Value("${app.search.catch-up-overlap-seconds:30}") int catchUpOverlapSeconds) {
+        this.productRepository = productRepository;
+        this.descriptionMaxChars = descriptionMaxChars;
+        this.catchUpOverlapSeconds = catchUpOverlapSeconds;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {     // 전체 상품 색인 (애플리케이션 시작 시, 색인 완료 전까지는 DB 검색 사용)
+        long start = System.currentTimeMillis();
+        LocalDateTime startedAt = LocalDateTime.now();
+        rebuilding = true;
+        changedDuringRebuild.clear();
+
+        Segment fresh = new Segment();
+        long lastId = 0L;
+        List<Object[]> rows;
+        do {    // ID 커서로 색인에 필요한 컬럼만 조회 (OFFSET/COUNT 없음)
+            rows = productRepository.findSearchRowsAfter(lastId, descriptionMaxChars, PageRequest.of(0, REBUILD_PAGE_SIZE));
+            for (Object[] row : rows) {
+                SearchRow product = SearchRow.of(row);
+                fresh.add(product.id(), matchName(product.name()), product.category(),
+                        terms(product.name(), product.category(), product.description()));
+                lastId = product.id();
+            }
+        } while (rows.size() == REBUILD_PAGE_SIZE);
+
+        lock.writeLock().lock();
+        try {
+            segment = fresh;
+            caughtUpAt = startedAt;     // 색인 시작 이후 다른 서버에서 수정된 상품은 변경분 반영에서 처리
+            rebuilding = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        ready = true;
+
+        for (Iterator<Long> it = changedDuringRebuild.iterator(); it.hasNext(); ) {  // 색인 중 변경된 상품 재색인 (하나씩 꺼내므로 순회 중 추가된 ID도 유지)
+            Long productId = it.next();
+            it.remove();
+            reindex(productId);
+        }
+        log.info("상품 검색 색인 완료: {}개 상품, {}ms", fresh.liveCount(), System.currentTimeMillis() - start);
+    }
+
+    @Scheduled(fixedDelayString = "${app.search.catch-up-interval-ms:60000}", initialDelayString = "${app.search.catch-up-interval-ms:60000}")
+    public void catchUp() {     // 다른 서버에서 추가/수정된 상품 반영 (이 서버의 변경은 이벤트로 바로 반영, 삭제된 상품은 검색 결과 조회 시 DB에서 빠짐)
+        if (!ready || rebuilding) {
+            return;
+        }
+        LocalDateTime startedAt = LocalDateTime.now();
+        LocalDateTime since = caughtUpAt.minusSeconds(catchUpOverlapSeconds);     // 커밋 지연/서버 간 시계 차이만큼 겹쳐서 조회
+        long afterId = 0L;
+        int indexed = 0;
+        List<Object[]> rows;
+        do {
+            rows = productRepository.findSearchRowsUpdatedAfter(since, afterId, descriptionMaxChars, PageRequest.of(0, REBUILD_PAGE_SIZE));
+            for (Object[] row : rows) {
+                SearchRow product = SearchRow.of(row);
+                index(product.id(), product.name(), product.category(), product.description());
+                since = product.updatedAt();
+                afterId = product.id();
+            }
+            indexed += rows.size();
+        } while (rows.size() == REBUILD_PAGE_SIZE);
+        caughtUpAt = startedAt;
+        if (indexed > 0) {
+            log.debug("상품 검색 색인 변경분 반영: {}개 상품", indexed);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {   // 상품 추가/수정/삭제 커밋 후 색인 반영
+        if (event.isStockOnly() || event.isImageOnly()) {
+            return;     // 재고/이미지는 색인 대상이 아님
+        }
+        for (Long productId : event.getProductIds()) {
+            if (rebuilding) {
+                changedDuringRebuild.add(productId);
+            }
+            reindex(productId);
+        }
+    }
+
+    public void reindex(Long productId) {
+        productRepository.findById(productId).ifPresentOrElse(this::index, () -> remove(productId));
+    }
+
+    public void index(Product product) {    // 단일 상품 색인
+        index(product.getId(), product.getName(), product.getCategory(), product.getDescription());
+    }
+
+    private void index(Long productId, String name, Category category, String description) {
+        Map<String, Integer> terms = terms(name, category, description);
+        String matchName = matchName(name);
+        lock.writeLock().lock();
+        try {
+            segment.add(productId, matchName, category, terms);
+            if (segment.deletedCount > 1024 && segment.deletedCount > segment.docCount / 4) {
+                segment = segment.compact();    // 삭제된 문서가 많으면 압축
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long productId) {    // 단일 상품 색인 제거
+        lock.writeLock().lock();
+        try {
+            segment.remove(productId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<Long> search(String keyword, Category category) {  // 상품명에 검색어가 포함된 상품 ID (DB의 LOWER(name) LIKE '%검색어%'와 같은 결과, 관련도 순)
+        if (keyword == null || keyword.isEmpty()) {
+            return List.of();
+        }
+        String needle = keyword.toLowerCase(Locale.ROOT);
+        List<String> queryTerms = NgramTokenizer.queryTerms(keyword);
+
+        lock.readLock().lock();
+        try {
+            Segment seg = segment;
+            List<Hit> hits = new ArrayList<>();
+            if (queryTerms.isEmpty()) {     // 문자/숫자가 없는 검색어 (공백, 특수문자)는 토큰이 없으므로 전체 상품명 확인
+                for (int doc = 0; doc < seg.docCount; doc++) {
+                    if (matches(seg, doc, needle, category)) {
+                        hits.add(new Hit(seg.productIds[doc], 0));
+                    }
+                }
+            } else {
+                List<Term> terms = new ArrayList<>(queryTerms.size());
+                for (String term : queryTerms) {
+                    PostingList postings = seg.postings.get(term);
+                    if (postings == null) {
+                        return List.of();   // 모든 토큰을 포함해야 후보
+                    }
+                    double idf = Math.log(1.0 + (double) seg.liveCount() / postings.size);
+                    terms.add(new Term(postings, idf));
+                }
+                terms.sort(Comparator.comparingInt(t -> t.postings.size));    // 가장 짧은 posting list 기준으로 교집합
+
+                int[] cursors = new int[terms.size()];
+                PostingList smallest = terms.get(0).postings;
+                candidates:
+                for (int i = 0; i < smallest.size; i++) {
+                    int doc = smallest.docs[i];
+                    if (!matches(seg, doc, needle, category)) {     // 2-gram 교집합은 후보일 뿐이므로 상품명 부분 문자열로 확정
+                        continue;
+                    }
+                    double score = smallest.weights[i] * terms.get(0).idf;
+                    for (int t = 1; t < terms.size(); t++) {
+                        PostingList postings = terms.get(t).postings;
+                        int pos = postings.seek(cursors[t], doc);
+                        cursors[t] = pos;
+                        if (pos >= postings.size || postings.docs[pos] != doc) {
+                            continue candidates;
+                        }
+                        score += postings.weights[pos] * terms.get(t).idf;
+                    }
+                    hits.add(new Hit(seg.productIds[doc], score));
+                }
+            }
+
+            hits.sort(Comparator.comparingDouble(Hit::score).reversed().thenComparingLong(Hit::productId));
+            return hits.stream().map(Hit::productId).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static boolean matches(Segment seg, int doc, String needle, Category category) {
+        return !seg.deleted.get(doc)
+                && (category == null || seg.categories[doc] == category)
+                && seg.names[doc] != null && seg.names[doc].contains(needle);
+    }
+
+    private static String matchName(String name) {     // 부분 문자열 확인용 상품명 (DB 검색과 같이 소문자 변환만)
+        return name == null ? "" : name.toLowerCase(Locale.ROOT);
+    }
+
+    private Map<String, Integer> terms(String name, Category category, String description) {
+        Map<String, Integer> terms = new HashMap<>();
+        NgramTokenizer.index(name, NAME_WEIGHT, Integer.MAX_VALUE, terms);
+        if (category != null) {
+            NgramTokenizer.index(category.name(), CATEGORY_WEIGHT, Integer.MAX_VALUE, terms);
+        }
+        NgramTokenizer.index(description, DESCRIPTION_WEIGHT, descriptionMaxChars, terms);
+        return terms;
+    }
+
+    private record SearchRow(Long id, String name, Category category, String description, LocalDateTime updatedAt) {   // 색인용 조회 결과 (id, name, category, description 앞부분, updatedAt)
+        static SearchRow of(Object[] row) {
+            return new SearchRow((Long) row[0], (String) row[1], (Category) row[2], (String) row[3], (LocalDateTime) row[4]);
+        }
+    }
+
+    private record Term(PostingList postings, double idf) {
+    }
+
+    private record Hit(long productId, double score) {
+    }
+
+    private static final class PostingList {    // 문서 번호 오름차순 posting list
+        private int[] docs = new int[4];
+        private int[] weights = new int[4];
+        private int size;
+
+        void add(int doc, int weight) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            docs[size] = doc;
+            weights[size] = weight;
+            size++;
+        }
+
+        int seek(int from, int doc) {   // doc 이상인 첫 위치
+            int pos = Arrays.binarySearch(docs, from, size, doc);
+            return pos >= 0 ? pos : -pos - 1;
+        }
+    }
+
+    private static final class Segment {
+        private final Map<String, PostingList> postings = new HashMap<>();
+        private final Map<Long, Integer> docByProductId = new HashMap<>();
+        private final BitSet deleted = new BitSet();
+        private long[] productIds = new long[1024];
+        private Category[] categories = new Category[1024];
+        private String[] names = new String[1024];
+        private int docCount;
+        private int deletedCount;
+
+        void add(Long productId, String name, Category category, Map<String, Integer> terms) {
+            remove(productId);
+            int doc = docCount++;
+            if (doc == productIds.length) {
+                productIds = Arrays.copyOf(productIds, doc * 2);
+                categories = Arrays.copyOf(categories, doc * 2);
+                names = Arrays.copyOf(names, doc * 2);
+            }
+            productIds[doc] = productId;
+            categories[doc] = category;
+            names[doc] = name;
+            docByProductId.put(productId, doc);
+            terms.forEach((term, weight) -> postings.computeIfAbsent(term, t -> new PostingList()).add(doc, weight));
+        }
+
+        void remove(Long productId) {
+            Integer doc = docByProductId.remove(productId);
+            if (doc != null) {
+                deleted.set(doc);
+                names[doc] = null;
+                deletedCount++;
+            }
+        }
+
+        int liveCount() {
+            return docCount - deletedCount;
+        }
+
+        Segment compact() {     // 삭제된 문서를 제거하고 문서 번호 재할당
+            int[] remap = new int[docCount];
+            Segment compacted = new Segment();
+            for (int doc = 0; doc < docCount; doc++) {
+                if (deleted.get(doc)) {
+                    remap[doc] = -1;
+                    continue;
+                }
+                int newDoc = compacted.docCount++;
+                if (newDoc == compacted.productIds.length) {
+                    compacted.productIds = Arrays.copyOf(compacted.productIds, newDoc * 2);
+                    compacted.categories = Arrays.copyOf(compacted.categories, newDoc * 2);
+                    compacted.names = Arrays.copyOf(compacted.names, newDoc * 2);
+                }
+                compacted.productIds[newDoc] = productIds[doc];
+                compacted.categories[newDoc] = categories[doc];
+                compacted.names[newDoc] = names[doc];
+                compacted.docByProductId.put(productIds[doc], newDoc);
+                remap[doc] = newDoc;
+            }
+            postings.forEach((term, list) -> {
+                PostingList filtered = new PostingList();
+                for (int i = 0; i < list.size; i++) {
+                    int newDoc = remap[list.docs[i]];
+                    if (newDoc >= 0) {
+                        filtered.add(newDoc, list.weights[i]);
+                    }
+                }
+                if (filtered.size > 0) {
+                    compacted.postings.put(term, filtered);
+                }
+            });
+            return compacted;
+        }
+    }
+}
@@ -1,40 +1,65 @@
 package com.example.project.security;
-import lombok.Getter;
 
+import org.springframework.security.core.CredentialsContainer;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import com.example.project.model.User;
 
-import java.util.Collections;
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInput;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutput;
+import java.io.Serial;
 import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 
-@Getter
-public class CustomUserDetails implements UserDetails {
-    private final User user;
+public final class CustomUserDetails implements UserDetails, CredentialsContainer {   // 세션에 저장되는 로그인 사용자 정보 (User 엔티티 대신 필요한 값만 보관)
+    private final Long userId;
+    private final String username;
+    private final User.Role role;
+    private final boolean enabled;
+    private final List<GrantedAuthority> authorities;
+    private transient String password;      // 로그인 인증 시에만 사용, 인증 후 삭제
 
-    public CustomUserDetails(User user) {
-        this.user = user;
+    public CustomUserDetails(Long userId, String username, User.Role role, boolean enabled, String password) {
+        this.userId = userId;
+        this.username = username;
+        this.role = role;
+        this.enabled = enabled;
+        this.password = password;
+        this.authorities = List.of(new SimpleGrantedAuthority("ROLE_" + role.name()));
+    }
+
+    public static CustomUserDetails from(User user) {
+        return new CustomUserDetails(user.getId(), user.getUsername(), user.getRole(), user.isEnabled(), user.getPassword());
     }
 
     public Long getUserId() {   // 유저 ID 반환
-        return user.getId();
+        return userId;
+    }
+
+    public User.Role getRole() {
+        return role;
     }
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {    // 권한 반환 (ROLE_USER, ROLE_ADMIN 등)
-        return Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + user.getRole().name()));
+        return authorities;
     }
 
     @Override
     public String getPassword() {   // 비밀번호 반환
-        return user.getPassword();
+        return password;
     }
 
     @Override
     public String getUsername() {   // 아이디 반환
-        return user.getUsername();
+        return username;
     }
 
     @Override
@@ -54,7 +79,12 @@ public class CustomUserDetails implements UserDetails {
 
     @Override
     public boolean isEnabled() {    // 계정 활성화 여부
-        return true;
+        return enabled;
+    }
+
+    @Override
+    public void eraseCredentials() {    // 인증 완료 후 비밀번호 제거
+        password = null;
     }
 
     public boolean hasRole(String role) {
@@ -66,4 +96,71 @@ public class CustomUserDetails implements UserDetails {
         }
         return false;
     }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof CustomUserDetails other && Objects.equals(userId, other.userId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(userId);
+    }
+
+    @Override
+    public String toString() {
+        return "CustomUserDetails[userId=" + userId + ", username=" + username + ", role=" + role + "]";
+    }
+
+    @Serial
+    private Object writeReplace() {     // 직렬화는 SerializedForm으로 대체
+        return new SerializedForm(this);
+    }
+
+    @Serial
+    private void readObject(ObjectInputStream in) throws InvalidObjectException {
+        throw new InvalidObjectException("SerializedForm을 통해서만 역직렬화할 수 있습니다.");
+    }
+
+    static final class SerializedForm implements Externalizable {   // 세션 저장용 직렬화 형식 (버전 + id + 아이디 + 권한 + 활성화 여부)
+        private static final byte VERSION = 1;
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private CustomUserDetails principal;
+
+        public SerializedForm() {
+        }
+
+        SerializedForm(CustomUserDetails principal) {
+            this.principal = principal;
+        }
+
+        @Override
+        public void writeExternal(ObjectOutput out) throws IOException {
+            out.writeByte(VERSION);
+            out.writeLong(principal.userId);
+            out.writeUTF(principal.username);
+            out.writeUTF(principal.role.name());
+            out.writeBoolean(principal.enabled);
+        }
+
+        @Override
+        public void readExternal(ObjectInput in) throws IOException {
+            byte version = in.readByte();
+            if (version != VERSION) {
+                throw new InvalidObjectException("지원하지 않는 세션 사용자 정보 버전입니다: " + version);
+            }
+            long userId = in.readLong();
+            String username = in.readUTF();
+            User.Role role = User.Role.valueOf(in.readUTF());
+            boolean enabled = in.readBoolean();
+            principal = new CustomUserDetails(userId, username, role, enabled, null);
+        }
+
+        @Serial
+        private Object readResolve() {
+            return principal;
+        }
+    }
 }
@@ -4,6 +4,7 @@ import com.example.project.model.User;
 import com.example.project.repository.UserRepository;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -12,12 +13,13 @@ import org.springframework.stereotype.Service;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class CustomUserDetailsService implements UserDetailsService {
     private final UserRepository userRepository;
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {   // 아이디로 유저 찾기
-        System.out.println("Loading user by username: " + username);
+        log.debug("Loading user by username: {}", username);
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("사용자를 찾을 수 없습니다."));
 
@@ -26,6 +28,12 @@ public class CustomUserDetailsService implements UserDetailsService {
         }
                 
          // ✅ Spring Security의 UserDetails 객체 생성 (권한 추가)
-        return new CustomUserDetails(user);
+        return CustomUserDetails.from(user);
+    }
+
+    public CustomUserDetails loadPrincipalById(Long userId) {   // 세션 사용자 정보 갱신용 (비밀번호 제외)
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new UsernameNotFoundException("사용자를 찾을 수 없습니다."));
+        return new CustomUserDetails(user.getId(), user.getUsername(), user.getRole(), user.isEnabled(), null);
     }
 }
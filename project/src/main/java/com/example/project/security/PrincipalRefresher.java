@@ -0,0 +1,44 @@
+package com.example.project.security;
+
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import lombok.RequiredArgsConstructor;
+
+import com.example.project.event.UserProfileChangedEvent;
+
+@Component
+@RequiredArgsConstructor
+public class PrincipalRefresher {  // 회원 정보 변경 커밋 후 현재 세션의 로그인 사용자 정보 갱신
+    private final CustomUserDetailsService customUserDetailsService;
+    private final HttpSessionSecurityContextRepository securityContextRepository = new HttpSessionSecurityContextRepository();
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserProfileChanged(UserProfileChangedEvent event) {
+        SecurityContext context = SecurityContextHolder.getContext();
+        Authentication current = context.getAuthentication();
+        if (current == null || !(current.getPrincipal() instanceof CustomUserDetails principal)
+                || !principal.getUserId().equals(event.getUserId())) {
+            return;     // 본인 요청이 아닌 경우 (관리자 수정 등)
+        }
+
+        CustomUserDetails refreshed = customUserDetailsService.loadPrincipalById(event.getUserId());
+        UsernamePasswordAuthenticationToken authentication =
+                UsernamePasswordAuthenticationToken.authenticated(refreshed, null, refreshed.getAuthorities());
+        authentication.setDetails(current.getDetails());
+        context.setAuthentication(authentication);
+
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes
+                && attributes.getResponse() != null && attributes.getRequest().getSession(false) != null) {    // 토큰 인증 요청은 세션이 없으므로 저장하지 않음
+            securityContextRepository.saveContext(context, attributes.getRequest(), attributes.getResponse());   // 세션에 다시 저장 (외부 세션 저장소 반영)
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.project.security;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+import java.io.IOException;
+
+@RequiredArgsConstructor
+public class TokenAuthenticationFilter extends OncePerRequestFilter {  // Authorization: Bearer 토큰으로 인증 (DB/세션 조회 없음)
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final TokenService tokenService;
+    private final TokenRevocationList revocationList;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header != null && header.startsWith(BEARER_PREFIX)) {
+            try {
+                TokenService.TokenClaims claims = tokenService.verify(header.substring(BEARER_PREFIX.length()), TokenService.TokenType.ACCESS);
+                if (!revocationList.isRevoked(claims.tokenId())) {
+                    CustomUserDetails principal = claims.toPrincipal();
+                    SecurityContext context = SecurityContextHolder.createEmptyContext();
+                    context.setAuthentication(UsernamePasswordAuthenticationToken.authenticated(principal, null, principal.getAuthorities()));
+                    SecurityContextHolder.setContext(context);
+                }
+            } catch (IllegalArgumentException e) {
+                // 유효하지 않은 토큰은 인증되지 않은 요청으로 처리 (보호된 경로는 401)
+            }
+        }
+        chain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.project.security;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import lombok.RequiredArgsConstructor;
+
+import com.example.project.repository.RevokedTokenRepository;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+@RequiredArgsConstructor
+public class TokenRevocationList {     // 폐기된 토큰 ID 목록 (수명이 짧은 액세스 토큰은 서버 메모리, 리프레시 토큰은 DB에 만료 시각까지 보관)
+    private final ConcurrentHashMap<String, Instant> revoked = new ConcurrentHashMap<>();
+    private final RevokedTokenRepository revokedTokenRepository;
+
+    @Transactional
+    public void revoke(TokenService.TokenClaims claims) {
+        if (claims.type() == TokenService.TokenType.REFRESH) {
+            revokeRefresh(claims);
+            return;
+        }
+        revoked.put(claims.tokenId(), claims.expiresAt());
+    }
+
+    @Transactional
+    public boolean revokeRefresh(TokenService.TokenClaims claims) {    // 리프레시 토큰 폐기, 이미 폐기된 토큰이면 false (여러 서버에서 같은 토큰으로 동시에 갱신해도 하나만 성공)
+        return revokedTokenRepository.revoke(claims.tokenId(), claims.userId(), toLocalDateTime(claims.expiresAt())) > 0;
+    }
+
+    public boolean isRevoked(String tokenId) {     // 액세스 토큰 폐기 여부 (요청마다 확인하므로 DB 조회 없음)
+        return revoked.containsKey(tokenId);
+    }
+
+    public int size() {
+        return revoked.size();
+    }
+
+    @Scheduled(fixedDelay = 60000)
+    @Transactional
+    public void removeExpired() {   // 이미 만료된 토큰은 검증 단계에서 거부되므로 목록에서 제거
+        Instant now = Instant.now();
+        revoked.values().removeIf(expiresAt -> expiresAt.isBefore(now));
+        revokedTokenRepository.deleteExpired(toLocalDateTime(now));
+    }
+
+    private static LocalDateTime toLocalDateTime(Instant instant) {
+        return LocalDateTime.ofInstant(instant, ZoneId.systemDefault());
+    }
+}
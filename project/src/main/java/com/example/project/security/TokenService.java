@@ -0,0 +1,129 @@
+package com.example.project.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+import com.example.project.model.User;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+@Component
+@Slf4j
+public class TokenService {    // HMAC-SHA256 서명 토큰 발급/검증 (DB 조회 없이 사용자 ID와 권한 확인)
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    public enum TokenType {
+        ACCESS,
+        REFRESH
+    }
+
+    public record TokenClaims(TokenType type, Long userId, String username, User.Role role, Instant expiresAt, String tokenId) {
+        public CustomUserDetails toPrincipal() {
+            return new CustomUserDetails(userId, username, role, true, null);
+        }
+    }
+
+    public record TokenPair(String accessToken, String refreshToken, long expiresIn) {
+    }
+
+    private final byte[] secret;
+    private final boolean secretConfigured;
+    private final Duration accessTtl;
+    private final Duration refreshTtl;
+
+    public TokenService(@Value("${app.auth.token.secret:}") String secret,
+                        @Value("${app.auth.token.access-ttl-seconds:900}") long accessTtlSeconds,
+                        @Value("${app.auth.token.refresh-ttl-seconds:1209600}") long refreshTtlSeconds) {
+        if (secret == null || secret.isBlank()) {   // 서버별 임의 키: 재시작하거나 다른 서버로 요청이 가면 토큰이 무효가 됨
+            byte[] random = new byte[32];
+            new SecureRandom().nextBytes(random);
+            this.secret = random;
+            this.secretConfigured = false;
+            log.warn("app.auth.token.secret이 설정되지 않아 임의의 서명 키를 사용합니다.");
+        } else {
+            this.secret = secret.getBytes(StandardCharsets.UTF_8);
+            this.secretConfigured = true;
+        }
+        this.accessTtl = Duration.ofSeconds(accessTtlSeconds);
+        this.refreshTtl = Duration.ofSeconds(refreshTtlSeconds);
+    }
+
+    public boolean isSecretConfigured() {   // 모든 서버가 같은 서명 키를 쓰는지 (임의 키면 false)
+        return secretConfigured;
+    }
+
+    public TokenPair issue(CustomUserDetails principal) {  // 액세스 토큰 + 리프레시 토큰 발급
+        Instant now = Instant.now();
+        String accessToken = sign(TokenType.ACCESS, principal, now.plus(accessTtl));
+        String refreshToken = sign(TokenType.REFRESH, principal, now.plus(refreshTtl));
+        return new TokenPair(accessToken, refreshToken, accessTtl.getSeconds());
+    }
+
+    public TokenClaims verify(String token, TokenType expectedType) {   // 서명/만료/종류 검증
+        int dot = token == null ? -1 : token.lastIndexOf('.');
+        if (dot <= 0) {
+            throw new IllegalArgumentException("잘못된 토큰입니다.");
+        }
+        byte[] payload;
+        byte[] signature;
+        try {
+            payload = DECODER.decode(token.substring(0, dot));
+            signature = DECODER.decode(token.substring(dot + 1));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("잘못된 토큰입니다.");
+        }
+        if (!MessageDigest.isEqual(mac(payload), signature)) {
+            throw new IllegalArgumentException("토큰 서명이 올바르지 않습니다.");
+        }
+
+        // 형식: 종류|사용자ID|권한|만료시각(초)|토큰ID|아이디
+        String[] fields = new String(payload, StandardCharsets.UTF_8).split("\\|", 6);
+        if (fields.length != 6) {
+            throw new IllegalArgumentException("잘못된 토큰입니다.");
+        }
+        TokenClaims claims;
+        try {
+            claims = new TokenClaims(TokenType.valueOf(fields[0]), Long.parseLong(fields[1]), fields[5],
+                    User.Role.valueOf(fields[2]), Instant.ofEpochSecond(Long.parseLong(fields[3])), fields[4]);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("잘못된 토큰입니다.");
+        }
+        if (claims.type() != expectedType) {
+            throw new IllegalArgumentException("토큰 종류가 올바르지 않습니다.");
+        }
+        if (!claims.expiresAt().isAfter(Instant.now())) {
+            throw new IllegalArgumentException("만료된 토큰입니다.");
+        }
+        return claims;
+    }
+
+    private String sign(TokenType type, CustomUserDetails principal, Instant expiresAt) {
+        String payload = type.name() + "|" + principal.getUserId() + "|" + principal.getRole().name() + "|"
+                + expiresAt.getEpochSecond() + "|" + UUID.randomUUID() + "|" + principal.getUsername();
+        byte[] bytes = payload.getBytes(StandardCharsets.UTF_8);
+        return ENCODER.encodeToString(bytes) + "." + ENCODER.encodeToString(mac(bytes));
+    }
+
+    private byte[] mac(byte[] payload) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(new SecretKeySpec(secret, ALGORITHM));
+            return mac.doFinal(payload);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("토큰 서명 중 오류가 발생했습니다.", e);
+        }
+    }
+}
@@ -1,86 +1,168 @@
 package com.example.project.service;
 
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import lombok.RequiredArgsConstructor;
 
+import com.example.project.cache.ProductCache;
+import com.example.project.cart.CartStore;
 import com.example.project.dto.CartItemDTO;
+import com.example.project.dto.ProductDTO;
 import com.example.project.model.CartItem;
-import com.example.project.model.Product;
-import com.example.project.model.User;
 import com.example.project.repository.CartItemRepository;
-import com.example.project.repository.ProductRepository;
-import com.example.project.repository.UserRepository;
 
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.ArrayList;
 import java.util.List;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class CartItemService {
-    private final CartItemRepository cartItemRepository;
-    private final UserRepository userRepository;
-    private final ProductRepository productRepository;
+    // 없으면 추가, 있으면 상한 이내일 때만 수량 증가 (증가한 경우 결과 수량을 LAST_INSERT_ID로 반환, 상한 초과 시 0)
+    // 추가된 경우 드라이버가 돌려주는 키는 새 행의 AUTO_INCREMENT ID이므로 영향받은 행 수로 구분 (추가 1, 증가 2)
+    private static final String UPSERT_SQL = "INSERT INTO cart_item (user_id, product_id, quantity) VALUES (?, ?, LAST_INSERT_ID(?)) " +
+            "ON DUPLICATE KEY UPDATE quantity = IF(quantity + VALUES(quantity) <= ?, LAST_INSERT_ID(quantity + VALUES(quantity)), quantity + LAST_INSERT_ID(0))";
+    private static final int UPSERT_ATTEMPTS = 3;
 
-    public void addCartItem(Long userId, Long productId, int quantity) {    // 장바구니 추가
-        User user = userRepository.findById(userId).orElseThrow(() -> new IllegalArgumentException("유저를 찾을 수 없습니다."));
-        Product product = productRepository.findById(productId).orElseThrow(() -> new IllegalArgumentException("해당 상품을 찾을 수 없습니다."));
-        CartItem cartItem = cartItemRepository.findByUserIdAndProductId(userId, productId);
+    private final CartItemRepository cartItemRepository;
+    private final CartStore cartStore;
+    private final ProductCache productCache;
+    private final JdbcTemplate jdbcTemplate;
 
-        int current = (cartItem == null) ? 0 : cartItem.getQuantity();
-        if (current + quantity > 10) {
-            throw new IllegalArgumentException("장바구니 수량 제한을 초과합니다. 최대 10개까지 가능합니다.");
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int addCartItem(Long userId, Long productId, int quantity) {    // 장바구니 추가 후 담긴 수량 반환 (DB 경로는 자동 커밋 문장 하나)
+        if (quantity < 1 || quantity > CartStore.MAX_QUANTITY) {
+            throw new IllegalArgumentException("수량은 1 이상 " + CartStore.MAX_QUANTITY + " 이하여야 합니다.");
         }
+        if (cartStore.isEnabled()) {
+            productCache.get(productId);    // 상품 존재 확인 (캐시)
+            return cartStore.mutate(userId, cart -> cart.add(productId, quantity));
+        }
+        return upsert(userId, productId, quantity);
+    }
 
-        if (cartItem != null) {
-            cartItem.setQuantity(cartItem.getQuantity() + quantity);
+    private int upsert(Long userId, Long productId, int quantity) {    // 문장 하나로 추가/증가 (유니크 인덱스로 동시 요청도 행 하나에 합산)
+        KeyHolder result = new GeneratedKeyHolder();
+        int updated;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                updated = jdbcTemplate.update(connection -> {
+                    PreparedStatement statement = connection.prepareStatement(UPSERT_SQL, Statement.RETURN_GENERATED_KEYS);
+                    statement.setLong(1, userId);
+                    statement.setLong(2, productId);
+                    statement.setInt(3, quantity);
+                    statement.setInt(4, CartStore.MAX_QUANTITY);
+                    return statement;
+                }, result);
+                break;
+            } catch (DataIntegrityViolationException e) {
+                throw new IllegalArgumentException("해당 상품을 찾을 수 없습니다.");   // 상품/유저 외래 키 위반
+            } catch (PessimisticLockingFailureException e) {
+                if (attempt >= UPSERT_ATTEMPTS) {   // 같은 키를 처음 추가하는 요청끼리 교착 상태가 나면 재시도
+                    throw e;
+                }
+                result.getKeyList().clear();
+            }
         }
-        else {
-            cartItem = CartItem.builder()
-                .product(product)
-                .user(user)
-                .quantity(quantity)
-                .build();
+        Number key = result.getKeyList().isEmpty() ? null : (Number) result.getKeyList().get(0).values().iterator().next();
+        if (updated == 1 && key != null && key.longValue() != 0) {
+            return quantity;    // 새 행 추가
         }
-        cartItemRepository.save(cartItem);
+        if (updated == 2 && key != null && key.intValue() != 0) {
+            return key.intValue();  // 기존 행 수량 증가 (키 = 증가 후 수량)
+        }
+        throw new IllegalArgumentException("장바구니 수량 제한을 초과합니다. 최대 " + CartStore.MAX_QUANTITY + "개까지 가능합니다.");    // 변경 없음 (드라이버 설정에 따라 0 또는 1행, 키 0)
     }
 
     @Transactional(readOnly = true)
-    public List<CartItem> getCartItemsByUserId(Long userId) {   // 장바구니 조회
+    public List<CartItem> getCartItemsByUserId(Long userId) {   // 장바구니 조회 (메모리 장바구니 사용 시 flush 후 호출)
         return cartItemRepository.findByUserId(userId);
     }
 
+    public void flush(Long userId) {   // 메모리 장바구니의 변경분을 DB에 즉시 반영 (주문 생성 전)
+        cartStore.flush(userId);
+    }
+
     @Transactional(readOnly = true)
     public List<CartItemDTO> getCartItemDTOsByUserId(Long userId) {  // 장바구니 DTO 반환
-        List<CartItemDTO> cartItems = cartItemRepository.findDTOByUserId(userId);
+        if (!cartStore.isEnabled()) {
+            return cartItemRepository.findDTOByUserId(userId);
+        }
+        List<CartStore.Line> lines = cartStore.read(userId, CartStore.Cart::lines);
+        List<CartItemDTO> cartItems = new ArrayList<>(lines.size());
+        List<Long> missing = new ArrayList<>();
+        for (CartStore.Line line : lines) {
+            ProductDTO product;
+            try {
+                product = productCache.get(line.getProductId());
+            } catch (IllegalArgumentException e) {
+                missing.add(line.getProductId());   // 삭제된 상품
+                continue;
+            }
+            cartItems.add(new CartItemDTO(line.getId(), product.getId(), product.getName(), product.getImageUrl(),
+                    product.isImageVariantsReady(), product.getPrice(), line.getQuantity()));
+        }
+        if (!missing.isEmpty()) {
+            cartStore.mutate(userId, cart -> { missing.forEach(cart::remove); return null; });
+        }
         return cartItems;
     }
 
-    public void updateCartItem(Long id, int change) {   // 장바구니 수량 변경
-        CartItem cartItem = findById(id);
+    public void updateCartItem(Long userId, Long id, int change) {   // 장바구니 수량 변경 (본인 장바구니 항목만)
+        if (cartStore.isEnabled()) {
+            cartStore.mutate(userId, cart -> {
+                CartStore.Line line = cart.findById(id);
+                if (line == null) {
+                    throw new AccessDeniedException("권한이 없습니다. 해당 장바구니 상품을 수정할 수 없습니다.");
+                }
+                cart.change(line, change);
+                return null;
+            });
+            return;
+        }
+        CartItem cartItem = cartItemRepository.findById(id).orElseThrow(() -> new IllegalArgumentException("장바구니가 비어있습니다."));
+        if (!cartItem.getUser().getId().equals(userId)) {
+            throw new AccessDeniedException("권한이 없습니다. 해당 장바구니 상품을 수정할 수 없습니다.");
+        }
         int newQuantity = cartItem.getQuantity() + change;
         if (newQuantity < 1) {
             throw new IllegalArgumentException("수량은 1 이상이어야 합니다.");
-        } else if (newQuantity > 10) {
+        } else if (newQuantity > CartStore.MAX_QUANTITY) {
             throw new IllegalArgumentException("수량은 10 이하여야 합니다.");
         }
         cartItem.setQuantity(newQuantity);
         cartItemRepository.save(cartItem);
     }
 
-    public void deleteAllCartItemsByUserId(Long userid) {   // 장바구니 비우기
+    public void deleteAllCartItemsByUserId(Long userid) {   // 장바구니 비우기 (결제 완료 시에는 커밋 후 비움)
+        if (cartStore.isEnabled()) {
+            cartStore.clearAfterCommit(userid);
+            return;
+        }
         cartItemRepository.deleteByUserId(userid);
     }
 
     public void deleteCartItemByProductId(Long userId, Long productId) {    // 장바구니에서 특정 상품 삭제
+        if (cartStore.isEnabled()) {
+            boolean removed = cartStore.mutate(userId, cart -> cart.remove(productId));
+            if (!removed) {
+                throw new IllegalArgumentException("장바구니에 해당 상품이 없습니다.");
+            }
+            return;
+        }
         CartItem cartItem = cartItemRepository.findByUserIdAndProductId(userId, productId);
         if (cartItem == null) {
             throw new IllegalArgumentException("장바구니에 해당 상품이 없습니다.");
         }
         cartItemRepository.delete(cartItem);
     }
-
-    public CartItem findById(Long id) {  // 장바구니 아이템 찾기
-        return cartItemRepository.findById(id).orElseThrow(() -> new IllegalArgumentException("장바구니가 비어있습니다."));
-    }
 }
@@ -0,0 +1,132 @@
+package com.example.project.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+import com.example.project.model.EmailOutbox;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+@Component
+@Slf4j
+public class EmailOutboxDispatcher {   // 발송 대기 메일을 배치 단위로 하나의 SMTP 연결을 재사용해 발송
+    private final EmailOutboxService emailOutboxService;
+    private final JavaMailSender mailSender;
+    private final int batchSize;
+    private final int maxBatches;
+    private final Duration lease;
+
+    private final LongAdder sentCount = new LongAdder();
+    private final LongAdder failedAttempts = new LongAdder();
+    private final LongAdder batchCount = new LongAdder();
+    private final AtomicLong lastBatchMillis = new AtomicLong();
+    private final AtomicLong sendNanos = new AtomicLong();
+
+    public EmailOutboxDispatcher(EmailOutboxService emailOutboxService,
+                                 JavaMailSender mailSender,
+                                 @Value("${app.mail.outbox.batch-size:50}") int batchSize,
+                                 @Value("${app.mail.outbox.max-batches:10}") int maxBatches,
+                                 @Value("${app.mail.outbox.lease-seconds:120}") long leaseSeconds) {
+        this.emailOutboxService = emailOutboxService;
+        this.mailSender = mailSender;
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+        this.lease = Duration.ofSeconds(leaseSeconds);
+    }
+
+    @Scheduled(fixedDelayString = "${app.mail.outbox.poll-interval-ms:2000}")
+    public int dispatch() {     // 발송 대상이 없거나 배치 한도에 도달할 때까지 발송, 발송 성공 건수 반환
+        int sent = 0;
+        for (int i = 0; i < maxBatches; i++) {
+            List<EmailOutbox> batch = emailOutboxService.claimBatch(batchSize, lease);
+            if (batch.isEmpty()) {
+                break;
+            }
+            sent += deliver(batch);
+            if (batch.size() < batchSize) {
+                break;
+            }
+        }
+        return sent;
+    }
+
+    private int deliver(List<EmailOutbox> batch) {
+        Map<SimpleMailMessage, Long> ids = new IdentityHashMap<>();
+        SimpleMailMessage[] messages = new SimpleMailMessage[batch.size()];
+        for (int i = 0; i < batch.size(); i++) {
+            EmailOutbox outbox = batch.get(i);
+            SimpleMailMessage message = new SimpleMailMessage();
+            message.setTo(outbox.getRecipient());
+            message.setSubject(outbox.getSubject());
+            message.setText(outbox.getBody());
+            messages[i] = message;
+            ids.put(message, outbox.getId());
+        }
+
+        Map<Long, String> failures = new HashMap<>();
+        long start = System.nanoTime();
+        try {
+            mailSender.send(messages);      // JavaMailSender는 배열 전송 시 하나의 SMTP 연결을 사용
+        } catch (MailSendException e) {
+            e.getFailedMessages().forEach((message, cause) -> {
+                Long id = ids.get(message);
+                if (id != null) {
+                    failures.put(id, cause.getMessage());
+                }
+            });
+            if (failures.isEmpty()) {
+                ids.values().forEach(id -> failures.put(id, e.getMessage()));
+            }
+        } catch (MailException e) {     // 연결/인증 실패 등 배치 전체 실패
+            ids.values().forEach(id -> failures.put(id, e.getMessage()));
+        }
+        long elapsed = System.nanoTime() - start;
+
+        List<Long> sentIds = new ArrayList<>();
+        for (Long id : ids.values()) {
+            if (!failures.containsKey(id)) {
+                sentIds.add(id);
+            }
+        }
+        emailOutboxService.complete(sentIds, failures);
+
+        sentCount.add(sentIds.size());
+        failedAttempts.add(failures.size());
+        batchCount.increment();
+        sendNanos.addAndGet(elapsed);
+        lastBatchMillis.set(elapsed / 1_000_000);
+        if (!failures.isEmpty()) {
+            log.warn("메일 {}건 발송 실패, 재시도 예정", failures.size());
+        }
+        return sentIds.size();
+    }
+
+    public Map<String, Object> stats() {   // 발송/실패/처리량 통계
+        long sent = sentCount.sum();
+        double seconds = sendNanos.get() / 1_000_000_000.0;
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("sentCount", sent);
+        summary.put("failedAttempts", failedAttempts.sum());
+        summary.put("batchCount", batchCount.sum());
+        summary.put("lastBatchMillis", lastBatchMillis.get());
+        summary.put("messagesPerSecond", seconds == 0 ? 0.0 : sent / seconds);
+        summary.put("pending", emailOutboxService.countByStatus(EmailOutbox.Status.PENDING));
+        summary.put("failed", emailOutboxService.countByStatus(EmailOutbox.Status.FAILED));
+        return summary;
+    }
+}
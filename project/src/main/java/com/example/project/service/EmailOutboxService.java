@@ -0,0 +1,100 @@
+package com.example.project.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.project.model.EmailOutbox;
+import com.example.project.repository.EmailOutboxRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@Transactional
+public class EmailOutboxService {  // 메일 발송 대기열 저장/점유/결과 반영
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final int maxAttempts;
+    private final Duration baseBackoff;
+    private final Duration maxBackoff;
+
+    public EmailOutboxService(EmailOutboxRepository emailOutboxRepository,
+                              @Value("${app.mail.outbox.max-attempts:5}") int maxAttempts,
+                              @Value("${app.mail.outbox.base-backoff-seconds:30}") long baseBackoffSeconds,
+                              @Value("${app.mail.outbox.max-backoff-seconds:3600}") long maxBackoffSeconds) {
+        this.emailOutboxRepository = emailOutboxRepository;
+        this.maxAttempts = maxAttempts;
+        this.baseBackoff = Duration.ofSeconds(baseBackoffSeconds);
+        this.maxBackoff = Duration.ofSeconds(maxBackoffSeconds);
+    }
+
+    public void enqueue(String to, String subject, String body) {  // 발송 대기 메일 저장
+        emailOutboxRepository.save(EmailOutbox.builder()
+                .recipient(to)
+                .subject(subject)
+                .body(body)
+                .status(EmailOutbox.Status.PENDING)
+                .nextAttemptAt(LocalDateTime.now())
+                .build());
+    }
+
+    public List<EmailOutbox> claimBatch(int limit, Duration lease) {   // 발송할 메일을 점유 (점유 시간 안에 결과가 반영되지 않으면 다시 발송 대상)
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> ids = emailOutboxRepository.lockDueIds(now, limit);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        List<EmailOutbox> batch = emailOutboxRepository.findAllById(ids);
+        for (EmailOutbox outbox : batch) {
+            outbox.setStatus(EmailOutbox.Status.SENDING);
+            outbox.setNextAttemptAt(now.plus(lease));
+        }
+        return batch;
+    }
+
+    public void complete(Collection<Long> sentIds, Map<Long, String> failures) {   // 발송 결과 반영 (실패 시 지수 백오프 후 재시도)
+        LocalDateTime now = LocalDateTime.now();
+        for (EmailOutbox outbox : emailOutboxRepository.findAllById(sentIds)) {
+            outbox.setStatus(EmailOutbox.Status.SENT);
+            outbox.setSentAt(now);
+            outbox.setAttempts(outbox.getAttempts() + 1);
+        }
+        for (EmailOutbox outbox : emailOutboxRepository.findAllById(failures.keySet())) {
+            int attempts = outbox.getAttempts() + 1;
+            outbox.setAttempts(attempts);
+            outbox.setLastError(truncate(failures.get(outbox.getId())));
+            if (attempts >= maxAttempts) {
+                outbox.setStatus(EmailOutbox.Status.FAILED);    // 재시도 한도 초과
+            } else {
+                outbox.setStatus(EmailOutbox.Status.PENDING);
+                outbox.setNextAttemptAt(now.plus(backoff(attempts)));
+            }
+        }
+    }
+
+    Duration backoff(int attempts) {    // 30초, 1분, 2분, 4분 ... (최대 1시간)
+        Duration delay = baseBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    @Transactional(readOnly = true)
+    public long countByStatus(EmailOutbox.Status status) {
+        return emailOutboxRepository.countByStatus(status);
+    }
+
+    @Scheduled(cron = "0 30 3 * * *")
+    public void purgeSent() {   // 발송 완료 후 7일이 지난 메일 삭제
+        emailOutboxRepository.deleteSentBefore(LocalDateTime.now().minusDays(7));
+    }
+
+    private static String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() > 500 ? message.substring(0, 500) : message;
+    }
+}
@@ -1,22 +1,17 @@
 package com.example.project.service;
 
 import org.springframework.stereotype.Service;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.transaction.annotation.Transactional;
+
+import lombok.RequiredArgsConstructor;
 
 @Service
+@RequiredArgsConstructor
 public class EmailService {
-    @Autowired
-    private JavaMailSender mailSender;
+    private final EmailOutboxService emailOutboxService;
 
-    @Async
-    public void sendVerificationEmail(String to, String link) {
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setTo(to);
-        message.setSubject("이메일 인증");
-        message.setText("다음 링크를 클릭하여 이메일 인증을 완료하세요:\n" + link);
-        mailSender.send(message);
+    @Transactional
+    public void sendVerificationEmail(String to, String link) {     // 인증 메일을 발송 대기열에 저장 (회원가입 트랜잭션과 함께 커밋, 실제 발송은 EmailOutboxDispatcher)
+        emailOutboxService.enqueue(to, "이메일 인증", "다음 링크를 클릭하여 이메일 인증을 완료하세요:\n" + link);
     }
 }
@@ -0,0 +1,138 @@
+package com.example.project.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.project.dto.OrderDTO;
+import com.example.project.dto.OrderItemDTO;
+import com.example.project.model.Order.OrderStatus;
+import com.example.project.repository.OrderRepository;
+import com.example.project.repository.ReviewRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+public class OrderHistoryExporter {    // 사용자 주문 내역 전체를 배치 단위로 읽어 바로 직렬화 (목록을 메모리에 모으지 않음)
+    private final OrderRepository orderRepository;
+    private final ReviewRepository reviewRepository;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter orderWriter;
+    private final TransactionTemplate readTemplate;
+    private final int batchSize;
+
+    public OrderHistoryExporter(OrderRepository orderRepository, ReviewRepository reviewRepository, ObjectMapper objectMapper,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${app.order.export.batch-size:100}") int batchSize) {
+        this.orderRepository = orderRepository;
+        this.reviewRepository = reviewRepository;
+        this.objectMapper = objectMapper;
+        this.orderWriter = objectMapper.writerFor(OrderDTO.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.readTemplate = new TransactionTemplate(transactionManager);
+        this.readTemplate.setReadOnly(true);
+        this.batchSize = batchSize;
+    }
+
+    private record Batch(List<Object[]> keys, List<Object[]> rows) {   // 주문 키(ID, 주문 일시)와 그 주문들의 항목 행
+    }
+
+    public int export(Long userId, OutputStream out, boolean ndjson) throws IOException {   // JSON 배열 또는 NDJSON(한 줄에 주문 하나)으로 출력, 주문 수 반환
+        Map<Long, Long> myReviewMap = new HashMap<>();
+        for (Object[] row : reviewRepository.findReviewIdsByUserId(userId)) {
+            myReviewMap.put((Long) row[0], (Long) row[1]);
+        }
+
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        if (ndjson) {
+            generator.setRootValueSeparator(new SerializedString("\n"));
+        } else {
+            generator.writeStartArray();
+        }
+
+        int written = 0;
+        Object[] last = null;
+        while (true) {
+            Object[] cursor = last;
+            Batch batch = readTemplate.execute(status -> readBatch(userId, cursor));   // 배치마다 짧은 트랜잭션, 클라이언트에 쓰는 동안은 커넥션을 잡지 않음
+            if (batch.keys().isEmpty()) {
+                break;
+            }
+            written += write(generator, userId, batch.rows(), myReviewMap);
+            generator.flush();  // 배치마다 클라이언트로 전송
+            if (batch.keys().size() < batchSize) {
+                break;
+            }
+            last = batch.keys().get(batch.keys().size() - 1);
+        }
+
+        if (ndjson) {
+            if (written > 0) {
+                generator.writeRaw('\n');
+            }
+        } else {
+            generator.writeEndArray();
+        }
+        generator.flush();
+        return written;
+    }
+
+    private Batch readBatch(Long userId, Object[] last) {
+        List<Object[]> keys = last == null
+                ? orderRepository.findOrderKeysByUserId(userId, PageRequest.of(0, batchSize))
+                : orderRepository.findOrderKeysByUserIdAfter(userId, (LocalDateTime) last[1], (Long) last[0], PageRequest.of(0, batchSize));
+        if (keys.isEmpty()) {
+            return new Batch(keys, List.of());
+        }
+        return new Batch(keys, orderRepository.findOrderRowsByOrderIds(keys.stream().map(key -> (Long) key[0]).toList()));
+    }
+
+    private int write(JsonGenerator generator, Long userId, List<Object[]> rows, Map<Long, Long> myReviewMap) throws IOException {
+        int written = 0;
+        OrderDTO current = null;
+        for (Object[] row : rows) {
+            Long orderId = (Long) row[0];
+            if (current == null || !current.getId().equals(orderId)) {     // 행이 주문 순으로 정렬되어 있으므로 주문이 바뀌면 이전 주문 출력
+                if (current != null) {
+                    orderWriter.writeValue(generator, current);
+                    written++;
+                }
+                current = OrderDTO.builder()
+                        .id(orderId)
+                        .userId(userId)
+                        .orderDate(((LocalDateTime) row[1]).toString())
+                        .status(((OrderStatus) row[2]).name())
+                        .totalPrice((Integer) row[3])
+                        .build();
+            }
+            Long productId = (Long) row[5];
+            current.getOrderItems().add(OrderItemDTO.builder()
+                    .id((Long) row[4])
+                    .orderId(orderId)
+                    .productId(productId)
+                    .productName((String) row[6])
+                    .imageUrl((String) row[7])
+                    .quantity((Integer) row[8])
+                    .price((Integer) row[9])
+                    .reviewId(myReviewMap.get(productId))
+                    .build());
+        }
+        if (current != null) {
+            orderWriter.writeValue(generator, current);
+            written++;
+        }
+        return written;
+    }
+}
@@ -0,0 +1,293 @@
+package com.example.project.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import lombok.extern.slf4j.Slf4j;
+
+import com.example.project.dto.CursorPageDTO;
+import com.example.project.dto.OrderDTO;
+import com.example.project.dto.OrderItemDTO;
+import com.example.project.event.OrderPaidEvent;
+import com.example.project.image.ImageStore;
+import com.example.project.model.Order;
+import com.example.project.model.Order.OrderStatus;
+import com.example.project.model.OrderHistory;
+import com.example.project.model.OrderItem;
+import com.example.project.repository.OrderHistoryRepository;
+import com.example.project.repository.OrderRepository;
+import com.example.project.repository.ReviewRepository;
+import com.example.project.util.CursorCodec;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+@Service
+@Slf4j
+public class OrderHistoryProjection {  // 마이페이지 주문 내역 읽기 모델 유지 (결제/취소/리뷰 변경 시 갱신, 조회는 인덱스 범위 조회 한 번)
+    private static final TypeReference<List<OrderItemDTO>> ITEMS_TYPE = new TypeReference<>() {};
+
+    private final OrderHistoryRepository orderHistoryRepository;
+    private final OrderRepository orderRepository;
+    private final ReviewRepository reviewRepository;
+    private final ImageStore imageStore;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    private final LongAdder recorded = new LongAdder();
+    private final LongAdder statusUpdated = new LongAdder();
+    private final LongAdder reviewUpdated = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private volatile boolean ready = false;
+    private volatile LocalDateTime lastCatchUpAt;
+
+    public OrderHistoryProjection(OrderHistoryRepository orderHistoryRepository,
+                                  OrderRepository orderRepository,
+                                  ReviewRepository reviewRepository,
+                                  ImageStore imageStore,
+                                  ObjectMapper objectMapper,
+                                  TransactionTemplate transactionTemplate,
+                                  @Value("${app.order.history.catch-up-batch-size:500}") int batchSize) {
+        this.orderHistoryRepository = orderHistoryRepository;
+        this.orderRepository = orderRepository;
+        this.reviewRepository = reviewRepository;
+        this.imageStore = imageStore;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onOrderPaid(OrderPaidEvent event) {    // 결제 완료 커밋 후 주문 내역 행 추가 (실패해도 시작 시 보정 작업이 채움)
+        try {
+            record(List.of(event.getOrderId()));
+        } catch (RuntimeException e) {
+            failed.increment();
+            log.warn("주문 내역 반영 실패: orderId={}, {}", event.getOrderId(), e.getMessage());
+        }
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void markCancelled(Long orderId) {   // 결제 완료 주문 취소 시 같은 트랜잭션에서 상태 변경
+        statusUpdated.add(orderHistoryRepository.updateStatus(orderId, OrderStatus.CANCELLED));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void updateReview(Long userId, Long productId, Long reviewId) {     // 리뷰 추가/삭제 시 해당 상품이 포함된 주문 내역의 리뷰 ID 갱신
+        for (OrderHistory row : orderHistoryRepository.findByUserIdAndProductIdsContaining(userId, "," + productId + ",")) {
+            List<OrderItemDTO> items = readItems(row);
+            items.stream()
+                    .filter(item -> productId.equals(item.getProductId()))
+                    .forEach(item -> item.setReviewId(reviewId));
+            row.setItemsJson(writeItems(items));
+            reviewUpdated.increment();
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public Page<OrderDTO> findPage(Long userId, Pageable pageable) {   // 결제 완료 주문 목록 (페이징)
+        return orderHistoryRepository.findByUserIdAndStatusOrderByOrderDateDescOrderIdDesc(userId, OrderStatus.PAID, pageable)
+                .map(this::toDTO);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageDTO<OrderDTO> scroll(Long userId, String after, int size) {   // 결제 완료 주문 목록 (커서 기반)
+        PageRequest limit = PageRequest.of(0, size + 1);    // 다음 페이지 존재 여부 확인용으로 1개 더 조회
+        List<OrderHistory> rows;
+        if (after == null || after.isBlank()) {
+            rows = orderHistoryRepository.findFirstPage(userId, OrderStatus.PAID, limit);
+        } else {
+            CursorCodec.TimeCursor cursor = CursorCodec.decodeTimeId(after);
+            rows = orderHistoryRepository.findPageAfter(userId, OrderStatus.PAID, cursor.time(), cursor.id(), limit);
+        }
+
+        boolean hasNext = rows.size() > size;
+        List<OrderHistory> page = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = null;
+        if (hasNext) {
+            OrderHistory last = page.get(page.size() - 1);
+            nextCursor = CursorCodec.encodeTimeId(last.getOrderDate(), last.getOrderId());
+        }
+
+        return CursorPageDTO.<OrderDTO>builder()
+                .content(page.stream().map(this::toDTO).collect(Collectors.toCollection(ArrayList::new)))
+                .nextCursor(nextCursor)
+                .hasNext(hasNext)
+                .size(size)
+                .build();
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {  // 시작 시 누락분 보정 (완료 전까지는 기존 조회 경로 사용)
+        try {
+            catchUp(false);
+        } catch (RuntimeException e) {
+            log.error("주문 내역 읽기 모델 보정 실패, 기존 조회 경로 유지: {}", e.getMessage());
+        }
+    }
+
+    public synchronized Map<String, Object> catchUp(boolean force) {   // 결제 완료 주문 중 빠진 행 추가 + 상태가 바뀐 행 보정
+        long start = System.currentTimeMillis();
+        long paidOrders = orderRepository.countByStatus(OrderStatus.PAID);
+        long paidRows = orderHistoryRepository.countByStatus(OrderStatus.PAID);
+
+        int added = 0;
+        int synced = 0;
+        if (force || paidOrders != paidRows) {
+            Long afterId = 0L;
+            List<Long> ids;
+            do {
+                ids = orderRepository.findPaidOrderIdsAfter(afterId, PageRequest.of(0, batchSize));
+                if (ids.isEmpty()) {
+                    break;
+                }
+                afterId = ids.get(ids.size() - 1);
+                added += recordBatch(ids);
+            } while (ids.size() == batchSize);
+
+            Integer updated = transactionTemplate.execute(status -> orderHistoryRepository.syncStatusFromOrders(OrderStatus.PAID));
+            synced = updated == null ? 0 : updated;
+            statusUpdated.add(synced);
+        }
+        ready = true;
+        lastCatchUpAt = LocalDateTime.now();
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("paidOrders", paidOrders);
+        result.put("paidRowsBefore", paidRows);
+        result.put("added", added);
+        result.put("statusSynced", synced);
+        result.put("elapsedMillis", System.currentTimeMillis() - start);
+        log.info("주문 내역 읽기 모델 보정 완료: {}", result);
+        return result;
+    }
+
+    private int recordBatch(List<Long> ids) {
+        try {
+            Integer count = transactionTemplate.execute(status -> record(ids));
+            return count == null ? 0 : count;
+        } catch (DataIntegrityViolationException e) {   // 결제 이벤트와 동시에 같은 주문을 추가한 경우 한 번 더 시도 (이미 있는 행은 건너뜀)
+            Integer count = transactionTemplate.execute(status -> record(ids));
+            return count == null ? 0 : count;
+        }
+    }
+
+    int record(List<Long> orderIds) {  // 아직 없는 결제 완료 주문만 추가 (이미지 참조도 행을 처음 만들 때 한 번만 증가)
+        Set<Long> existing = orderHistoryRepository.findAllById(orderIds).stream()
+                .map(OrderHistory::getOrderId)
+                .collect(Collectors.toSet());
+        List<Long> missing = orderIds.stream().filter(id -> !existing.contains(id)).toList();
+        if (missing.isEmpty()) {
+            return 0;
+        }
+
+        Map<Long, Map<Long, Long>> reviewsByUser = new HashMap<>();
+        List<OrderHistory> rows = new ArrayList<>();
+        for (Order order : orderRepository.findOrdersWithItemsByIds(missing)) {
+            if (order.getStatus() != OrderStatus.PAID) {
+                continue;   // 이벤트 처리 전에 취소된 주문
+            }
+            Long userId = order.getUser().getId();
+            Map<Long, Long> myReviewMap = reviewsByUser.computeIfAbsent(userId, this::reviewIdsByProduct);
+
+            List<OrderItemDTO> items = new ArrayList<>();
+            Set<Long> productIds = new LinkedHashSet<>();
+            for (OrderItem orderItem : order.getOrderItems()) {
+                Long productId = orderItem.getProduct().getId();
+                items.add(OrderItemDTO.from(orderItem, myReviewMap.get(productId)));
+                productIds.add(productId);
+            }
+            items.stream().map(OrderItemDTO::getImageUrl).filter(Objects::nonNull).distinct().forEach(imageStore::retain);  // 상품 이미지가 바뀌어도 스냅샷 이미지 유지
+
+            rows.add(OrderHistory.builder()
+                    .orderId(order.getId())
+                    .userId(userId)
+                    .orderDate(order.getOrderDate())
+                    .status(order.getStatus())
+                    .totalPrice(order.getTotalPrice())
+                    .itemsJson(writeItems(items))
+                    .productIds(productIds.stream().map(String::valueOf).collect(Collectors.joining(",", ",", ",")))
+                    .build());
+        }
+        orderHistoryRepository.saveAll(rows);
+        recorded.add(rows.size());
+        return rows.size();
+    }
+
+    private Map<Long, Long> reviewIdsByProduct(Long userId) {  // 상품 ID -> 내 리뷰 ID (리뷰 본문은 읽지 않음)
+        Map<Long, Long> myReviewMap = new HashMap<>();
+        for (Object[] row : reviewRepository.findReviewIdsByUserId(userId)) {
+            myReviewMap.put((Long) row[0], (Long) row[1]);
+        }
+        return myReviewMap;
+    }
+
+    private OrderDTO toDTO(OrderHistory row) {
+        return OrderDTO.builder()
+                .id(row.getOrderId())
+                .userId(row.getUserId())
+                .orderDate(row.getOrderDate().toString())
+                .status(row.getStatus().name())
+                .totalPrice(row.getTotalPrice())
+                .orderItems(readItems(row))
+                .build();
+    }
+
+    private List<OrderItemDTO> readItems(OrderHistory row) {
+        try {
+            return objectMapper.readValue(row.getItemsJson(), ITEMS_TYPE);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("주문 내역을 읽을 수 없습니다: " + row.getOrderId(), e);
+        }
+    }
+
+    private String writeItems(List<OrderItemDTO> items) {
+        try {
+            return objectMapper.writeValueAsString(items);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("주문 내역을 저장할 수 없습니다.", e);
+        }
+    }
+
+    public Map<String, Object> stats() {   // 읽기 모델 갱신 통계
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("ready", ready);
+        summary.put("recorded", recorded.sum());
+        summary.put("statusUpdated", statusUpdated.sum());
+        summary.put("reviewUpdated", reviewUpdated.sum());
+        summary.put("failed", failed.sum());
+        summary.put("lastCatchUpAt", lastCatchUpAt);
+        return summary;
+    }
+}
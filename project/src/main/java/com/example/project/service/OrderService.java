@@ -1,27 +1,28 @@
 package com.example.project.service;
 
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.client.HttpClientErrorException;
-import org.springframework.web.client.RestTemplate;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
 import lombok.extern.slf4j.Slf4j;
 import lombok.RequiredArgsConstructor;
 
+import com.example.project.dto.CursorPageDTO;
 import com.example.project.dto.KakaoPayReadyRequestDTO;
 import com.example.project.dto.OrderDTO;
 import com.example.project.dto.OrderItemDTO;
 import com.example.project.dto.KakaoPayReadyResponseDTO;
 import com.example.project.dto.KakaoPayApproveRequestDTO;
 import com.example.project.dto.KakaoPayApproveResponseDTO;
+import com.example.project.dto.KakaoPayCancelRequestDTO;
+import com.example.project.event.OrderCancelledEvent;
+import com.example.project.event.ProductChangedEvent;
 import com.example.project.model.CartItem;
 import com.example.project.model.Order;
 import com.example.project.model.OrderItem;
@@ -29,14 +30,18 @@ import com.example.project.model.Product;
 import com.example.project.model.Review;
 import com.example.project.model.User;
 import com.example.project.model.Order.OrderStatus;
+import com.example.project.payment.KakaoPayClient;
 import com.example.project.repository.OrderItemRepository;
 import com.example.project.repository.OrderRepository;
 import com.example.project.repository.ProductRepository;
 import com.example.project.repository.ReviewRepository;
 import com.example.project.repository.UserRepository;
+import com.example.project.stock.StockReservationLedger;
+import com.example.project.util.CursorCodec;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -54,40 +59,23 @@ public class OrderService {
     private final CartItemService cartItemService;
     private final ProductRepository productRepository;
     private final ReviewRepository reviewRepository;
-
-    @Value("${kakaopay.secret-key}")
-    private String kakaoSecretKey;
+    private final ApplicationEventPublisher eventPublisher;
+    private final KakaoPayClient kakaoPayClient;
+    private final PaymentTransactionService paymentTransactionService;
+    private final StockReservationLedger stockReservationLedger;
+    private final ProductStockService productStockService;
+    private final OrderHistoryProjection orderHistoryProjection;
 
     @Transactional(readOnly = true)
     public Order getOrderById(Long orderId) {   // 주문 상세 조회
         return orderRepository.findById(orderId).orElseThrow(() -> new IllegalArgumentException("주문을 찾을 수 없습니다"));
     }
 
-    @Transactional(readOnly = true)
-    public List<OrderDTO> getOrderDTOsByUserId(Long userId) {   // 사용자별 주문 목록 전체 조회
-        Map<Long, Long> myReviewMap = reviewRepository.findByUserId(userId).stream()
-                .collect(Collectors.toMap(r -> r.getProduct().getId(), Review::getId));
-
-        List<OrderDTO> orderDTOs = orderRepository.findByUserId(userId).stream()
-                .map((Order order) -> OrderDTO.builder()
-                        .id(order.getId())
-                        .userId(order.getUser().getId())
-                        .orderDate(order.getOrderDate().toString())
-                        .status(order.getStatus().name())
-                        .totalPrice(order.getTotalPrice())
-                        .orderItems(order.getOrderItems().stream()
-                            .map(orderItem -> OrderItemDTO.from(
-                                orderItem,
-                                myReviewMap.getOrDefault(orderItem.getProduct().getId(), null)
-                            ))
-                            .toList())
-                        .build())
-                .toList();
-        return orderDTOs;
-    }
-
     @Transactional(readOnly = true)
     public Page<OrderDTO> getOrdersByUserId(Long userId, Pageable pageable) {   // 사용자별 주문 목록 조회 (페이징)
+        if (orderHistoryProjection.isReady()) {
+            return orderHistoryProjection.findPage(userId, pageable);  // 읽기 모델 준비 후에는 인덱스 범위 조회 한 번
+        }
         Map<Long, Long> myReviewMap = reviewRepository.findByUserId(userId).stream()
                 .collect(Collectors.toMap(r -> r.getProduct().getId(), Review::getId));
 
@@ -98,8 +86,58 @@ public class OrderService {
             return new PageImpl<>(Collections.emptyList(), pageable, idPage.getTotalElements());
         }
 
-        List<Order> orders = orderRepository.findOrdersWithItemsByIds(ids);
+        List<OrderDTO> result = toOrderDTOs(ids, myReviewMap);
+
+        return new PageImpl<>(result, pageable, idPage.getTotalElements());
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageDTO<OrderDTO> scrollOrdersByUserId(Long userId, String after, int size) {   // 사용자별 주문 목록 커서 기반 조회 (COUNT 쿼리 없음)
+        if (orderHistoryProjection.isReady()) {
+            return orderHistoryProjection.scroll(userId, after, size);
+        }
+        PageRequest limit = PageRequest.of(0, size + 1);    // 다음 페이지 존재 여부 확인용으로 1개 더 조회
+        List<Long> ids;
+        if (after == null || after.isBlank()) {
+            ids = orderRepository.findFirstOrderIdsByUserId(userId, limit);
+        } else {
+            CursorCodec.TimeCursor cursor = CursorCodec.decodeTimeId(after);
+            ids = orderRepository.findOrderIdsByUserIdAfter(userId, cursor.time(), cursor.id(), limit);
+        }
+
+        boolean hasNext = ids.size() > size;
+        List<Long> pageIds = hasNext ? ids.subList(0, size) : ids;
+
+        List<OrderDTO> content = new ArrayList<>();
+        String nextCursor = null;
+        if (!pageIds.isEmpty()) {
+            Map<Long, Long> myReviewMap = reviewRepository.findByUserId(userId).stream()
+                    .collect(Collectors.toMap(r -> r.getProduct().getId(), Review::getId));
+            List<Order> orders = orderRepository.findOrdersWithItemsByIds(pageIds);
+            content = toOrderDTOs(pageIds, orders, myReviewMap);
+
+            if (hasNext) {
+                Order last = orders.stream()
+                        .filter(o -> o.getId().equals(pageIds.get(pageIds.size() - 1)))
+                        .findFirst()
+                        .orElseThrow();
+                nextCursor = CursorCodec.encodeTimeId(last.getOrderDate(), last.getId());
+            }
+        }
+
+        return CursorPageDTO.<OrderDTO>builder()
+                .content(content)
+                .nextCursor(nextCursor)
+                .hasNext(hasNext)
+                .size(size)
+                .build();
+    }
+
+    private List<OrderDTO> toOrderDTOs(List<Long> ids, Map<Long, Long> myReviewMap) {   // 주문 ID 순서대로 주문 DTO 생성
+        return toOrderDTOs(ids, orderRepository.findOrdersWithItemsByIds(ids), myReviewMap);
+    }
 
+    private List<OrderDTO> toOrderDTOs(List<Long> ids, List<Order> orders, Map<Long, Long> myReviewMap) {
         Map<Long, Order> orderMap = orders.stream()
                 .collect(Collectors.toMap(Order::getId, Function.identity()));
 
@@ -121,11 +159,10 @@ public class OrderService {
             }
             result.add(odto);
         }
-
-        return new PageImpl<>(result, pageable, idPage.getTotalElements());
+        return result;
     }
 
-    public Order createPendingOrderFromCart(Long userId) {      // 결제 전 주문 엔티티 생성(장바구니 기반)
+    public Order createPendingOrderFromCart(Long userId) {      // 결제 전 주문 엔티티 생성(장바구니 기반, 메모리 장바구니는 호출 전에 flush)
         User user = userRepository.findById(userId).orElseThrow(() -> new IllegalArgumentException("유저를 찾을 수 없습니다"));
         List<CartItem> cartItems = cartItemService.getCartItemsByUserId(userId);
 
@@ -162,6 +199,13 @@ public class OrderService {
         order.setTotalPrice(totalPrice);
         orderRepository.save(order);
 
+        // 재고 예약 (사용 설정 시)
+        Map<Long, Integer> quantities = new HashMap<>();
+        for (CartItem cartItem : cartItems) {
+            quantities.merge(cartItem.getProduct().getId(), cartItem.getQuantity(), Integer::sum);
+        }
+        stockReservationLedger.reserve(order.getId(), quantities);
+
         return order;
     }
 
@@ -200,6 +244,7 @@ public class OrderService {
         order.addOrderItem(item);   // 양방향 연관관계 설정
 
         orderRepository.save(order);
+        stockReservationLedger.reserve(order.getId(), Map.of(productId, quantity));     // 재고 예약 (사용 설정 시)
 
         return order;
     }
@@ -209,18 +254,35 @@ public class OrderService {
         if (order.getStatus() == OrderStatus.SHIPPED || order.getStatus() == OrderStatus.DELIVERED) {
             throw new IllegalStateException("이미 배송된 주문은 취소할 수 없습니다.");
         }
+        if (order.getStatus() == OrderStatus.CANCELLED) {
+            throw new IllegalStateException("이미 취소된 주문입니다.");
+        }
+        OrderStatus previousStatus = order.getStatus();
         order.setStatus(OrderStatus.CANCELLED);
         orderRepository.save(order);
 
+        if (previousStatus == OrderStatus.PENDING) {    // 결제 전 주문은 재고가 차감되지 않았으므로 예약만 해제
+            stockReservationLedger.releaseAfterCommit(orderId);
+            return;
+        }
+
+        orderHistoryProjection.markCancelled(orderId);     // 주문 내역 읽기 모델에서 제외
+
         // 주문 항목의 재고 복구
         List<OrderItem> orderItems = orderItemRepository.findByOrderId(orderId);
+        Map<Long, Integer> restored = new HashMap<>();
+        List<Long> productIds = new ArrayList<>();
         for (OrderItem orderItem : orderItems) {
-            Product product = orderItem.getProduct();
-            product.setStock(product.getStock() + orderItem.getQuantity()); // 재고 복구
-            productRepository.save(product);
+            restored.merge(orderItem.getProduct().getId(), orderItem.getQuantity(), Integer::sum);
+            productIds.add(orderItem.getProduct().getId());
         }
+        productStockService.increaseStocks(restored);   // 재고 복구
+        stockReservationLedger.restockAfterCommit(restored);
+        eventPublisher.publishEvent(ProductChangedEvent.stockChanged(restored.keySet()));
+        eventPublisher.publishEvent(new OrderCancelledEvent(orderId, order.getOrderDate(), productIds));   // 인기 상품 판매 건수 차감
     }
 
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public KakaoPayReadyResponseDTO KakaoPayReady(Long userId, Order order, int quantity) {   // 카카오페이 결제 준비
         KakaoPayReadyRequestDTO kakaoPayRequest = KakaoPayReadyRequestDTO.builder()
                                 .cid("TC0ONETIME")
@@ -235,92 +297,28 @@ public class OrderService {
                                 .fail_url("http://localhost:3000/payment/fail")
                                 .build();
 
-        HttpHeaders headers = new HttpHeaders();
-        RestTemplate restTemplate = new RestTemplate();
-
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        headers.set("Authorization", "SECRET_KEY " + kakaoSecretKey);
-
-        HttpEntity<KakaoPayReadyRequestDTO> requestEntity = new HttpEntity<>(kakaoPayRequest, headers);
-
+        KakaoPayReadyResponseDTO responseDTO;
         try {
-            // 카카오페이 결제 준비 API 호출
-            ResponseEntity<KakaoPayReadyResponseDTO> response = restTemplate.postForEntity(
-                    "https://open-api.kakaopay.com/online/v1/payment/ready",
-                    requestEntity,
-                    KakaoPayReadyResponseDTO.class
-            );
-            KakaoPayReadyResponseDTO responseDTO = response.getBody();
-            if (response.getStatusCode().is2xxSuccessful() && responseDTO != null) {
-                order.setTid(responseDTO.getTid());
-                orderRepository.save(order);
-
-                return responseDTO;
-            } else {
-                throw new IllegalStateException("결제 준비에 실패했습니다.");
-            }
+            // 카카오페이 결제 준비 API 호출 (트랜잭션 밖에서 수행)
+            responseDTO = kakaoPayClient.ready(kakaoPayRequest);
         } catch (HttpClientErrorException e) {      // 카카오페이 API 호출 실패 시
             throw new IllegalStateException("결제 준비 중 오류가 발생했습니다: " + e.getResponseBodyAsString());
         } catch (Exception e) {                     // 기타 예외 처리
             throw new IllegalStateException("결제 준비 중 오류가 발생했습니다: " + e.getMessage());
         }
+        paymentTransactionService.assignTid(order.getId(), responseDTO.getTid());
+        order.setTid(responseDTO.getTid());
+        return responseDTO;
     }
 
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public KakaoPayApproveResponseDTO KakaoPayApprove(Long orderId, String pgToken) {   // 카카오페이 결제 승인
-        Order order = getOrderById(orderId);
-
-        if (order.getStatus() == OrderStatus.PAID) {
-            throw new IllegalStateException("이미 결제 완료된 주문입니다.");
-        }
-
-        KakaoPayApproveRequestDTO kakaoPayApproveRequest = KakaoPayApproveRequestDTO.builder()
-                                        .cid("TC0ONETIME")
-                                        .tid(order.getTid())
-                                        .partner_order_id(order.getId().toString())
-                                        .partner_user_id(order.getUser().getId().toString())
-                                        .pg_token(pgToken)
-                                        .build();
-
-        HttpHeaders headers = new HttpHeaders();
-        RestTemplate restTemplate = new RestTemplate();
-
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        headers.set("Authorization", "SECRET_KEY " + kakaoSecretKey);
-
-        HttpEntity<KakaoPayApproveRequestDTO> requestEntity = new HttpEntity<>(kakaoPayApproveRequest, headers);
-
-        try {
-            // 카카오페이 결제 승인 API 호출
-            ResponseEntity<KakaoPayApproveResponseDTO> response = restTemplate.postForEntity(
-                    "https://open-api.kakaopay.com/online/v1/payment/approve",
-                    requestEntity,
-                    KakaoPayApproveResponseDTO.class
-            );
-            KakaoPayApproveResponseDTO result = response.getBody();
-            if (response.getStatusCode().is2xxSuccessful() && result != null) {
-                order.setStatus(OrderStatus.PAID);  // 결제 완료로 상태 변경
-                orderRepository.save(order);
-
-                // 재고 차감
-                Product product = productRepository.findByIdWithLock(order.getOrderItems().get(0).getProduct().getId())
-                        .orElseThrow(() -> new IllegalArgumentException("상품을 찾을 수 없습니다"));
-                product.setStock(product.getStock() - order.getOrderItems().get(0).getQuantity());
-                productRepository.save(product);
-            }
-            return result;
-        } catch (HttpClientErrorException e) {      // 카카오페이 API 호출 실패 시
-            throw new IllegalStateException("결제 승인 중 오류가 발생했습니다: " + e.getResponseBodyAsString());
-        } catch (Exception e) {                     // 기타 예외 처리
-            throw new IllegalStateException("결제 승인 중 오류가 발생했습니다: " + e.getMessage());
-        }
+        return approvePayment(orderId, pgToken, false);
     }
 
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public KakaoPayReadyResponseDTO KakaoPayReadyFromCart(Long userId, Order order) {   // 카카오페이 결제 준비(장바구니 기반)
-        List<OrderItem> orderItems = orderItemRepository.findByOrderId(order.getId());
-        String itemName = orderItems.get(0).getProduct().getName();
-        if (orderItems.size() > 1) {
-            itemName += " 외 " + (orderItems.size() - 1) + "건";
-        }
+        String itemName = paymentTransactionService.describeItems(order.getId());    // 상품명은 짧은 읽기 트랜잭션 안에서 조회
         KakaoPayReadyRequestDTO kakaoPayRequest = KakaoPayReadyRequestDTO.builder()
                                 .cid("TC0ONETIME")
                                 .partner_order_id(order.getId().toString())
@@ -334,91 +332,76 @@ public class OrderService {
                                 .fail_url("http://localhost:3000/payment/fail")
                                 .build();
 
-        HttpHeaders headers = new HttpHeaders();
-        RestTemplate restTemplate = new RestTemplate();
-
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        headers.set("Authorization", "SECRET_KEY " + kakaoSecretKey);
-
-        HttpEntity<KakaoPayReadyRequestDTO> requestEntity = new HttpEntity<>(kakaoPayRequest, headers);
-
+        KakaoPayReadyResponseDTO responseDTO;
         try {
-            ResponseEntity<KakaoPayReadyResponseDTO> response = restTemplate.postForEntity(
-                    "https://open-api.kakaopay.com/online/v1/payment/ready",
-                    requestEntity,
-                    KakaoPayReadyResponseDTO.class
-            );
-            KakaoPayReadyResponseDTO responseDTO = response.getBody();
-            if (response.getStatusCode().is2xxSuccessful() && responseDTO != null) {
-                order.setTid(responseDTO.getTid());
-                orderRepository.save(order);
-
-                return responseDTO;
-            } else {
-                throw new IllegalStateException("결제 준비에 실패했습니다.");
-            }
+            // 카카오페이 결제 준비 API 호출 (트랜잭션 밖에서 수행)
+            responseDTO = kakaoPayClient.ready(kakaoPayRequest);
         } catch (HttpClientErrorException e) {      // 카카오페이 API 호출 실패 시
             throw new IllegalStateException("결제 준비 중 오류가 발생했습니다: " + e.getResponseBodyAsString());
         } catch (Exception e) {                     // 기타 예외 처리
             throw new IllegalStateException("결제 준비 중 오류가 발생했습니다: " + e.getMessage());
         }
+        paymentTransactionService.assignTid(order.getId(), responseDTO.getTid());
+        order.setTid(responseDTO.getTid());
+        return responseDTO;
     }
 
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public KakaoPayApproveResponseDTO KakaoPayApproveFromCart(Long orderId, String pgToken) {   // 카카오페이 결제 승인(장바구니 기반)
-        Order order = getOrderById(orderId);
+        return approvePayment(orderId, pgToken, true);
+    }
 
-        if (order.getStatus() == OrderStatus.PAID) {
-            throw new IllegalStateException("이미 결제 완료된 주문입니다.");
-        }
+    // 주문 확인(짧은 트랜잭션) -> 카카오페이 승인 API 호출(트랜잭션 없음) -> 결제 완료 처리(짧은 트랜잭션)
+    private KakaoPayApproveResponseDTO approvePayment(Long orderId, String pgToken, boolean fromCart) {
+        PaymentTransactionService.ApprovalTarget target = paymentTransactionService.prepareApprove(orderId);
 
         KakaoPayApproveRequestDTO kakaoPayApproveRequest = KakaoPayApproveRequestDTO.builder()
                                         .cid("TC0ONETIME")
-                                        .tid(order.getTid())
-                                        .partner_order_id(order.getId().toString())
-                                        .partner_user_id(order.getUser().getId().toString())
+                                        .tid(target.tid())
+                                        .partner_order_id(target.orderId().toString())
+                                        .partner_user_id(target.userId().toString())
                                         .pg_token(pgToken)
                                         .build();
 
-        HttpHeaders headers = new HttpHeaders();
-        RestTemplate restTemplate = new RestTemplate();
-
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        headers.set("Authorization", "SECRET_KEY " + kakaoSecretKey);
-
-        HttpEntity<KakaoPayApproveRequestDTO> requestEntity = new HttpEntity<>(kakaoPayApproveRequest, headers);
-
+        KakaoPayApproveResponseDTO result;
         try {
-            ResponseEntity<KakaoPayApproveResponseDTO> response = restTemplate.postForEntity(
-                    "https://open-api.kakaopay.com/online/v1/payment/approve",
-                    requestEntity,
-                    KakaoPayApproveResponseDTO.class
-            );
-            KakaoPayApproveResponseDTO result = response.getBody();
-            if (response.getStatusCode().is2xxSuccessful() && result != null) {
-                order.setStatus(OrderStatus.PAID);  // 결제 완료로 상태 변경
-                orderRepository.save(order);
-
-                // 재고 차감
-                for (OrderItem orderItem : order.getOrderItems()) {
-                    Product product = productRepository.findByIdWithLock(orderItem.getProduct().getId())
-                            .orElseThrow(() -> new IllegalArgumentException("상품을 찾을 수 없습니다"));
-                    product.setStock(product.getStock() - orderItem.getQuantity());
-                    productRepository.save(product);
-                }
-
-                // 장바구니 비우기
-                cartItemService.deleteAllCartItemsByUserId(order.getUser().getId());
-            }
-            return result;
+            // 카카오페이 결제 승인 API 호출
+            result = kakaoPayClient.approve(kakaoPayApproveRequest);
         } catch (HttpClientErrorException e) {      // 카카오페이 API 호출 실패 시
             throw new IllegalStateException("결제 승인 중 오류가 발생했습니다: " + e.getResponseBodyAsString());
         } catch (Exception e) {                     // 기타 예외 처리
             throw new IllegalStateException("결제 승인 중 오류가 발생했습니다: " + e.getMessage());
         }
+
+        try {
+            paymentTransactionService.completeApprove(target, fromCart);
+        } catch (RuntimeException e) {
+            if (!paymentTransactionService.isPaid(target)) {    // 결제 완료 처리가 롤백되면 승인된 결제를 취소 (청구만 되고 주문은 결제 대기로 남지 않도록)
+                cancelApprovedPayment(target, e);
+            }
+            throw e;
+        }
+        return result;
+    }
+
+    private void cancelApprovedPayment(PaymentTransactionService.ApprovalTarget target, RuntimeException cause) {
+        KakaoPayCancelRequestDTO cancelRequest = KakaoPayCancelRequestDTO.builder()
+                                .cid("TC0ONETIME")
+                                .tid(target.tid())
+                                .cancel_amount(target.totalPrice())
+                                .cancel_tax_free_amount(0)
+                                .build();
+        try {
+            kakaoPayClient.cancel(cancelRequest);
+            log.warn("결제 완료 처리 실패로 승인 취소: orderId={}, tid={}, 원인={}", target.orderId(), target.tid(), cause.getMessage());
+        } catch (Exception e) {     // 취소도 실패하면 수동 환불 필요
+            log.error("승인 취소 실패, 수동 환불 필요: orderId={}, tid={}", target.orderId(), target.tid(), e);
+        }
     }
 
     public void KakaoPayApproveCancel(Long orderId) {   // 카카오페이 결제 취소
         Order order = getOrderById(orderId);
         orderRepository.delete(order);
+        stockReservationLedger.releaseAfterCommit(orderId);
     }
 }
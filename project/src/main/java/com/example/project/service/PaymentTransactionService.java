@@ -0,0 +1,117 @@
+package com.example.project.service;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import lombok.RequiredArgsConstructor;
+
+import com.example.project.event.OrderPaidEvent;
+import com.example.project.event.ProductChangedEvent;
+import com.example.project.model.Order;
+import com.example.project.model.Order.OrderStatus;
+import com.example.project.model.Product.Category;
+import com.example.project.repository.OrderItemRepository;
+import com.example.project.repository.OrderRepository;
+import com.example.project.stock.StockReservationLedger;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class PaymentTransactionService {   // 결제 승인 전후의 짧은 DB 트랜잭션 (외부 API 호출은 트랜잭션 밖에서 수행)
+    private final OrderRepository orderRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final ProductStockService productStockService;
+    private final StockReservationLedger stockReservationLedger;
+    private final CartItemService cartItemService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public record ApprovalTarget(Long orderId, Long userId, String tid, int totalPrice) {
+    }
+
+    public void assignTid(Long orderId, String tid) {   // 결제 준비 결과(tid) 저장
+        if (orderRepository.assignTid(orderId, tid) == 0) {
+            throw new IllegalStateException("결제 대기 중인 주문이 아닙니다.");
+        }
+    }
+
+    public ApprovalTarget prepareApprove(Long orderId) {    // 승인 요청 전 주문 상태와 재고 확인 후 승인 요청 시각 기록
+        Order order = orderRepository.findById(orderId).orElseThrow(() -> new IllegalArgumentException("주문을 찾을 수 없습니다"));
+        if (order.getStatus() == OrderStatus.PAID) {
+            throw new IllegalStateException("이미 결제 완료된 주문입니다.");
+        }
+        if (order.getStatus() != OrderStatus.PENDING || order.getTid() == null) {
+            throw new IllegalStateException("결제 대기 중인 주문이 아닙니다.");
+        }
+        if (!stockReservationLedger.hasReservation(orderId)) {    // 예약되지 않은 재고는 승인 요청 전에 확인 (승인 후 재고 부족이면 결제 취소가 필요)
+            List<Long> shortages = productStockService.findShortages(quantities(findPaidItems(orderId)));
+            if (!shortages.isEmpty()) {
+                throw new IllegalStateException("재고가 부족합니다. 상품 ID: " + shortages);
+            }
+        }
+        if (orderRepository.markApproveRequested(orderId, LocalDateTime.now()) == 0) {    // 그 사이 만료 정리로 삭제된 주문
+            throw new IllegalStateException("결제 대기 중인 주문이 아닙니다.");
+        }
+        return new ApprovalTarget(order.getId(), order.getUser().getId(), order.getTid(), order.getTotalPrice());
+    }
+
+    @Transactional(readOnly = true)
+    public boolean isPaid(ApprovalTarget target) {     // 같은 tid로 결제 완료 처리된 주문인지 확인
+        return orderRepository.existsByIdAndTidAndStatus(target.orderId(), target.tid(), OrderStatus.PAID);
+    }
+
+    @Transactional(readOnly = true)
+    public String describeItems(Long orderId) {     // 결제 준비 요청의 상품명 (예: "키보드 외 2건")
+        List<String> names = orderItemRepository.findProductNamesByOrderId(orderId);
+        if (names.isEmpty()) {
+            throw new IllegalStateException("주문 항목이 없습니다.");
+        }
+        return names.size() > 1 ? names.get(0) + " 외 " + (names.size() - 1) + "건" : names.get(0);
+    }
+
+    public void completeApprove(ApprovalTarget target, boolean clearCart) {    // 승인 완료 후 결제 상태 변경 및 재고 차감
+        if (orderRepository.markPaid(target.orderId(), target.tid()) == 0) {
+            throw new IllegalStateException("이미 결제 완료된 주문입니다.");   // 같은 tid로 이미 처리된 승인
+        }
+
+        // 상품 엔티티를 먼저 읽어 두면 아래 차감 후에도 이전 재고 값이 영속성 컨텍스트에 남으므로 ID/수량만 조회
+        List<OrderPaidEvent.PaidItem> items = findPaidItems(target.orderId());
+        Map<Long, Integer> quantities = quantities(items);
+        if (stockReservationLedger.hasReservation(target.orderId())) {
+            stockReservationLedger.confirmAfterCommit(target.orderId());   // 예약된 재고는 주기적으로 DB에 일괄 반영
+        } else {
+            // 재고 일괄 차감 (상품 ID 순서로 한 번에 잠금 후 조건부 배치 UPDATE)
+            List<Long> failed = productStockService.decreaseStocks(quantities);
+            if (!failed.isEmpty()) {
+                throw new IllegalStateException("재고가 부족합니다. 상품 ID: " + failed);
+            }
+            stockReservationLedger.consumeAfterCommit(quantities);     // 예약 장부의 가용 재고에도 반영 (사용 설정 시)
+        }
+        eventPublisher.publishEvent(ProductChangedEvent.stockChanged(quantities.keySet()));
+        Order order = orderRepository.findById(target.orderId()).orElseThrow(() -> new IllegalArgumentException("주문을 찾을 수 없습니다"));
+        eventPublisher.publishEvent(new OrderPaidEvent(target.orderId(), target.userId(), order.getOrderDate(), items));
+
+        if (clearCart) {
+            cartItemService.deleteAllCartItemsByUserId(target.userId());   // 장바구니 비우기
+        }
+    }
+
+    private List<OrderPaidEvent.PaidItem> findPaidItems(Long orderId) {    // 주문 항목의 상품 ID, 카테고리, 수량
+        return orderItemRepository.findItemRowsByOrderId(orderId).stream()
+                .map(row -> new OrderPaidEvent.PaidItem(((Number) row[0]).longValue(), (Category) row[1], ((Number) row[2]).intValue()))
+                .toList();
+    }
+
+    private Map<Long, Integer> quantities(List<OrderPaidEvent.PaidItem> items) {   // 상품별 주문 수량 합계
+        Map<Long, Integer> quantities = new HashMap<>();
+        for (OrderPaidEvent.PaidItem item : items) {
+            quantities.merge(item.getProductId(), item.getQuantity(), Integer::sum);
+        }
+        return quantities;
+    }
+}
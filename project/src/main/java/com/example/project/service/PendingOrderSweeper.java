@@ -0,0 +1,184 @@
+package com.example.project.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import lombok.extern.slf4j.Slf4j;
+
+import com.example.project.dto.KakaoPayCancelRequestDTO;
+import com.example.project.dto.KakaoPayOrderRequestDTO;
+import com.example.project.payment.KakaoPayClient;
+import com.example.project.repository.OrderItemRepository;
+import com.example.project.repository.OrderRepository;
+import com.example.project.stock.StockReservationLedger;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+@Service
+@Slf4j
+public class PendingOrderSweeper {     // 결제하지 않고 방치된 결제 대기(PENDING) 주문 정리
+    private static final Set<String> UNCHARGED_STATUSES = Set.of("READY", "SEND_TMS", "OPEN_PAYMENT", "SELECT_METHOD", "ARS_WAITING",
+            "AUTH_PASSWORD", "ISSUED_SID", "CANCEL_PAYMENT", "FAIL_AUTH_PASSWORD", "QUIT_PAYMENT", "FAIL_PAYMENT");    // 청구되지 않았거나 이미 취소된 결제
+    private static final String CHARGED_STATUS = "SUCCESS_PAYMENT";
+
+    private final OrderRepository orderRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final StockReservationLedger stockReservationLedger;
+    private final KakaoPayClient kakaoPayClient;
+    private final TransactionTemplate transactionTemplate;
+    private final long ttlMinutes;
+    private final long approveGraceMinutes;
+    private final int batchSize;
+    private final int maxBatches;
+
+    private final LongAdder runCount = new LongAdder();
+    private final LongAdder reclaimedTotal = new LongAdder();
+    private final LongAdder refundedTotal = new LongAdder();
+    private final AtomicLong lastRunUnsettled = new AtomicLong();
+    private final AtomicLong lastRunReclaimed = new AtomicLong();
+    private final AtomicLong lastRunMillis = new AtomicLong();
+    private volatile LocalDateTime lastRunAt;
+
+    public PendingOrderSweeper(OrderRepository orderRepository,
+                               OrderItemRepository orderItemRepository,
+                               StockReservationLedger stockReservationLedger,
+                               KakaoPayClient kakaoPayClient,
+                               TransactionTemplate transactionTemplate,
+                               @Value("${app.order.pending.ttl-minutes:30}") long ttlMinutes,
+                               @Value("${app.order.pending.approve-grace-minutes:10}") long approveGraceMinutes,
+                               @Value("${app.order.pending.sweep-batch-size:500}") int batchSize,
+                               @Value("${app.order.pending.sweep-max-batches:20}") int maxBatches) {
+        this.orderRepository = orderRepository;
+        this.orderItemRepository = orderItemRepository;
+        this.stockReservationLedger = stockReservationLedger;
+        this.kakaoPayClient = kakaoPayClient;
+        this.transactionTemplate = transactionTemplate;
+        this.ttlMinutes = ttlMinutes;
+        this.approveGraceMinutes = approveGraceMinutes;
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+    }
+
+    @Scheduled(fixedDelayString = "${app.order.pending.sweep-interval-ms:60000}")
+    public int sweep() {    // 만료된 결제 대기 주문을 배치 단위로 삭제하고 승인 결과를 모르는 주문을 확인, 정리한 주문 수 반환
+        long start = System.currentTimeMillis();
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime cutoff = now.minusMinutes(ttlMinutes);
+        LocalDateTime approveCutoff = now.minusMinutes(approveGraceMinutes);   // 승인 요청 중인 주문 보호 (승인 API 호출은 행 잠금 없이 진행)
+        int reclaimed = 0;
+        for (int batch = 0; batch < maxBatches; batch++) {
+            Integer deleted = transactionTemplate.execute(status -> deleteBatch(cutoff));
+            if (deleted == null || deleted == 0) {
+                break;
+            }
+            reclaimed += deleted;
+            if (deleted < batchSize) {
+                break;
+            }
+        }
+        reclaimed += settleApprovals(approveCutoff);
+
+        runCount.increment();
+        reclaimedTotal.add(reclaimed);
+        lastRunReclaimed.set(reclaimed);
+        lastRunMillis.set(System.currentTimeMillis() - start);
+        lastRunAt = LocalDateTime.now();
+        if (reclaimed > 0) {
+            log.info("만료된 결제 대기 주문 {}건 정리 ({}ms)", reclaimed, lastRunMillis.get());
+        }
+        return reclaimed;
+    }
+
+    private int deleteBatch(LocalDateTime cutoff) {     // 한 배치: 잠금 -> 주문 항목 삭제 -> 주문 삭제 -> 커밋 후 재고 예약 해제
+        List<Long> ids = orderRepository.lockStalePendingOrderIds(cutoff, batchSize);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        return delete(ids);
+    }
+
+    private int delete(List<Long> ids) {
+        orderItemRepository.deleteByOrderIds(ids);
+        int deleted = orderRepository.deletePendingByIds(ids);
+        ids.forEach(stockReservationLedger::releaseAfterCommit);
+        return deleted;
+    }
+
+    // 승인 요청 후 결제 완료되지 않은 주문: 승인 API가 타임아웃 등으로 실패해도 카카오페이에서는 청구됐을 수 있으므로
+    // 결제 상태를 조회해 청구되지 않았으면 삭제, 청구됐으면 취소(환불) 후 삭제, 확인할 수 없으면 남겨 두고 다음 주기에 재확인
+    private int settleApprovals(LocalDateTime approveCutoff) {
+        int settled = 0;
+        int unsettled = 0;
+        for (Object[] row : orderRepository.findUnsettledApprovals(approveCutoff, PageRequest.of(0, batchSize))) {
+            Long orderId = (Long) row[0];
+            String tid = (String) row[1];
+            LocalDateTime approveRequestedAt = (LocalDateTime) row[3];
+            if (settle(orderId, tid, (Integer) row[2], approveRequestedAt)) {
+                Integer deleted = transactionTemplate.execute(status ->
+                        orderRepository.lockUnsettledApproval(orderId, approveRequestedAt).isEmpty() ? 0 : delete(List.of(orderId)));
+                settled += deleted == null ? 0 : deleted;
+            } else {
+                unsettled++;
+            }
+        }
+        lastRunUnsettled.set(unsettled);
+        return settled;
+    }
+
+    private boolean settle(Long orderId, String tid, int totalPrice, LocalDateTime approveRequestedAt) {   // 청구되지 않은 상태로 만들었으면 true (API 호출은 트랜잭션 밖에서)
+        String paymentStatus;
+        try {
+            paymentStatus = kakaoPayClient.order(KakaoPayOrderRequestDTO.builder()
+                    .cid("TC0ONETIME")
+                    .tid(tid)
+                    .build()).getStatus();
+        } catch (Exception e) {
+            log.warn("승인 결과 확인 실패, 다음 주기에 재확인: orderId={}, tid={}, 원인={}", orderId, tid, e.getMessage());
+            return false;
+        }
+        if (UNCHARGED_STATUSES.contains(paymentStatus)) {
+            return true;
+        }
+        if (!CHARGED_STATUS.equals(paymentStatus)) {    // 부분 취소 등은 자동으로 처리하지 않음
+            log.error("결제 상태 확인 필요, 수동 처리 대상: orderId={}, tid={}, status={}, 승인 요청={}", orderId, tid, paymentStatus, approveRequestedAt);
+            return false;
+        }
+        try {
+            kakaoPayClient.cancel(KakaoPayCancelRequestDTO.builder()
+                    .cid("TC0ONETIME")
+                    .tid(tid)
+                    .cancel_amount(totalPrice)
+                    .cancel_tax_free_amount(0)
+                    .build());
+        } catch (Exception e) {
+            log.error("청구된 미완료 주문 취소 실패, 다음 주기에 재시도: orderId={}, tid={}", orderId, tid, e);
+            return false;
+        }
+        refundedTotal.increment();
+        log.warn("승인 후 결제 완료 처리되지 않은 주문 환불: orderId={}, tid={}", orderId, tid);
+        return true;
+    }
+
+    public Map<String, Object> stats() {   // 실행 횟수/정리 건수 통계
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("runCount", runCount.sum());
+        summary.put("reclaimedTotal", reclaimedTotal.sum());
+        summary.put("refundedTotal", refundedTotal.sum());
+        summary.put("lastRunUnsettled", lastRunUnsettled.get());
+        summary.put("lastRunReclaimed", lastRunReclaimed.get());
+        summary.put("lastRunMillis", lastRunMillis.get());
+        summary.put("lastRunAt", lastRunAt);
+        summary.put("ttlMinutes", ttlMinutes);
+        summary.put("approveGraceMinutes", approveGraceMinutes);
+        return summary;
+    }
+}
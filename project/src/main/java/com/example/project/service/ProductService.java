@@ -3,31 +3,47 @@ package com.example.project.service;
 import org.springframework.stereotype.Service;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.example.project.cache.ProductCache;
+import com.example.project.dto.CursorPageDTO;
 import com.example.project.dto.PopularProductDTO;
 import com.example.project.dto.ProductDTO;
 import com.example.project.dto.ProductListDTO;
 import com.example.project.dto.ProductDetailDTO;
 import com.example.project.dto.ReviewResponseDTO;
+import com.example.project.event.ProductChangedEvent;
+import com.example.project.event.ProductStockAdjustedEvent;
+import com.example.project.event.ProductImageUploadedEvent;
+import com.example.project.image.ImageStore;
+import com.example.project.image.ImageVariant;
+import com.example.project.image.ImageVariantService;
 import com.example.project.model.Product;
 import com.example.project.model.Product.Category;
 import com.example.project.model.Review;
 import com.example.project.repository.CartItemRepository;
 import com.example.project.repository.ProductRepository;
 import com.example.project.repository.ReviewRepository;
+import com.example.project.ranking.PopularProductLeaderboard;
+import com.example.project.search.ProductSearchIndex;
+import com.example.project.util.CursorCodec;
 
 import java.util.stream.Collectors;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.UUID;
+import java.util.Map;
+import java.util.Comparator;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.function.Function;
 import java.io.IOException;
-import java.nio.file.*;
 
 import lombok.RequiredArgsConstructor;
 
@@ -38,9 +54,12 @@ public class ProductService {
     private final ProductRepository productRepository;
     private final ReviewRepository reviewRepository;
     private final CartItemRepository cartItemRepository;
-    
-    @Value("${app.upload.dir}")
-    private String uploadDir;
+    private final ProductCache productCache;
+    private final ProductSearchIndex productSearchIndex;
+    private final PopularProductLeaderboard popularProductLeaderboard;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ImageVariantService imageVariantService;
+    private final ImageStore imageStore;
 
     @Transactional(readOnly = true)
     public Product getProductById(Long id) {    // 상품 조회
@@ -49,12 +68,106 @@ public class ProductService {
 
     @Transactional(readOnly = true)
     public Page<ProductListDTO> findAllProducts(Category category, String keyword, Pageable pageable) {    // 모든 상품 조회(페이징)
+        if (StringUtils.hasText(keyword) && productSearchIndex.isReady()) {
+            return searchProducts(category, keyword, pageable);
+        }
         return productRepository.findAllProducts(category, keyword, pageable);
     }
+
+    private Page<ProductListDTO> searchProducts(Category category, String keyword, Pageable pageable) {    // 검색 색인 기반 상품 검색 (관련도 순)
+        List<Long> rankedIds = productSearchIndex.search(keyword, category);
+
+        int from = (int) Math.min(pageable.getOffset(), rankedIds.size());
+        int to = Math.min(from + pageable.getPageSize(), rankedIds.size());
+        List<Long> pageIds = rankedIds.subList(from, to);
+        if (pageIds.isEmpty()) {
+            return new PageImpl<>(new ArrayList<>(), pageable, rankedIds.size());
+        }
+
+        Map<Long, ProductListDTO> productMap = productRepository.findListDTOsByIds(pageIds).stream()
+                .collect(Collectors.toMap(ProductListDTO::getId, Function.identity()));
+
+        List<ProductListDTO> content = pageIds.stream()     // 관련도 순서 유지
+                .map(productMap::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        return new PageImpl<>(content, pageable, rankedIds.size());
+    }
     
+    private List<ProductListDTO> searchProductsAfter(Category category, String keyword, Long afterId, int limit) {  // 검색 색인 기반 커서 조회 (DB 조회와 같은 ID 순서)
+        List<Long> pageIds = productSearchIndex.search(keyword, category).stream()
+                .filter(id -> afterId == null || id > afterId)
+                .sorted()
+                .limit(limit)
+                .toList();
+        if (pageIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return productRepository.findListDTOsByIds(pageIds).stream()
+                .sorted(Comparator.comparing(ProductListDTO::getId))
+                .collect(Collectors.toList());
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageDTO<ProductListDTO> scrollProducts(Category category, String keyword, String after, int size) {   // 상품 목록 커서 기반 조회
+        Long afterId = (after == null || after.isBlank()) ? null : CursorCodec.decodeId(after);
+        List<ProductListDTO> rows = StringUtils.hasText(keyword) && productSearchIndex.isReady()
+                ? searchProductsAfter(category, keyword, afterId, size + 1)
+                : productRepository.findProductsAfter(category, keyword, afterId, PageRequest.of(0, size + 1));  // 다음 페이지 존재 여부 확인용으로 1개 더 조회
+
+        boolean hasNext = rows.size() > size;
+        List<ProductListDTO> content = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext ? CursorCodec.encodeId(content.get(content.size() - 1).getId()) : null;
+
+        return CursorPageDTO.<ProductListDTO>builder()
+                .content(new ArrayList<>(content))
+                .nextCursor(nextCursor)
+                .hasNext(hasNext)
+                .size(size)
+                .build();
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageDTO<ReviewResponseDTO> scrollReviews(Long productId, String after, int size) {   // 상품 리뷰 커서 기반 조회
+        PageRequest limit = PageRequest.of(0, size + 1);
+        List<Long> ids;
+        if (after == null || after.isBlank()) {
+            ids = reviewRepository.findFirstReviewIdsByProductId(productId, limit);
+        } else {
+            ids = reviewRepository.findReviewIdsByProductIdAfter(productId, CursorCodec.decodeId(after), limit);
+        }
+
+        boolean hasNext = ids.size() > size;
+        List<Long> pageIds = hasNext ? ids.subList(0, size) : ids;
+
+        List<ReviewResponseDTO> content = new ArrayList<>();
+        if (!pageIds.isEmpty()) {
+            Map<Long, Review> reviewMap = reviewRepository.findReviewsByIds(pageIds).stream()
+                    .collect(Collectors.toMap(Review::getId, Function.identity()));
+            for (Long reviewId : pageIds) {     // 커서 정렬 순서 유지
+                Review review = reviewMap.get(reviewId);
+                if (review != null) {
+                    content.add(ReviewResponseDTO.from(review));
+                }
+            }
+        }
+
+        String nextCursor = null;
+        if (hasNext) {
+            nextCursor = CursorCodec.encodeId(pageIds.get(pageIds.size() - 1));    // 조회 사이에 삭제된 리뷰가 있어도 위치 유지
+        }
+
+        return CursorPageDTO.<ReviewResponseDTO>builder()
+                .content(content)
+                .nextCursor(nextCursor)
+                .hasNext(hasNext)
+                .size(size)
+                .build();
+    }
+
     @Transactional(readOnly = true)
     public ProductDetailDTO getProductDetail(Long id, Pageable pageable) {   // 상품 상세 조회
-        Product product = productRepository.findById(id).orElseThrow(() -> new IllegalArgumentException("상품을 찾을 수 없습니다."));
+        ProductDTO product = productCache.get(id);     // 상품 정보는 캐시에서 조회
         Page<Long> reviewIdsPage = reviewRepository.findReviewIdsByProductId(id, pageable);     // 리뷰 ID 페이징 조회
 
         List<ReviewResponseDTO> reviewsDTO = new ArrayList<>();
@@ -71,7 +184,7 @@ public class ProductService {
         return ProductDetailDTO.builder()
                 .id(product.getId())
                 .name(product.getName())
-                .imageUrl(product.getImageUrl())
+                .imageUrl(ImageVariant.DETAIL.url(product.getImageUrl(), product.isImageVariantsReady()))   // 상세용 축소 이미지
                 .description(product.getDescription())
                 .price(product.getPrice())
                 .stock(product.getStock())
@@ -82,21 +195,9 @@ public class ProductService {
 
     @PreAuthorize("hasRole('ADMIN')")
     public void addProduct(ProductDTO productDTO, MultipartFile image) throws IOException {   // 상품 추가
-        Path imagesDir = Paths.get(uploadDir).toAbsolutePath().normalize();
-        Files.createDirectories(imagesDir);
-
         String imageUrl = null;
         if (image != null && !image.isEmpty()) {
-            String original = StringUtils.cleanPath(image.getOriginalFilename());
-            String ext = "";
-            int dot = original.lastIndexOf('.');
-            if (dot >= 0) ext = original.substring(dot);
-
-            String filename = UUID.randomUUID().toString() + ext;
-            Path destination = imagesDir.resolve(filename);
-
-            image.transferTo(destination.toFile());
-            imageUrl = "/images/" + filename;
+            imageUrl = imageStore.store(image);     // 같은 이미지는 한 번만 저장
         }
 
         Product product = Product.builder()
@@ -108,57 +209,115 @@ public class ProductService {
                 .category(productDTO.getCategory())
                 .build();
         productRepository.save(product);
+        eventPublisher.publishEvent(ProductChangedEvent.of(product.getId()));
+        if (imageUrl != null) {
+            eventPublisher.publishEvent(new ProductImageUploadedEvent(product.getId(), imageUrl));  // 커밋 후 파생본 생성
+        }
     }
 
     @PreAuthorize("hasRole('ADMIN')")
     public void updateProduct(Long id, ProductDTO productDTO, MultipartFile image) throws IOException {  // 상품 수정
         Product product = getProductById(id);
+        int stockDelta = productDTO.getStock() - product.getStock();
         product.setName(productDTO.getName());
         product.setDescription(productDTO.getDescription());
         product.setPrice(productDTO.getPrice());
         product.setStock(productDTO.getStock());
         product.setCategory(productDTO.getCategory());
 
-        Path imagesDir = Paths.get(uploadDir).toAbsolutePath().normalize();
-        Files.createDirectories(imagesDir);
-
-        if (image != null && !image.isEmpty()) {
-            // 기존 이미지 삭제
-            if (product.getImageUrl() != null) {
-                Path oldImage = Paths.get(product.getImageUrl().substring(1));
-                Files.deleteIfExists(oldImage);
-            }
-
-            String original = StringUtils.cleanPath(image.getOriginalFilename());
-            String ext = "";
-            int dot = original.lastIndexOf('.');
-            if (dot >= 0) ext = original.substring(dot);
-
-            String filename = UUID.randomUUID().toString() + ext;
-            Path destination = imagesDir.resolve(filename);
-            image.transferTo(destination.toFile());
-            product.setImageUrl("/images/" + filename);
+        boolean imageChanged = image != null && !image.isEmpty();
+        if (imageChanged) {
+            String oldImageUrl = product.getImageUrl();
+            product.setImageUrl(imageStore.store(image));
+            imageStore.release(oldImageUrl);    // 기존 이미지 참조 해제 (다른 상품이 쓰지 않으면 정리 작업이 삭제)
         }
         productRepository.save(product);
+        eventPublisher.publishEvent(ProductChangedEvent.of(id));
+        if (stockDelta != 0) {
+            eventPublisher.publishEvent(new ProductStockAdjustedEvent(id, stockDelta));     // 재고 예약 장부에는 차이만 반영
+        }
+        if (imageChanged) {
+            productRepository.resetImageVariants(id);   // 새 이미지의 파생본이 생성될 때까지 원본 사용
+            eventPublisher.publishEvent(new ProductImageUploadedEvent(id, product.getImageUrl()));
+        }
     }
 
     @PreAuthorize("hasRole('ADMIN')")
-    public void deleteProduct(Long id) throws IOException {    // 상품 삭제
+    public void deleteProduct(Long id) {    // 상품 삭제
         Product product = getProductById(id);
         cartItemRepository.deleteByProductId(id);
-
-        // 이미지 삭제
-        if (product.getImageUrl() != null) {
-            Path imagePath = Paths.get(product.getImageUrl().substring(1));
-            Files.deleteIfExists(imagePath);
-        }
+        imageStore.release(product.getImageUrl());     // 이미지 참조 해제
 
         productRepository.delete(product);
+        eventPublisher.publishEvent(ProductChangedEvent.of(id));
+    }
+
+    @Transactional(readOnly = true)
+    public Map<String, Object> getProductCacheStats() {    // 상품 캐시 통계 조회
+        return productCache.statsSummary();
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    public void reprocessImages(boolean force) {    // 기존 상품 이미지 파생본 일괄 재생성
+        imageVariantService.startReprocess(force);
+    }
+
+    @Transactional(readOnly = true)
+    public Map<String, Object> getImageVariantStats() {    // 이미지 파생본 생성 통계 조회
+        return imageVariantService.stats();
     }
 
     @Transactional(readOnly = true)
     public List<PopularProductDTO> getTop3PopularProducts() {  // 가장 많이 팔린 top3 상품 조회
-        List<PopularProductDTO> popularProducts = productRepository.findTop3ByOrderTimes();
+        return getPopularProducts(3, null);
+    }
+
+    @Transactional(readOnly = true)
+    public List<PopularProductDTO> getPopularProducts(int limit, Category category) {  // 최근 30일 인기 상품 top N 조회 (카테고리별 가능)
+        if (!popularProductLeaderboard.isReady()) {     // 집계 초기화 전에는 DB 집계 쿼리 사용 (같은 기간, 개수, 카테고리)
+            LocalDateTime since = LocalDate.now().minusDays(PopularProductLeaderboard.WINDOW_DAYS - 1).atStartOfDay();
+            List<PopularProductDTO> popularProducts = new ArrayList<>();
+            for (Object[] row : productRepository.findPopularProducts(since, category == null ? null : category.name(), limit)) {
+                popularProducts.add(PopularProductDTO.builder()
+                        .id(((Number) row[0]).longValue())
+                        .name((String) row[1])
+                        .imageUrl(ImageVariant.LIST.url((String) row[2], row[3] instanceof Number ready ? ready.intValue() != 0 : Boolean.TRUE.equals(row[3])))    // 집계 경로와 같은 목록용 축소 이미지
+                        .category((String) row[4])
+                        .price(((Number) row[5]).intValue())
+                        .sales30d(((Number) row[6]).longValue())
+                        .averageRating(((Number) row[7]).doubleValue())
+                        .reviewCount(((Number) row[8]).longValue())
+                        .build());
+            }
+            return popularProducts;
+        }
+
+        List<PopularProductLeaderboard.Entry> top = popularProductLeaderboard.top(limit, category);
+        if (top.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Map<Long, ProductListDTO> productMap = productRepository.findListDTOsByIds(
+                        top.stream().map(PopularProductLeaderboard.Entry::productId).toList()).stream()
+                .collect(Collectors.toMap(ProductListDTO::getId, Function.identity()));
+
+        List<PopularProductDTO> popularProducts = new ArrayList<>();
+        for (PopularProductLeaderboard.Entry entry : top) {
+            ProductListDTO product = productMap.get(entry.productId());
+            if (product == null) {  // 삭제된 상품
+                continue;
+            }
+            popularProducts.add(PopularProductDTO.builder()
+                    .id(product.getId())
+                    .name(product.getName())
+                    .imageUrl(product.getImageUrl())
+                    .category(product.getCategory().name())
+                    .price(product.getPrice())
+                    .sales30d(entry.sales())
+                    .averageRating(product.getAverageRating())
+                    .reviewCount(product.getReviewCount())
+                    .build());
+        }
         return popularProducts;
     }
 }
@@ -0,0 +1,81 @@
+package com.example.project.service;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import lombok.RequiredArgsConstructor;
+
+import com.example.project.model.Product;
+import com.example.project.repository.ProductRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class ProductStockService {     // 여러 상품 재고 일괄 차감 (행 잠금 1회 + 조건부 배치 UPDATE)
+    private static final String DECREASE_SQL = "UPDATE product SET stock = stock - ? WHERE id = ? AND stock >= ?";
+    private static final String APPLY_DELTA_SQL = "UPDATE product SET stock = stock + ? WHERE id = ?";
+
+    private final ProductRepository productRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public List<Long> decreaseStocks(Map<Long, Integer> quantities) {   // 재고 차감 후 재고가 부족했던 상품 ID 반환
+        if (quantities.isEmpty()) {
+            return List.of();
+        }
+        TreeMap<Long, Integer> sorted = new TreeMap<>(quantities);    // 교착 상태 방지를 위해 상품 ID 오름차순 처리
+        productRepository.lockAllByIdsInOrder(sorted.keySet());
+
+        List<Long> productIds = new ArrayList<>(sorted.keySet());
+        List<Object[]> args = new ArrayList<>(productIds.size());
+        for (Long productId : productIds) {
+            int quantity = sorted.get(productId);
+            args.add(new Object[]{quantity, productId, quantity});
+        }
+        int[] updated = jdbcTemplate.batchUpdate(DECREASE_SQL, args);
+
+        List<Long> failed = new ArrayList<>();
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                failed.add(productIds.get(i));
+            }
+        }
+        return failed;
+    }
+
+    @Transactional(readOnly = true)
+    public List<Long> findShortages(Map<Long, Integer> quantities) {   // 재고가 부족한 상품 ID (차감 없이 확인만, 결제 승인 요청 전 사용)
+        Map<Long, Integer> stocks = productRepository.findAllById(quantities.keySet()).stream()
+                .collect(Collectors.toMap(Product::getId, Product::getStock));
+        List<Long> shortages = new ArrayList<>();
+        new TreeMap<>(quantities).forEach((productId, quantity) -> {
+            if (stocks.getOrDefault(productId, 0) < quantity) {
+                shortages.add(productId);
+            }
+        });
+        return shortages;
+    }
+
+    @Transactional
+    public void applyReservedDecreases(Map<Long, Integer> quantities) {   // 재고 예약 장부에서 확정된 차감 수량 일괄 반영 (예약 단계에서 재고 확인 완료)
+        applyDeltas(quantities, -1);
+    }
+
+    @Transactional
+    public void increaseStocks(Map<Long, Integer> quantities) {    // 주문 취소 시 재고 복구 (현재 값 기준 상대 UPDATE)
+        applyDeltas(quantities, 1);
+    }
+
+    private void applyDeltas(Map<Long, Integer> quantities, int sign) {
+        List<Object[]> args = new ArrayList<>(quantities.size());
+        new TreeMap<>(quantities).forEach((productId, quantity) -> args.add(new Object[]{sign * quantity, productId}));
+        jdbcTemplate.batchUpdate(APPLY_DELTA_SQL, args);
+    }
+}
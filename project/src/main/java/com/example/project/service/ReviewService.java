@@ -1,8 +1,13 @@
 package com.example.project.service;
 
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.transaction.annotation.Transactional;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
 import com.example.project.dto.ReviewDTO;
 import com.example.project.model.Product;
@@ -17,10 +22,12 @@ import org.springframework.security.access.AccessDeniedException;
 @Service
 @RequiredArgsConstructor
 @Transactional
+@Slf4j
 public class ReviewService {
     private final ReviewRepository reviewRepository;
     private final ProductRepository productRepository;
     private final UserRepository userRepository;
+    private final OrderHistoryProjection orderHistoryProjection;
 
     @Transactional(readOnly = true)
     public Review findReviewById(Long reviewId) {   // 리뷰 조회
@@ -42,6 +49,8 @@ public class ReviewService {
         user.addReview(review); // 양방향 연관관계 설정
         product.addReview(review);
         reviewRepository.save(review);
+        productRepository.adjustRatingAggregate(productId, reviewDTO.getRating(), 1);   // 별점 집계 갱신
+        orderHistoryProjection.updateReview(userId, productId, review.getId());     // 주문 내역의 리뷰 작성 여부 갱신
     }
 
     public void updateReview(Long reviewId, Long userId, String reviewText, int rating) {   // 리뷰 수정
@@ -57,14 +66,45 @@ public class ReviewService {
             throw new IllegalArgumentException("리뷰 내용은 비워둘 수 없습니다.");
         }
 
+        int ratingDelta = rating - review.getRating();
         review.setReviewText(reviewText);
         review.setRating(rating);
         reviewRepository.save(review);
+        if (ratingDelta != 0) {
+            productRepository.adjustRatingAggregate(review.getProduct().getId(), ratingDelta, 0);   // 별점 집계 갱신
+        }
     }
 
     public void deleteReview(Long reviewId) {   // 리뷰 삭제
         Review review = findReviewById(reviewId);
+        Long productId = review.getProduct().getId();
+        Long userId = review.getUser().getId();
+        int rating = review.getRating();
         reviewRepository.delete(review);
+        productRepository.adjustRatingAggregate(productId, -rating, -1);   // 별점 집계 갱신
+        orderHistoryProjection.updateReview(userId, productId, null);
+    }
+
+    @Scheduled(cron = "${app.rating.repair-cron:0 0 4 * * *}")
+    public void rebuildRatingAggregates() {     // 상품별 별점 집계 재계산 (집계 값 보정용)
+        int updated = productRepository.rebuildRatingAggregates();
+        log.info("상품 별점 집계 재계산 완료: {}개 상품", updated);
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {      // 애플리케이션 시작 시 비어 있는 별점 집계 채움 (보정 작업을 기다리지 않도록)
+        backfillRatingAggregatesIfMissing();
+    }
+
+    public boolean backfillRatingAggregatesIfMissing() {
+        long missing = productRepository.countMissingRatingAggregates();
+        if (missing == 0) {
+            return false;
+        }
+        log.info("별점 집계가 비어 있는 상품 {}개 발견, 전체 재계산", missing);
+        rebuildRatingAggregates();
+        return true;
     }
 
     @Transactional(readOnly = true)
@@ -1,9 +1,11 @@
 package com.example.project.service;
 
 import com.example.project.dto.RegisterDTO;
+import com.example.project.event.UserProfileChangedEvent;
 import com.example.project.model.User;
 import com.example.project.repository.UserRepository;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
@@ -19,6 +21,7 @@ public class UserService {
     private final UserRepository userRepository;
     private final BCryptPasswordEncoder bCryptPasswordEncoder;
     private final EmailService emailService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional(readOnly = true)
     public User findUserById(Long id) {  // 유저 조회
@@ -92,6 +95,7 @@ public class UserService {
         }
         user.setName(newName);
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserProfileChangedEvent(userId));  // 세션 사용자 정보 갱신
     }
 
     public void updatePassword(Long userId, String currentPassword, String newPassword) {   // 비밀번호 변경
@@ -128,6 +132,7 @@ public class UserService {
         }
         user.setEmail(newEmail);
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserProfileChangedEvent(userId));  // 세션 사용자 정보 갱신
     }
 
     public void deleteUser(Long id) {   // 유저 삭제
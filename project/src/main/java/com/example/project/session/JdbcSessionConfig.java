@@ -0,0 +1,35 @@
+package com.example.project.session;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.session.config.annotation.web.http.EnableSpringHttpSession;
+import org.springframework.session.web.http.CookieSerializer;
+import org.springframework.session.web.http.DefaultCookieSerializer;
+
+import java.time.Duration;
+
+@Configuration
+@EnableSpringHttpSession
+@ConditionalOnProperty(name = "app.session.store", havingValue = "jdbc")    // 기본값(memory)은 Tomcat 세션 사용
+public class JdbcSessionConfig {
+
+    @Bean
+    public JdbcSessionRepository sessionRepository(JdbcTemplate jdbcTemplate,
+                                                   PlatformTransactionManager transactionManager,
+                                                   @Value("${server.servlet.session.timeout:30m}") Duration timeout,
+                                                   @Value("${app.session.jdbc.purge-grace-seconds:300}") long purgeGraceSeconds,
+                                                   @Value("${app.session.jdbc.purge-batch-size:500}") int purgeBatchSize) {
+        return new JdbcSessionRepository(jdbcTemplate, transactionManager, timeout, Duration.ofSeconds(purgeGraceSeconds), purgeBatchSize);
+    }
+
+    @Bean
+    public CookieSerializer cookieSerializer() {    // 기존 쿠키 이름 유지 (로그아웃 시 JSESSIONID 삭제)
+        DefaultCookieSerializer serializer = new DefaultCookieSerializer();
+        serializer.setCookieName("JSESSIONID");
+        return serializer;
+    }
+}
@@ -0,0 +1,373 @@
+package com.example.project.session;
+
+import org.springframework.core.serializer.support.DeserializingConverter;
+import org.springframework.core.serializer.support.SerializingConverter;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.session.Session;
+import org.springframework.session.SessionRepository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+@Slf4j
+public class JdbcSessionRepository implements SessionRepository<JdbcSessionRepository.JdbcSession> {  // DB 테이블에 세션 저장 (여러 서버 인스턴스가 로그인 공유)
+    private static final String CREATE_SESSION_TABLE = "CREATE TABLE IF NOT EXISTS app_session (" +
+            "session_id VARCHAR(36) NOT NULL PRIMARY KEY, " +
+            "creation_time BIGINT NOT NULL, " +
+            "last_access_time BIGINT NOT NULL, " +
+            "max_inactive_interval INT NOT NULL, " +
+            "expiry_time BIGINT NOT NULL)";
+    private static final String CREATE_ATTRIBUTE_TABLE = "CREATE TABLE IF NOT EXISTS app_session_attribute (" +
+            "session_id VARCHAR(36) NOT NULL, " +
+            "attribute_name VARCHAR(200) NOT NULL, " +
+            "attribute_bytes BLOB NOT NULL, " +
+            "PRIMARY KEY (session_id, attribute_name))";
+    private static final String CREATE_EXPIRY_INDEX = "CREATE INDEX idx_app_session_expiry ON app_session (expiry_time)";
+
+    private static final String INSERT_SESSION = "INSERT INTO app_session (session_id, creation_time, last_access_time, max_inactive_interval, expiry_time) VALUES (?, ?, ?, ?, ?)";
+    private static final String SELECT_SESSION = "SELECT creation_time, last_access_time, max_inactive_interval FROM app_session WHERE session_id = ?";
+    private static final String UPDATE_SESSION = "UPDATE app_session SET last_access_time = ?, max_inactive_interval = ?, expiry_time = ? WHERE session_id = ?";
+    private static final String UPDATE_ACCESS_TIME = "UPDATE app_session SET last_access_time = ?, expiry_time = ? + max_inactive_interval * 1000 WHERE session_id = ? AND last_access_time < ?";
+    private static final String CHANGE_SESSION_ID = "UPDATE app_session SET session_id = ? WHERE session_id = ?";
+    private static final String CHANGE_ATTRIBUTE_SESSION_ID = "UPDATE app_session_attribute SET session_id = ? WHERE session_id = ?";
+    private static final String DELETE_SESSION = "DELETE FROM app_session WHERE session_id = ?";
+    private static final String SELECT_ATTRIBUTE = "SELECT attribute_bytes FROM app_session_attribute WHERE session_id = ? AND attribute_name = ?";
+    private static final String SELECT_ATTRIBUTE_NAMES = "SELECT attribute_name FROM app_session_attribute WHERE session_id = ?";
+    private static final String UPSERT_ATTRIBUTE = "INSERT INTO app_session_attribute (session_id, attribute_name, attribute_bytes) VALUES (?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE attribute_bytes = VALUES(attribute_bytes)";   // 같은 세션을 동시에 저장해도 키 중복 없이 마지막 값으로
+    private static final String DELETE_ATTRIBUTE = "DELETE FROM app_session_attribute WHERE session_id = ? AND attribute_name = ?";
+    private static final String DELETE_ATTRIBUTES = "DELETE FROM app_session_attribute WHERE session_id = ?";
+    private static final String SELECT_EXPIRED = "SELECT session_id FROM app_session WHERE expiry_time < ? ORDER BY expiry_time LIMIT ?";
+
+    private static final Object ABSENT = new Object();     // DB에 없는 속성 (재조회 방지)
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration defaultMaxInactiveInterval;
+    private final Duration purgeGrace;
+    private final int purgeBatchSize;
+    private final SerializingConverter serializer = new SerializingConverter();
+    private final ConcurrentHashMap<String, Long> pendingAccessTimes = new ConcurrentHashMap<>();  // 아직 DB에 쓰지 않은 마지막 접근 시각
+
+    private final LongAdder bufferedAccessWrites = new LongAdder();
+    private final LongAdder flushedAccessWrites = new LongAdder();
+    private final LongAdder attributeLoads = new LongAdder();
+    private final LongAdder purgedSessions = new LongAdder();
+
+    public JdbcSessionRepository(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                 Duration defaultMaxInactiveInterval, Duration purgeGrace, int purgeBatchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);     // 세션 저장/삭제의 여러 문장을 한 트랜잭션으로
+        this.defaultMaxInactiveInterval = defaultMaxInactiveInterval;
+        this.purgeGrace = purgeGrace;
+        this.purgeBatchSize = purgeBatchSize;
+    }
+
+    @PostConstruct
+    public void createTablesIfMissing() {   // 세션 테이블이 없으면 생성
+        jdbcTemplate.execute(CREATE_SESSION_TABLE);
+        jdbcTemplate.execute(CREATE_ATTRIBUTE_TABLE);
+        try {
+            jdbcTemplate.execute(CREATE_EXPIRY_INDEX);
+        } catch (DataAccessException e) {
+            log.debug("세션 만료 인덱스가 이미 존재합니다.");
+        }
+    }
+
+    @Override
+    public JdbcSession createSession() {
+        Instant now = Instant.now();
+        return new JdbcSession(UUID.randomUUID().toString(), now, now, defaultMaxInactiveInterval, true);
+    }
+
+    @Override
+    public void save(JdbcSession session) {
+        transactionTemplate.executeWithoutResult(status -> write(session));
+        if (!session.id.equals(session.originalId)) {
+            pendingAccessTimes.remove(session.originalId);
+            session.originalId = session.id;
+        }
+        if (session.isNew) {
+            session.isNew = false;
+        } else if (session.maxInactiveChanged) {
+            pendingAccessTimes.remove(session.id);
+        } else if (session.lastAccessChanged) {    // 접근 시각만 바뀐 경우 모아서 일괄 반영
+            pendingAccessTimes.merge(session.id, session.lastAccessedTime.toEpochMilli(), Math::max);
+            bufferedAccessWrites.increment();
+        }
+        session.clearChanges();
+    }
+
+    private void write(JdbcSession session) {  // 세션 행과 변경된 속성 반영 (트랜잭션 안에서 호출, 실패하면 세션 상태는 그대로)
+        if (session.isNew) {
+            jdbcTemplate.update(INSERT_SESSION, session.id, session.creationTime.toEpochMilli(),
+                    session.lastAccessedTime.toEpochMilli(), (int) session.maxInactiveInterval.getSeconds(), session.expiryMillis());
+            writeAttributes(session);
+            return;
+        }
+
+        if (!session.id.equals(session.originalId)) {   // 로그인 시 세션 고정 공격 방지를 위한 ID 변경 (두 테이블을 함께 변경)
+            jdbcTemplate.update(CHANGE_SESSION_ID, session.id, session.originalId);
+            jdbcTemplate.update(CHANGE_ATTRIBUTE_SESSION_ID, session.id, session.originalId);
+        }
+        writeAttributes(session);
+
+        if (session.maxInactiveChanged) {
+            jdbcTemplate.update(UPDATE_SESSION, session.lastAccessedTime.toEpochMilli(),
+                    (int) session.maxInactiveInterval.getSeconds(), session.expiryMillis(), session.id);
+        }
+    }
+
+    private void writeAttributes(JdbcSession session) {
+        if (!session.removedAttributes.isEmpty() && !session.isNew) {
+            List<Object[]> deletes = new ArrayList<>();
+            session.removedAttributes.forEach(name -> deletes.add(new Object[]{session.id, name}));
+            jdbcTemplate.batchUpdate(DELETE_ATTRIBUTE, deletes);
+        }
+        if (!session.changedAttributes.isEmpty()) {
+            List<Object[]> upserts = new ArrayList<>();
+            session.changedAttributes.forEach((name, value) -> upserts.add(new Object[]{session.id, name, serializer.convert(value)}));
+            jdbcTemplate.batchUpdate(UPSERT_ATTRIBUTE, upserts);
+        }
+    }
+
+    @Override
+    public JdbcSession findById(String id) {
+        List<JdbcSession> found = jdbcTemplate.query(SELECT_SESSION, (rs, rowNum) -> new JdbcSession(id,
+                Instant.ofEpochMilli(rs.getLong("creation_time")),
+                Instant.ofEpochMilli(rs.getLong("last_access_time")),
+                Duration.ofSeconds(rs.getInt("max_inactive_interval")),
+                false), id);
+        if (found.isEmpty()) {
+            return null;
+        }
+        JdbcSession session = found.get(0);
+        Long pending = pendingAccessTimes.get(id);
+        if (pending != null && pending > session.lastAccessedTime.toEpochMilli()) {
+            session.lastAccessedTime = Instant.ofEpochMilli(pending);
+        }
+        if (session.isExpired()) {     // 다른 서버에 아직 반영되지 않은 접근 시각이 있을 수 있으므로 삭제는 유예 시간을 두는 정리 작업에 맡김
+            return null;
+        }
+        return session;
+    }
+
+    @Override
+    public void deleteById(String id) {
+        pendingAccessTimes.remove(id);
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update(DELETE_ATTRIBUTES, id);
+            jdbcTemplate.update(DELETE_SESSION, id);
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${app.session.jdbc.flush-interval-ms:5000}")
+    public int flushAccessTimes() {     // 버퍼에 모인 마지막 접근 시각을 배치 UPDATE로 반영
+        if (pendingAccessTimes.isEmpty()) {
+            return 0;
+        }
+        List<Object[]> args = new ArrayList<>();
+        for (String sessionId : pendingAccessTimes.keySet()) {
+            Long accessTime = pendingAccessTimes.remove(sessionId);
+            if (accessTime != null) {
+                args.add(new Object[]{accessTime, accessTime, sessionId, accessTime});
+            }
+        }
+        jdbcTemplate.batchUpdate(UPDATE_ACCESS_TIME, args);
+        flushedAccessWrites.add(args.size());
+        return args.size();
+    }
+
+    @Scheduled(fixedDelayString = "${app.session.jdbc.purge-interval-ms:60000}")
+    public int purgeExpiredSessions() {     // 만료된 세션 일괄 삭제 (다른 인스턴스의 미반영 접근 시각을 고려해 유예 시간 적용)
+        flushAccessTimes();
+        long cutoff = System.currentTimeMillis() - purgeGrace.toMillis();
+        int purged = 0;
+        List<String> ids;
+        do {
+            ids = jdbcTemplate.queryForList(SELECT_EXPIRED, String.class, cutoff, purgeBatchSize);
+            if (ids.isEmpty()) {
+                break;
+            }
+            List<Object[]> args = ids.stream().map(id -> new Object[]{id}).toList();
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate(DELETE_ATTRIBUTES, args);
+                jdbcTemplate.batchUpdate(DELETE_SESSION, args);
+            });
+            purged += ids.size();
+        } while (ids.size() == purgeBatchSize);
+
+        purgedSessions.add(purged);
+        if (purged > 0) {
+            log.info("만료된 세션 {}개 삭제", purged);
+        }
+        return purged;
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flushAccessTimes();
+    }
+
+    public Map<String, Object> stats() {   // 접근 시각 버퍼/속성 조회/만료 삭제 통계
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("pendingAccessWrites", pendingAccessTimes.size());
+        summary.put("bufferedAccessWrites", bufferedAccessWrites.sum());
+        summary.put("flushedAccessWrites", flushedAccessWrites.sum());
+        summary.put("attributeLoads", attributeLoads.sum());
+        summary.put("purgedSessions", purgedSessions.sum());
+        return summary;
+    }
+
+    private Object loadAttribute(String sessionId, String name) {
+        attributeLoads.increment();
+        List<byte[]> rows = jdbcTemplate.query(SELECT_ATTRIBUTE, (rs, rowNum) -> rs.getBytes(1), sessionId, name);
+        if (rows.isEmpty()) {
+            return ABSENT;
+        }
+        return new DeserializingConverter(Thread.currentThread().getContextClassLoader()).convert(rows.get(0));
+    }
+
+    public final class JdbcSession implements Session {    // 속성은 처음 조회할 때 DB에서 읽음
+        private String id;
+        private String originalId;
+        private final Instant creationTime;
+        private Instant lastAccessedTime;
+        private Duration maxInactiveInterval;
+        private boolean isNew;
+        private boolean lastAccessChanged;
+        private boolean maxInactiveChanged;
+        private final Map<String, Object> loadedAttributes = new HashMap<>();
+        private final Map<String, Object> changedAttributes = new HashMap<>();
+        private final Set<String> removedAttributes = new HashSet<>();
+        private Set<String> storedNames;
+
+        private JdbcSession(String id, Instant creationTime, Instant lastAccessedTime, Duration maxInactiveInterval, boolean isNew) {
+            this.id = id;
+            this.originalId = id;
+            this.creationTime = creationTime;
+            this.lastAccessedTime = lastAccessedTime;
+            this.maxInactiveInterval = maxInactiveInterval;
+            this.isNew = isNew;
+        }
+
+        @Override
+        public String getId() {
+            return id;
+        }
+
+        @Override
+        public String changeSessionId() {
+            id = UUID.randomUUID().toString();
+            return id;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T getAttribute(String attributeName) {
+            if (changedAttributes.containsKey(attributeName)) {
+                return (T) changedAttributes.get(attributeName);
+            }
+            if (isNew || removedAttributes.contains(attributeName)) {
+                return null;
+            }
+            Object value = loadedAttributes.computeIfAbsent(attributeName, name -> loadAttribute(originalId, name));
+            return value == ABSENT ? null : (T) value;
+        }
+
+        @Override
+        public Set<String> getAttributeNames() {
+            if (storedNames == null) {
+                storedNames = isNew ? new HashSet<>() : new HashSet<>(jdbcTemplate.queryForList(SELECT_ATTRIBUTE_NAMES, String.class, originalId));
+            }
+            Set<String> names = new HashSet<>(storedNames);
+            names.removeAll(removedAttributes);
+            names.addAll(changedAttributes.keySet());
+            return names;
+        }
+
+        @Override
+        public void setAttribute(String attributeName, Object attributeValue) {
+            if (attributeValue == null) {
+                removeAttribute(attributeName);
+                return;
+            }
+            changedAttributes.put(attributeName, attributeValue);
+            removedAttributes.remove(attributeName);
+        }
+
+        @Override
+        public void removeAttribute(String attributeName) {
+            changedAttributes.remove(attributeName);
+            loadedAttributes.remove(attributeName);
+            removedAttributes.add(attributeName);
+        }
+
+        @Override
+        public Instant getCreationTime() {
+            return creationTime;
+        }
+
+        @Override
+        public void setLastAccessedTime(Instant lastAccessedTime) {
+            this.lastAccessedTime = lastAccessedTime;
+            this.lastAccessChanged = true;
+        }
+
+        @Override
+        public Instant getLastAccessedTime() {
+            return lastAccessedTime;
+        }
+
+        @Override
+        public void setMaxInactiveInterval(Duration interval) {
+            this.maxInactiveInterval = interval;
+            this.maxInactiveChanged = true;
+        }
+
+        @Override
+        public Duration getMaxInactiveInterval() {
+            return maxInactiveInterval;
+        }
+
+        @Override
+        public boolean isExpired() {
+            return !maxInactiveInterval.isNegative() && System.currentTimeMillis() >= expiryMillis();
+        }
+
+        private long expiryMillis() {
+            return lastAccessedTime.toEpochMilli() + maxInactiveInterval.toMillis();
+        }
+
+        private void clearChanges() {
+            changedAttributes.forEach(loadedAttributes::put);
+            removedAttributes.forEach(name -> loadedAttributes.put(name, ABSENT));
+            if (storedNames != null) {
+                storedNames.removeAll(removedAttributes);
+                storedNames.addAll(changedAttributes.keySet());
+            }
+            changedAttributes.clear();
+            removedAttributes.clear();
+            lastAccessChanged = false;
+            maxInactiveChanged = false;
+        }
+    }
+}
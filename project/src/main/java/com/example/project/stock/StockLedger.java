@@ -0,0 +1,200 @@
+package com.example.project.stock;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+public class StockLedger {     // 상품별 가용 재고를 메모리에서 예약/해제 (행 잠금 없이 CAS로 처리)
+    private final Function<Long, Integer> stockLoader;
+    private final ConcurrentHashMap<Long, ProductStock> stocks = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Map<Long, Integer>> reservations = new ConcurrentHashMap<>();
+    private final LongAdder reserveCount = new LongAdder();
+    private final LongAdder rejectCount = new LongAdder();
+    private final LongAdder releaseCount = new LongAdder();
+    private final LongAdder confirmCount = new LongAdder();
+
+    public StockLedger(Function<Long, Integer> stockLoader) {  // stockLoader: 상품 ID -> DB 재고 (없는 상품이면 null)
+        this.stockLoader = stockLoader;
+    }
+
+    private static final class ProductStock {
+        private final AtomicLong available;                     // 예약 가능한 재고
+        private final LongAdder reserved = new LongAdder();     // 결제 대기 중인 예약 수량
+        private final AtomicLong pendingFlush = new AtomicLong();  // 결제 완료되었지만 DB에 아직 반영되지 않은 수량
+        private final long loadedAtNanos = System.nanoTime();       // DB에서 재고를 읽은 시각
+
+        private ProductStock(long available) {
+            this.available = new AtomicLong(available);
+        }
+
+        private boolean tryTake(int quantity) {
+            long current;
+            do {
+                current = available.get();
+                if (current < quantity) {
+                    return false;
+                }
+            } while (!available.compareAndSet(current, current - quantity));
+            return true;
+        }
+    }
+
+    public List<Long> reserve(Long orderId, Map<Long, Integer> quantities) {  // 주문 전체 재고 예약 (전부 성공 또는 전부 실패), 부족한 상품 ID 반환
+        if (reservations.containsKey(orderId)) {
+            throw new IllegalStateException("이미 재고가 예약된 주문입니다.");
+        }
+        Map<Long, Integer> sorted = new TreeMap<>(quantities);
+        Map<Long, Integer> taken = new LinkedHashMap<>();
+        List<Long> failed = new ArrayList<>();
+        for (Map.Entry<Long, Integer> entry : sorted.entrySet()) {
+            ProductStock stock = load(entry.getKey());
+            if (stock.tryTake(entry.getValue())) {
+                taken.put(entry.getKey(), entry.getValue());
+            } else {
+                failed.add(entry.getKey());
+            }
+        }
+
+        if (!failed.isEmpty()) {    // 일부 실패 시 이미 차감한 수량 되돌림
+            taken.forEach((productId, quantity) -> stocks.get(productId).available.addAndGet(quantity));
+            rejectCount.increment();
+            return failed;
+        }
+        taken.forEach((productId, quantity) -> stocks.get(productId).reserved.add(quantity));
+        reservations.put(orderId, Map.copyOf(taken));
+        reserveCount.increment();
+        return List.of();
+    }
+
+    public boolean hasReservation(Long orderId) {
+        return reservations.containsKey(orderId);
+    }
+
+    public boolean release(Long orderId) {     // 예약 해제 (주문 취소/만료), 예약이 없으면 false
+        Map<Long, Integer> reservation = reservations.remove(orderId);
+        if (reservation == null) {
+            return false;
+        }
+        reservation.forEach((productId, quantity) -> {
+            ProductStock stock = stocks.get(productId);
+            if (stock != null) {
+                stock.reserved.add(-quantity);
+                stock.available.addAndGet(quantity);
+            }
+        });
+        releaseCount.increment();
+        return true;
+    }
+
+    public boolean confirm(Long orderId) {     // 결제 완료: 예약 수량을 DB 반영 대기 수량으로 전환
+        Map<Long, Integer> reservation = reservations.remove(orderId);
+        if (reservation == null) {
+            return false;
+        }
+        reservation.forEach((productId, quantity) -> {
+            ProductStock stock = stocks.get(productId);
+            if (stock != null) {
+                stock.reserved.add(-quantity);
+                stock.pendingFlush.addAndGet(quantity);
+            }
+        });
+        confirmCount.increment();
+        return true;
+    }
+
+    public void restock(Map<Long, Integer> quantities) {    // 결제 완료 주문 취소 등으로 DB 재고가 늘어난 만큼 가용 재고 증가
+        quantities.forEach((productId, quantity) -> {
+            ProductStock stock = stocks.get(productId);
+            if (stock != null) {
+                stock.available.addAndGet(quantity);
+            }
+        });
+    }
+
+    public void consume(Map<Long, Integer> quantities) {    // 예약 없이 DB에서 바로 차감된 수량만큼 가용 재고 감소 (예약 기능 사용 전 생성된 주문 등)
+        quantities.forEach((productId, quantity) -> {
+            ProductStock stock = stocks.get(productId);
+            if (stock != null) {
+                stock.available.addAndGet(-quantity);
+            }
+        });
+    }
+
+    // 관리자가 재고를 직접 수정한 차이만큼 가용 재고 조정 (예약/확정과 경쟁하지 않도록 덮어쓰지 않고 더함)
+    // 수정 이후에 DB에서 읽은 장부는 이미 새 재고를 포함하므로 건너뜀 (커밋 전에 읽었다면 적게 잡히는 쪽으로만 어긋남)
+    public void adjust(Long productId, int delta, long adjustedAtNanos) {
+        ProductStock stock = stocks.get(productId);
+        if (stock == null || stock.loadedAtNanos - adjustedAtNanos >= 0) {
+            return;
+        }
+        stock.available.addAndGet(delta);
+    }
+
+    public void removeIfMissing(Long productId) {  // 삭제된 상품은 장부에서 제거
+        if (stocks.containsKey(productId) && stockLoader.apply(productId) == null) {
+            stocks.remove(productId);
+        }
+    }
+
+    public Map<Long, Integer> drainPendingFlush() {     // DB에 반영할 수량을 꺼내고 0으로 초기화
+        Map<Long, Integer> deltas = new HashMap<>();
+        stocks.forEach((productId, stock) -> {
+            long delta = stock.pendingFlush.getAndSet(0);
+            if (delta > 0) {
+                deltas.put(productId, (int) delta);
+            }
+        });
+        return deltas;
+    }
+
+    public void requeue(Map<Long, Integer> deltas) {    // DB 반영 실패 시 다시 대기열로
+        deltas.forEach((productId, delta) -> {
+            ProductStock stock = stocks.get(productId);
+            if (stock != null) {
+                stock.pendingFlush.addAndGet(delta);
+            }
+        });
+    }
+
+    public long available(Long productId) {
+        return load(productId).available.get();
+    }
+
+    public long reserved(Long productId) {
+        ProductStock stock = stocks.get(productId);
+        return stock == null ? 0 : stock.reserved.sum();
+    }
+
+    public long pendingFlush(Long productId) {
+        ProductStock stock = stocks.get(productId);
+        return stock == null ? 0 : stock.pendingFlush.get();
+    }
+
+    public Map<String, Object> stats() {   // 예약/거절/해제/확정 건수 통계
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("products", stocks.size());
+        summary.put("outstandingReservations", reservations.size());
+        summary.put("reserveCount", reserveCount.sum());
+        summary.put("rejectCount", rejectCount.sum());
+        summary.put("releaseCount", releaseCount.sum());
+        summary.put("confirmCount", confirmCount.sum());
+        return summary;
+    }
+
+    private ProductStock load(Long productId) {
+        return stocks.computeIfAbsent(productId, id -> {
+            Integer dbStock = stockLoader.apply(id);
+            if (dbStock == null) {
+                throw new IllegalArgumentException("상품을 찾을 수 없습니다");
+            }
+            return new ProductStock(dbStock);
+        });
+    }
+}
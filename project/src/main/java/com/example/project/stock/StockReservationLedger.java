@@ -0,0 +1,150 @@
+package com.example.project.stock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+import com.example.project.event.ProductChangedEvent;
+import com.example.project.event.ProductStockAdjustedEvent;
+import com.example.project.model.Product;
+import com.example.project.repository.ProductRepository;
+import com.example.project.service.ProductStockService;
+
+import java.util.List;
+import java.util.Map;
+
+@Component
+@Slf4j
+public class StockReservationLedger {  // 결제 대기 주문의 재고 예약 (app.stock.reservation.enabled=true일 때만 사용)
+    private final StockLedger ledger;
+    private final ProductStockService productStockService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean enabled;
+
+    public StockReservationLedger(ProductRepository productRepository,
+                                  ProductStockService productStockService,
+                                  ApplicationEventPublisher eventPublisher,
+                                  @Value("${app.stock.reservation.enabled:false}") boolean enabled) {
+        this.ledger = new StockLedger(id -> productRepository.findById(id).map(Product::getStock).orElse(null));
+        this.productStockService = productStockService;
+        this.eventPublisher = eventPublisher;
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void reserve(Long orderId, Map<Long, Integer> quantities) {     // 주문 생성 시 재고 예약 (트랜잭션 롤백 시 자동 해제)
+        if (!enabled) {
+            return;
+        }
+        List<Long> failed = ledger.reserve(orderId, quantities);
+        if (!failed.isEmpty()) {
+            throw new IllegalStateException("재고가 부족합니다. 상품 ID: " + failed);
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        ledger.release(orderId);
+                    }
+                }
+            });
+        }
+    }
+
+    public boolean hasReservation(Long orderId) {
+        return enabled && ledger.hasReservation(orderId);
+    }
+
+    public void confirmAfterCommit(Long orderId) {  // 결제 완료 커밋 후 예약 수량을 DB 반영 대기로 전환
+        afterCommit(() -> ledger.confirm(orderId));
+    }
+
+    public void releaseAfterCommit(Long orderId) {  // 주문 취소/삭제 커밋 후 예약 해제
+        afterCommit(() -> ledger.release(orderId));
+    }
+
+    public boolean release(Long orderId) {
+        return enabled && ledger.release(orderId);
+    }
+
+    public void restockAfterCommit(Map<Long, Integer> quantities) {     // 결제 완료 주문 취소 커밋 후 가용 재고 복구
+        afterCommit(() -> ledger.restock(quantities));
+    }
+
+    public void consumeAfterCommit(Map<Long, Integer> quantities) {     // 예약 없이 DB 재고를 직접 차감한 결제 커밋 후 가용 재고 감소
+        afterCommit(() -> ledger.consume(quantities));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {  // 관리자 상품 삭제 시 장부에서 제거
+        if (!enabled || event.isStockOnly() || event.isImageOnly()) {
+            return;
+        }
+        event.getProductIds().forEach(ledger::removeIfMissing);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStockAdjusted(ProductStockAdjustedEvent event) {  // 관리자 재고 수정 커밋 후 차이만큼 가용 재고 조정
+        if (!enabled) {
+            return;
+        }
+        ledger.adjust(event.getProductId(), event.getDelta(), event.getAdjustedAtNanos());
+    }
+
+    @Scheduled(fixedDelayString = "${app.stock.reservation.flush-interval-ms:1000}")
+    public synchronized void flush() {     // 확정된 재고 차감분을 DB에 일괄 반영
+        if (!enabled) {
+            return;
+        }
+        Map<Long, Integer> deltas = ledger.drainPendingFlush();
+        if (deltas.isEmpty()) {
+            return;
+        }
+        try {
+            productStockService.applyReservedDecreases(deltas);
+            eventPublisher.publishEvent(ProductChangedEvent.stockChanged(deltas.keySet()));
+        } catch (RuntimeException e) {
+            ledger.requeue(deltas);     // 다음 주기에 재시도
+            log.warn("재고 차감 반영 실패, 다음 주기에 재시도: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> summary = ledger.stats();
+        summary.put("enabled", enabled);
+        return summary;
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!enabled) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.project.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+public final class CursorCodec {    // 커서 토큰 인코딩/디코딩 (클라이언트에는 불투명한 문자열로 노출)
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private CursorCodec() {
+    }
+
+    public static String encodeId(Long id) {   // (id) 커서
+        return encode("i:" + id);
+    }
+
+    public static Long decodeId(String cursor) {
+        String raw = decode(cursor);
+        if (!raw.startsWith("i:")) {
+            throw new IllegalArgumentException("잘못된 커서입니다.");
+        }
+        try {
+            return Long.parseLong(raw.substring(2));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("잘못된 커서입니다.");
+        }
+    }
+
+    public static String encodeTimeId(LocalDateTime time, Long id) {   // (시간, id) 커서
+        return encode("t:" + time + "|" + id);
+    }
+
+    public static TimeCursor decodeTimeId(String cursor) {
+        String raw = decode(cursor);
+        int sep = raw.lastIndexOf('|');
+        if (!raw.startsWith("t:") || sep < 0) {
+            throw new IllegalArgumentException("잘못된 커서입니다.");
+        }
+        try {
+            return new TimeCursor(LocalDateTime.parse(raw.substring(2, sep)), Long.parseLong(raw.substring(sep + 1)));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("잘못된 커서입니다.");
+        }
+    }
+
+    private static String encode(String raw) {
+        return ENCODER.encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decode(String cursor) {
+        try {
+            return new String(DECODER.decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("잘못된 커서입니다.");
+        }
+    }
+
+    public record TimeCursor(LocalDateTime time, Long id) {
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.project;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.example.project.cart.CartStore;
+import com.example.project.repository.CartItemRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class CartStoreTest {
+    private final CartItemRepository cartItemRepository = mock(CartItemRepository.class);
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+
+    private CartStore newStore(long maxCarts) {
+        return new CartStore(cartItemRepository, jdbcTemplate, mock(PlatformTransactionManager.class), true, maxCarts, 1800);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<String> writes() {    // 실행된 배치 SQL과 인자 ("SQL 앞부분 -> 인자" 형식)
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<List<Object[]>> args = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, atLeast(0)).batchUpdate(sql.capture(), args.capture());
+        List<String> result = new ArrayList<>();
+        for (int i = 0; i < sql.getAllValues().size(); i++) {
+            String verb = sql.getAllValues().get(i).split(" ")[0];
+            for (Object[] row : args.getAllValues().get(i)) {
+                result.add(verb + " " + List.of(row));
+            }
+        }
+        return result;
+    }
+
+    @Test
+    void 여러_번_담아도_주기_반영_시_한_번만_기록() {
+        CartStore store = newStore(100);
+        store.mutate(1L, cart -> { cart.add(100L, 2); return null; });
+        store.mutate(1L, cart -> { cart.add(100L, 3); return null; });
+
+        store.flushDirty();
+        store.flushDirty();     // 변경이 없으면 기록하지 않음
+
+        assertThat(writes()).containsExactly("INSERT [1, 5, 100]");
+        verify(cartItemRepository).findLinesByUserId(1L);   // 적재는 한 번
+    }
+
+    @Test
+    void 수량_제한은_메모리에서_확인() {
+        CartStore store = newStore(100);
+        store.mutate(1L, cart -> { cart.add(100L, 8); return null; });
+
+        assertThatThrownBy(() -> store.mutate(1L, cart -> { cart.add(100L, 3); return null; }))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("최대 10개");
+        assertThat(store.read(1L, cart -> cart.find(100L).getQuantity())).isEqualTo(8);
+    }
+
+    @Test
+    void 저장된_항목은_UPDATE_삭제는_DELETE() {
+        when(cartItemRepository.findLinesByUserId(1L)).thenReturn(List.<Object[]>of(new Object[]{11L, 100L, 2}));
+        CartStore store = newStore(100);
+
+        store.mutate(1L, cart -> { cart.change(cart.findById(11L), 1); return null; });
+        store.flushDirty();
+        store.mutate(1L, cart -> cart.remove(100L));
+        store.flushDirty();
+
+        assertThat(writes()).containsExactly("UPDATE [3, 1, 100]", "DELETE [1, 100]");
+    }
+
+    @Test
+    void 새_항목은_반영_후_UPDATE_대상() {
+        CartStore store = newStore(100);
+        store.mutate(1L, cart -> { cart.add(100L, 1); return null; });
+        store.flushDirty();
+        Long id = store.read(1L, cart -> cart.find(100L).getId());
+
+        store.mutate(1L, cart -> { cart.change(cart.findById(id), 1); return null; });     // 임시 ID로도 계속 찾을 수 있음
+        store.flushDirty();
+
+        assertThat(id).isNegative();
+        assertThat(writes()).containsExactly("INSERT [1, 1, 100]", "UPDATE [2, 1, 100]");
+    }
+
+    @Test
+    void 반영_실패_시_다음_주기에_재시도() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenThrow(new QueryTimeoutException("timeout"))
+                .thenReturn(new int[]{1});
+        CartStore store = newStore(100);
+        store.mutate(1L, cart -> { cart.add(100L, 1); return null; });
+
+        store.flushDirty();
+        store.flushDirty();
+
+        assertThat(writes()).containsExactly("INSERT [1, 1, 100]", "INSERT [1, 1, 100]");
+        assertThat(store.stats().get("failures")).isEqualTo(1L);
+        assertThat(store.stats().get("dirty")).isEqualTo(0);
+    }
+
+    @Test
+    void 비우기는_사용자_전체_삭제() {
+        when(cartItemRepository.findLinesByUserId(1L)).thenReturn(List.<Object[]>of(new Object[]{11L, 100L, 2}));
+        CartStore store = newStore(100);
+
+        store.clearAfterCommit(1L);     // 트랜잭션 밖이면 바로 비움
+        store.flush(1L);
+
+        assertThat(writes()).containsExactly("DELETE [1]");
+        assertThat(store.read(1L, CartStore.Cart::lines)).isEmpty();
+    }
+
+    @Test
+    void 제거될_때_변경분을_반영() {
+        CartStore store = newStore(1);
+        store.mutate(1L, cart -> { cart.add(100L, 1); return null; });
+        for (long userId = 2; userId < 500 && (long) store.stats().get("evictionFlushes") == 0; userId++) {
+            for (int i = 0; i < 3; i++) {   // 자주 쓰는 장바구니가 남도록 여러 번 조회
+                store.read(userId, CartStore.Cart::lines);
+            }
+        }
+
+        verify(jdbcTemplate, timeout(5000)).batchUpdate(startsWith("INSERT"), anyList());
+        assertThat(writes()).contains("INSERT [1, 1, 100]");
+    }
+}
@@ -0,0 +1,165 @@
+package com.example.project;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.example.project.model.CartItem;
+import com.example.project.model.Product;
+import com.example.project.model.User;
+import com.example.project.repository.CartItemRepository;
+import com.example.project.repository.ProductRepository;
+import com.example.project.repository.UserRepository;
+import com.example.project.service.CartItemService;
+import com.example.project.service.EmailService;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+@SpringBootTest(properties = "app.cart.store.enabled=false")     // DB upsert 경로 검증
+@ActiveProfiles("test")
+public class CartUpsertConcurrencyTest {
+    private static final int THREADS = 32;
+
+    @Autowired
+    private CartItemService cartItemService;
+
+    @Autowired
+    private CartItemRepository cartItemRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @MockitoBean
+    private EmailService emailService;
+
+    private Long userId;
+    private final List<Long> productIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        String suffix = String.valueOf(System.nanoTime() % 1_000_000_000L);
+        userId = userRepository.save(User.builder()
+                .username("cart" + suffix)
+                .name("장바구니")
+                .password("password")
+                .email("cart" + suffix + "@example.com")
+                .phoneNumber("010" + suffix)
+                .address("서울")
+                .role(User.Role.USER)
+                .build()).getId();
+        for (int i = 0; i < 4; i++) {
+            productIds.add(productRepository.save(Product.builder()
+                    .name("장바구니 테스트 상품 " + i + "-" + suffix)
+                    .price(1000)
+                    .stock(100)
+                    .category(Product.Category.ELECTRONICS)
+                    .build()).getId());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionTemplate.executeWithoutResult(status -> cartItemRepository.deleteByUserId(userId));
+        productRepository.deleteAllById(productIds);
+        userRepository.deleteById(userId);
+    }
+
+    private List<Object> addConcurrently(Long productId, int attempts) throws Exception {    // 동시에 1개씩 담고 결과 수량 또는 예외 수집
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Object> results = Collections.synchronizedList(new ArrayList<>());
+        for (int n = 0; n < attempts; n++) {
+            executor.submit(() -> {
+                try {
+                    start.await();
+                    results.add(cartItemService.addCartItem(userId, productId, 1));
+                } catch (Throwable e) {
+                    results.add(e);
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(60, TimeUnit.SECONDS)).isTrue();
+        return results;
+    }
+
+    @Test
+    void 동시에_담아도_행_하나에_합산되고_상한을_넘지_않음() throws Exception {
+        Long productId = productIds.get(0);
+        List<Object> results = addConcurrently(productId, 200);
+
+        List<Object> accepted = results.stream().filter(r -> r instanceof Integer).toList();
+        List<Object> rejected = results.stream().filter(r -> r instanceof IllegalArgumentException).toList();
+        assertThat(accepted).containsExactlyInAnyOrderElementsOf(IntStream.rangeClosed(1, 10).boxed().toList());   // 각 요청이 서로 다른 결과 수량을 봄
+        assertThat(rejected).hasSize(190);
+
+        List<CartItem> rows = cartItemRepository.findByUserId(userId);
+        assertThat(rows).hasSize(1);
+        assertThat(rows.get(0).getQuantity()).isEqualTo(10);
+    }
+
+    @Test
+    void 여러_상품을_동시에_담아도_상품별_합계가_정확() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Throwable> errors = Collections.synchronizedList(new ArrayList<>());
+        for (Long productId : productIds) {
+            for (int n = 0; n < 3; n++) {   // 상품마다 3 + 3 + 3 = 9개
+                executor.submit(() -> {
+                    try {
+                        start.await();
+                        cartItemService.addCartItem(userId, productId, 3);
+                    } catch (Throwable e) {
+                        errors.add(e);
+                    }
+                });
+            }
+        }
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(60, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(errors).isEmpty();
+        List<CartItem> rows = cartItemRepository.findByUserId(userId);
+        assertThat(rows).hasSize(productIds.size());
+        assertThat(rows).allSatisfy(row -> assertThat(row.getQuantity()).isEqualTo(9));
+    }
+
+    @Test
+    void 새_행을_추가하면_담긴_수량_반환() {
+        assertThat(cartItemService.addCartItem(userId, productIds.get(0), 1)).isEqualTo(1);
+        assertThat(cartItemService.addCartItem(userId, productIds.get(1), 1)).isEqualTo(1);     // 두 번째 행의 AUTO_INCREMENT ID(2 이상)가 아닌 수량
+        assertThat(cartItemService.addCartItem(userId, productIds.get(1), 4)).isEqualTo(5);
+        assertThatThrownBy(() -> cartItemService.addCartItem(userId, productIds.get(1), 6))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(cartItemRepository.findByUserIdAndProductId(userId, productIds.get(1)).getQuantity()).isEqualTo(5);
+    }
+
+    @Test
+    void 없는_상품은_거절() {
+        assertThatThrownBy(() -> cartItemService.addCartItem(userId, -1L, 1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(cartItemRepository.findByUserId(userId)).isEmpty();
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.project;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.example.project.util.CursorCodec;
+
+import java.time.LocalDateTime;
+
+public class CursorCodecTest {
+
+    @Test
+    void id_커서_왕복() {
+        assertThat(CursorCodec.decodeId(CursorCodec.encodeId(42L))).isEqualTo(42L);
+    }
+
+    @Test
+    void 시간_id_커서_왕복() {
+        LocalDateTime time = LocalDateTime.of(2024, 5, 1, 10, 0, 30, 123_000_000);
+
+        CursorCodec.TimeCursor cursor = CursorCodec.decodeTimeId(CursorCodec.encodeTimeId(time, 7L));
+
+        assertThat(cursor.time()).isEqualTo(time);
+        assertThat(cursor.id()).isEqualTo(7L);
+    }
+
+    @Test
+    void 잘못된_커서는_예외() {
+        assertThatThrownBy(() -> CursorCodec.decodeId("!!!")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> CursorCodec.decodeId(CursorCodec.encodeTimeId(LocalDateTime.now(), 1L))).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> CursorCodec.decodeTimeId(CursorCodec.encodeId(1L))).isInstanceOf(IllegalArgumentException.class);
+    }
+}
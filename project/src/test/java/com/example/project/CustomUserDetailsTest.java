@@ -0,0 +1,55 @@
+package com.example.project;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.example.project.model.User;
+import com.example.project.security.CustomUserDetails;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+public class CustomUserDetailsTest {
+
+    @Test
+    void 직렬화_후_복원() throws Exception {
+        CustomUserDetails principal = new CustomUserDetails(7L, "testuser", User.Role.ADMIN, true, "encodedPassword");
+
+        byte[] bytes = serialize(principal);
+        CustomUserDetails restored = (CustomUserDetails) deserialize(bytes);
+
+        assertThat(restored.getUserId()).isEqualTo(7L);
+        assertThat(restored.getUsername()).isEqualTo("testuser");
+        assertThat(restored.hasRole("ROLE_ADMIN")).isTrue();
+        assertThat(restored.isEnabled()).isTrue();
+        assertThat(restored.getPassword()).isNull();       // 비밀번호는 세션에 저장하지 않음
+        assertThat(restored).isEqualTo(principal);
+        assertThat(bytes.length).isLessThan(256);
+    }
+
+    @Test
+    void 인증_후_비밀번호_제거() {
+        CustomUserDetails principal = new CustomUserDetails(1L, "testuser", User.Role.USER, true, "encodedPassword");
+
+        principal.eraseCredentials();
+
+        assertThat(principal.getPassword()).isNull();
+    }
+
+    private static byte[] serialize(Object object) throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(object);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Object deserialize(byte[] bytes) throws Exception {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return in.readObject();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.project;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.mockito.ArgumentCaptor;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+import com.example.project.model.EmailOutbox;
+import com.example.project.service.EmailOutboxDispatcher;
+import com.example.project.service.EmailOutboxService;
+
+import jakarta.mail.internet.MimeMessage;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public class EmailOutboxDispatcherTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    private EmailOutboxService emailOutboxService;
+    private JavaMailSenderImpl mailSender;
+
+    @BeforeEach
+    void setUp() {
+        emailOutboxService = mock(EmailOutboxService.class);
+        mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("127.0.0.1");
+        mailSender.setPort(ServerSetupTest.SMTP.getPort());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void 대기_메일_배치_발송() throws Exception {
+        List<EmailOutbox> first = outboxes(1, 3);
+        List<EmailOutbox> second = outboxes(4, 1);
+        when(emailOutboxService.claimBatch(anyInt(), any(Duration.class))).thenReturn(first, second, List.of());
+        EmailOutboxDispatcher dispatcher = new EmailOutboxDispatcher(emailOutboxService, mailSender, 3, 10, 120);
+
+        int sent = dispatcher.dispatch();
+
+        assertThat(sent).isEqualTo(4);
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertThat(received).hasSize(4);
+        assertThat(received[0].getSubject()).isEqualTo("이메일 인증");
+
+        ArgumentCaptor<Collection<Long>> sentIds = ArgumentCaptor.forClass(Collection.class);
+        verify(emailOutboxService, times(2)).complete(sentIds.capture(), eq(Map.of()));
+        assertThat(sentIds.getAllValues().get(0)).containsExactlyInAnyOrder(1L, 2L, 3L);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void SMTP_연결_실패시_재시도_대상으로_반영() {
+        mailSender.setPort(1);      // 연결할 수 없는 포트
+        when(emailOutboxService.claimBatch(anyInt(), any(Duration.class))).thenReturn(outboxes(1, 2));
+        EmailOutboxDispatcher dispatcher = new EmailOutboxDispatcher(emailOutboxService, mailSender, 50, 10, 120);
+
+        assertThat(dispatcher.dispatch()).isZero();
+
+        ArgumentCaptor<Map<Long, String>> failures = ArgumentCaptor.forClass(Map.class);
+        verify(emailOutboxService).complete(eq(List.of()), failures.capture());
+        assertThat(failures.getValue()).containsOnlyKeys(1L, 2L);
+    }
+
+    private static List<EmailOutbox> outboxes(long firstId, int count) {
+        List<EmailOutbox> list = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            list.add(EmailOutbox.builder()
+                    .id(firstId + i)
+                    .recipient("user" + (firstId + i) + "@example.com")
+                    .subject("이메일 인증")
+                    .body("다음 링크를 클릭하여 이메일 인증을 완료하세요:\nhttp://localhost:3000/auth/verify?token=" + i)
+                    .status(EmailOutbox.Status.SENDING)
+                    .build());
+        }
+        return list;
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.project;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.example.project.metrics.HandlerMethodObservationConvention;
+
+import io.micrometer.common.KeyValue;
+
+public class HandlerMethodObservationConventionTest {
+    private final HandlerMethodObservationConvention convention = new HandlerMethodObservationConvention();
+
+    static class SampleController {
+        public String getProducts() {
+            return "ok";
+        }
+    }
+
+    @Test
+    void 컨트롤러_메서드를_handler_태그로_기록() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/products");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE, new HandlerMethod(new SampleController(),
+                SampleController.class.getMethod("getProducts")));
+
+        assertThat(convention.getLowCardinalityKeyValues(new ServerRequestObservationContext(request, new MockHttpServletResponse())))
+                .contains(KeyValue.of("handler", "SampleController.getProducts"));
+    }
+
+    @Test
+    void 핸들러가_없으면_none() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/images/a.png");
+
+        assertThat(convention.getLowCardinalityKeyValues(new ServerRequestObservationContext(request, new MockHttpServletResponse())))
+                .contains(KeyValue.of("handler", "none"));
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.project;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.example.project.image.ImageFileServer;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class ImageFileServerTest {
+    @TempDir
+    Path imagesDir;
+
+    private ImageFileServer server;
+    private byte[] content;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        content = new byte[1000];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) i;
+        }
+        Files.write(imagesDir.resolve("abc.png"), content);
+        server = new ImageFileServer(imagesDir.toString(), 31536000, 3600, 100_000);
+    }
+
+    private MockHttpServletResponse get(MockHttpServletRequest request, String filename) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        server.serve(filename, request, response);
+        return response;
+    }
+
+    @Test
+    void 전체_전송과_캐시_헤더() throws Exception {
+        MockHttpServletResponse response = get(new MockHttpServletRequest("GET", "/images/abc.png"), "abc.png");
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsByteArray()).isEqualTo(content);
+        assertThat(response.getContentType()).isEqualTo("image/png");
+        assertThat(response.getHeader("Cache-Control")).isEqualTo("public, max-age=31536000, immutable");
+        assertThat(response.getHeader("ETag")).startsWith("\"");
+        assertThat(response.getHeader("Accept-Ranges")).isEqualTo("bytes");
+    }
+
+    @Test
+    void 파생본은_immutable_없이_짧게_캐시() throws Exception {
+        Files.write(imagesDir.resolve("abc_thumb.jpg"), content);
+
+        MockHttpServletResponse response = get(new MockHttpServletRequest("GET", "/images/abc_thumb.jpg"), "abc_thumb.jpg");
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getHeader("Cache-Control")).isEqualTo("public, max-age=3600");
+    }
+
+    @Test
+    void ETag가_같으면_304() throws Exception {
+        String etag = get(new MockHttpServletRequest("GET", "/images/abc.png"), "abc.png").getHeader("ETag");
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/images/abc.png");
+        request.addHeader("If-None-Match", "\"other\", " + etag);
+        MockHttpServletResponse response = get(request, "abc.png");
+
+        assertThat(response.getStatus()).isEqualTo(304);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+        assertThat(server.stats().get("notModified")).isEqualTo(1L);
+    }
+
+    @Test
+    void 범위_요청() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/images/abc.png");
+        request.addHeader("Range", "bytes=100-199");
+        MockHttpServletResponse response = get(request, "abc.png");
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getHeader("Content-Range")).isEqualTo("bytes 100-199/1000");
+        assertThat(response.getContentAsByteArray()).hasSize(100).startsWith(content[100]);
+
+        request = new MockHttpServletRequest("GET", "/images/abc.png");
+        request.addHeader("Range", "bytes=-10");
+        assertThat(get(request, "abc.png").getHeader("Content-Range")).isEqualTo("bytes 990-999/1000");
+    }
+
+    @Test
+    void 범위를_벗어나면_416() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/images/abc.png");
+        request.addHeader("Range", "bytes=1000-");
+        MockHttpServletResponse response = get(request, "abc.png");
+
+        assertThat(response.getStatus()).isEqualTo(416);
+        assertThat(response.getHeader("Content-Range")).isEqualTo("bytes */1000");
+    }
+
+    @Test
+    void If_Range가_다르면_전체_전송() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/images/abc.png");
+        request.addHeader("Range", "bytes=0-9");
+        request.addHeader("If-Range", "\"stale\"");
+        MockHttpServletResponse response = get(request, "abc.png");
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsByteArray()).hasSize(1000);
+    }
+
+    @Test
+    void 잘못된_파일명은_404() throws Exception {
+        assertThat(get(new MockHttpServletRequest("GET", "/images/x"), "..").getStatus()).isEqualTo(404);
+        assertThat(get(new MockHttpServletRequest("GET", "/images/x"), ".variant-1.tmp").getStatus()).isEqualTo(404);
+        assertThat(get(new MockHttpServletRequest("GET", "/images/x"), "missing.png").getStatus()).isEqualTo(404);
+    }
+
+    @Test
+    void sendfile_지원_시_본문을_직접_쓰지_않음() throws Exception {
+        server = new ImageFileServer(imagesDir.toString(), 31536000, 3600, 512);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/images/abc.png");
+        request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+        MockHttpServletResponse response = get(request, "abc.png");
+
+        assertThat(response.getContentAsByteArray()).isEmpty();
+        assertThat(response.getContentLengthLong()).isEqualTo(1000);
+        assertThat(request.getAttribute("org.apache.tomcat.sendfile.filename")).isEqualTo(imagesDir.resolve("abc.png").toAbsolutePath().normalize().toString());
+        assertThat(request.getAttribute("org.apache.tomcat.sendfile.start")).isEqualTo(0L);
+        assertThat(request.getAttribute("org.apache.tomcat.sendfile.end")).isEqualTo(1000L);
+        assertThat(server.stats().get("sendfile")).isEqualTo(1L);
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.project;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.example.project.image.ImageStore;
+import com.example.project.repository.StoredImageRepository;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class ImageStoreTest {
+    private static final String HELLO_SHA256 = "2cf24dba5fb0a30e26e83b2ac5b9e29e1b161e5c1fa7425e73043362938b9824";
+
+    @TempDir
+    Path imagesDir;
+
+    private final StoredImageRepository repository = mock(StoredImageRepository.class);
+    private ImageStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new ImageStore(repository, new TransactionTemplate(mock(PlatformTransactionManager.class)),
+                imagesDir.toString(), 3600, 100, 10);
+    }
+
+    private static MockMultipartFile upload(String filename, String content) {
+        return new MockMultipartFile("image", filename, "image/png", content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void makeOld(Path file) throws Exception {
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now().minusSeconds(7200)));
+    }
+
+    @Test
+    void 내용_해시로_저장하고_같은_이미지는_한_번만() throws Exception {
+        String first = store.store(upload("a.PNG", "hello"));
+        String second = store.store(upload("b.png", "hello"));
+
+        assertThat(first).isEqualTo("/images/" + HELLO_SHA256 + ".png");
+        assertThat(second).isEqualTo(first);
+        assertThat(Files.readString(imagesDir.resolve(HELLO_SHA256 + ".png"))).isEqualTo("hello");
+        try (var files = Files.list(imagesDir)) {
+            assertThat(files.count()).isEqualTo(1);     // 임시 파일도 남지 않음
+        }
+        verify(repository, times(2)).reference(eq(HELLO_SHA256 + ".png"), eq(5L), any());
+        assertThat(store.stats().get("stored")).isEqualTo(1L);
+        assertThat(store.stats().get("deduplicated")).isEqualTo(1L);
+    }
+
+    @Test
+    void 확장자가_이상하면_생략() throws Exception {
+        assertThat(store.store(upload("../../evil.p/ng", "hello"))).isEqualTo("/images/" + HELLO_SHA256);
+    }
+
+    @Test
+    void 해시_이미지는_참조만_해제() throws Exception {
+        Path file = Files.writeString(imagesDir.resolve(HELLO_SHA256 + ".png"), "hello");
+
+        store.release("/images/" + HELLO_SHA256 + ".png");
+
+        verify(repository).release(eq(HELLO_SHA256 + ".png"), any());
+        assertThat(Files.exists(file)).isTrue();
+    }
+
+    @Test
+    void 이전_방식_이미지는_파생본과_함께_삭제() throws Exception {
+        Path legacy = Files.writeString(imagesDir.resolve("0b6f-legacy.png"), "x");
+        Path variant = Files.writeString(imagesDir.resolve("0b6f-legacy_list.jpg"), "x");
+
+        store.release("/images/0b6f-legacy.png");
+
+        assertThat(Files.exists(legacy)).isFalse();
+        assertThat(Files.exists(variant)).isFalse();
+        verify(repository, never()).release(any(), any());
+    }
+
+    @Test
+    void 정리_작업은_잠근_행의_파일과_파생본_삭제() throws Exception {
+        String filename = HELLO_SHA256 + ".png";
+        Path original = Files.writeString(imagesDir.resolve(filename), "hello");
+        Path thumb = Files.writeString(imagesDir.resolve(HELLO_SHA256 + "_thumb.jpg"), "t");
+        when(repository.lockOrphans(any(), eq(100))).thenReturn(List.of(filename));
+        when(repository.deleteOrphans(List.of(filename))).thenReturn(1);
+
+        store.collect();
+
+        assertThat(Files.exists(original)).isFalse();
+        assertThat(Files.exists(thumb)).isFalse();
+        assertThat(store.stats().get("collected")).isEqualTo(1L);
+    }
+
+    @Test
+    void 기록_없는_오래된_파일은_등록하고_임시_파일은_삭제() throws Exception {
+        String known = "a".repeat(64) + ".png";
+        String unknown = "b".repeat(64) + ".png";
+        String recent = "c".repeat(64) + ".png";
+        makeOld(Files.writeString(imagesDir.resolve(known), "k"));
+        makeOld(Files.writeString(imagesDir.resolve(unknown), "u"));
+        Files.writeString(imagesDir.resolve(recent), "r");     // 유예 시간 이내 (업로드 중일 수 있음)
+        Path temp = Files.writeString(imagesDir.resolve(".upload-123.tmp"), "partial");
+        makeOld(temp);
+        Path legacy = Files.writeString(imagesDir.resolve("legacy-uuid.png"), "l");
+        makeOld(legacy);
+        when(repository.findExistingFilenames(anyCollection())).thenReturn(List.of(known));
+        when(repository.lockOrphans(any(), anyInt())).thenReturn(List.of());
+
+        store.collect();
+
+        verify(repository).adoptOrphan(eq(unknown), eq(1L), any(LocalDateTime.class));
+        verify(repository, never()).adoptOrphan(eq(known), anyLong(), any());
+        verify(repository, never()).adoptOrphan(eq(recent), anyLong(), any());
+        assertThat(Files.exists(temp)).isFalse();
+        assertThat(Files.exists(legacy)).isTrue();  // 해시 이름이 아닌 파일은 건드리지 않음
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.project;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.example.project.event.ProductChangedEvent;
+import com.example.project.event.ProductImageUploadedEvent;
+import com.example.project.image.ImageVariant;
+import com.example.project.image.ImageVariantService;
+import com.example.project.repository.ProductRepository;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+public class ImageVariantServiceTest {
+    @TempDir
+    Path imagesDir;
+
+    private final ProductRepository productRepository = mock(ProductRepository.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    private ImageVariantService service;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (service != null) {
+            service.shutdown();
+        }
+    }
+
+    private ImageVariantService newService(int workers, int queueCapacity) {
+        service = new ImageVariantService(productRepository, new TransactionTemplate(mock(PlatformTransactionManager.class)),
+                eventPublisher, imagesDir.toString(), workers, queueCapacity, 0.85f, 100);
+        return service;
+    }
+
+    private void writePng(String filename, int width, int height) throws Exception {
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB), "png", imagesDir.resolve(filename).toFile());
+    }
+
+    private void awaitIdle() throws InterruptedException {
+        for (int i = 0; i < 200; i++) {
+            if ((int) service.stats().get("active") == 0 && (int) service.stats().get("queued") == 0
+                    && ((long) service.stats().get("generated") + (long) service.stats().get("failed") + (long) service.stats().get("stale")) > 0) {
+                return;
+            }
+            Thread.sleep(50);
+        }
+    }
+
+    @Test
+    void 파생본_URL_변환() {
+        assertThat(ImageVariant.LIST.url("/images/abc.png", true)).isEqualTo("/images/abc_list.jpg");
+        assertThat(ImageVariant.THUMBNAIL.url("/images/abc", true)).isEqualTo("/images/abc_thumb.jpg");
+        assertThat(ImageVariant.DETAIL.url("/images/abc.png", false)).isEqualTo("/images/abc.png");   // 생성 전에는 원본
+        assertThat(ImageVariant.LIST.url(null, true)).isNull();
+    }
+
+    @Test
+    void 업로드_후_파생본_생성() throws Exception {
+        writePng("p1.png", 3000, 2000);
+        when(productRepository.markImageVariantsReady(1L, "/images/p1.png")).thenReturn(1);
+        newService(2, 10);
+
+        service.onImageUploaded(new ProductImageUploadedEvent(1L, "/images/p1.png"));
+        awaitIdle();
+
+        assertThat(service.stats().get("generated")).isEqualTo(1L);
+        BufferedImage detail = ImageIO.read(imagesDir.resolve("p1_detail.jpg").toFile());
+        BufferedImage list = ImageIO.read(imagesDir.resolve("p1_list.jpg").toFile());
+        BufferedImage thumb = ImageIO.read(imagesDir.resolve("p1_thumb.jpg").toFile());
+        assertThat(detail.getWidth()).isEqualTo(1200);
+        assertThat(detail.getHeight()).isEqualTo(800);
+        assertThat(list.getWidth()).isEqualTo(480);
+        assertThat(thumb.getWidth()).isEqualTo(160);
+        assertThat(thumb.getHeight()).isEqualTo(107);
+        verify(eventPublisher).publishEvent(any(ProductChangedEvent.class));    // 캐시 무효화
+    }
+
+    @Test
+    void 작은_원본은_확대하지_않음() throws Exception {
+        writePng("small.png", 100, 50);
+        when(productRepository.markImageVariantsReady(2L, "/images/small.png")).thenReturn(1);
+        newService(1, 10);
+
+        service.onImageUploaded(new ProductImageUploadedEvent(2L, "/images/small.png"));
+        awaitIdle();
+
+        assertThat(ImageIO.read(imagesDir.resolve("small_detail.jpg").toFile()).getWidth()).isEqualTo(100);
+        assertThat(ImageIO.read(imagesDir.resolve("small_thumb.jpg").toFile()).getWidth()).isEqualTo(100);
+    }
+
+    @Test
+    void 생성_중_이미지가_교체되어도_공유_원본의_파생본은_유지() throws Exception {
+        writePng("old.png", 800, 600);
+        when(productRepository.markImageVariantsReady(3L, "/images/old.png")).thenReturn(0);
+        newService(1, 10);
+
+        service.onImageUploaded(new ProductImageUploadedEvent(3L, "/images/old.png"));
+        awaitIdle();
+
+        assertThat(service.stats().get("stale")).isEqualTo(1L);
+        assertThat(Files.exists(imagesDir.resolve("old_list.jpg"))).isTrue();     // 원본이 남아 있으면 다른 상품이 쓰는 중
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void 파생본이_이미_있으면_재사용() throws Exception {
+        writePng("shared.png", 800, 600);
+        when(productRepository.markImageVariantsReady(anyLong(), eq("/images/shared.png"))).thenReturn(1);
+        newService(1, 10);
+
+        service.onImageUploaded(new ProductImageUploadedEvent(5L, "/images/shared.png"));
+        awaitIdle();
+        long modified = Files.getLastModifiedTime(imagesDir.resolve("shared_list.jpg")).toMillis();
+        Files.setLastModifiedTime(imagesDir.resolve("shared_list.jpg"), FileTime.fromMillis(modified - 60_000));
+
+        service.onImageUploaded(new ProductImageUploadedEvent(6L, "/images/shared.png"));
+        Thread.sleep(200);
+        awaitIdle();
+
+        verify(productRepository, timeout(5000)).markImageVariantsReady(6L, "/images/shared.png");
+        assertThat(Files.getLastModifiedTime(imagesDir.resolve("shared_list.jpg")).toMillis()).isEqualTo(modified - 60_000);
+    }
+
+    @Test
+    void 이미지가_아닌_파일은_실패로_집계() throws Exception {
+        Files.writeString(imagesDir.resolve("broken.png"), "not an image");
+        newService(1, 10);
+
+        service.onImageUploaded(new ProductImageUploadedEvent(4L, "/images/broken.png"));
+        awaitIdle();
+
+        assertThat(service.stats().get("failed")).isEqualTo(1L);
+        verify(productRepository, never()).markImageVariantsReady(anyLong(), anyString());
+    }
+}
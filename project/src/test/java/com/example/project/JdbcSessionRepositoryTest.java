@@ -0,0 +1,174 @@
+package com.example.project;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.example.project.session.JdbcSessionRepository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+public class JdbcSessionRepositoryTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private JdbcSessionRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:session-" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        repository = new JdbcSessionRepository(jdbcTemplate, new DataSourceTransactionManager(dataSource), Duration.ofMinutes(30), Duration.ZERO, 2);
+        repository.createTablesIfMissing();
+    }
+
+    @Test
+    void 세션_저장_후_조회() {
+        JdbcSessionRepository.JdbcSession session = repository.createSession();
+        session.setAttribute("userId", 7L);
+        session.setAttribute("cart", "A");
+        repository.save(session);
+
+        JdbcSessionRepository.JdbcSession found = repository.findById(session.getId());
+
+        assertThat(found).isNotNull();
+        assertThat(found.getAttributeNames()).containsExactlyInAnyOrder("userId", "cart");
+        assertThat((Long) found.getAttribute("userId")).isEqualTo(7L);
+    }
+
+    @Test
+    void 속성은_조회할_때만_로드() {
+        JdbcSessionRepository.JdbcSession session = repository.createSession();
+        session.setAttribute("a", "1");
+        session.setAttribute("b", "2");
+        repository.save(session);
+
+        JdbcSessionRepository.JdbcSession found = repository.findById(session.getId());
+        assertThat(repository.stats().get("attributeLoads")).isEqualTo(0L);
+
+        found.getAttribute("a");
+        found.getAttribute("a");
+        assertThat(repository.stats().get("attributeLoads")).isEqualTo(1L);
+    }
+
+    @Test
+    void 접근_시각은_모아서_반영() {
+        JdbcSessionRepository.JdbcSession session = repository.createSession();
+        repository.save(session);
+        Instant accessed = session.getLastAccessedTime().plusSeconds(60);
+
+        JdbcSessionRepository.JdbcSession found = repository.findById(session.getId());
+        found.setLastAccessedTime(accessed);
+        repository.save(found);
+
+        assertThat(storedAccessTime(session.getId())).isLessThan(accessed.toEpochMilli());  // 아직 DB에 반영되지 않음
+        assertThat(repository.findById(session.getId()).getLastAccessedTime()).isEqualTo(accessed);
+
+        assertThat(repository.flushAccessTimes()).isEqualTo(1);
+        assertThat(storedAccessTime(session.getId())).isEqualTo(accessed.toEpochMilli());
+    }
+
+    @Test
+    void 세션_ID_변경() {
+        JdbcSessionRepository.JdbcSession session = repository.createSession();
+        session.setAttribute("key", "value");
+        repository.save(session);
+        String oldId = session.getId();
+
+        JdbcSessionRepository.JdbcSession found = repository.findById(oldId);
+        String newId = found.changeSessionId();
+        repository.save(found);
+
+        assertThat(repository.findById(oldId)).isNull();
+        assertThat((String) repository.findById(newId).getAttribute("key")).isEqualTo("value");
+    }
+
+    @Test
+    void 만료된_세션_일괄_삭제() {
+        for (int i = 0; i < 5; i++) {
+            JdbcSessionRepository.JdbcSession session = repository.createSession();
+            session.setMaxInactiveInterval(Duration.ofSeconds(1));
+            session.setLastAccessedTime(Instant.now().minusSeconds(60));
+            session.setAttribute("i", i);
+            repository.save(session);
+        }
+        JdbcSessionRepository.JdbcSession active = repository.createSession();
+        repository.save(active);
+
+        assertThat(repository.purgeExpiredSessions()).isEqualTo(5);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM app_session", Integer.class)).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM app_session_attribute", Integer.class)).isZero();
+        assertThat(repository.findById(active.getId())).isNotNull();
+    }
+
+    @Test
+    void 만료된_세션은_조회되지_않지만_바로_삭제하지_않음() {
+        JdbcSessionRepository.JdbcSession session = repository.createSession();
+        session.setMaxInactiveInterval(Duration.ofSeconds(1));
+        session.setLastAccessedTime(Instant.now().minusSeconds(60));
+        session.setAttribute("userId", 7L);
+        repository.save(session);
+
+        assertThat(repository.findById(session.getId())).isNull();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM app_session WHERE session_id = ?",
+                Integer.class, session.getId())).isEqualTo(1);
+
+        jdbcTemplate.update("UPDATE app_session SET last_access_time = ?, expiry_time = ? WHERE session_id = ?",
+                System.currentTimeMillis(), System.currentTimeMillis() + 1000, session.getId());    // 다른 서버가 늦게 반영한 접근 시각
+        JdbcSessionRepository.JdbcSession found = repository.findById(session.getId());
+        assertThat(found).isNotNull();
+        assertThat((Long) found.getAttribute("userId")).isEqualTo(7L);
+    }
+
+    @Test
+    void 같은_세션을_동시에_저장해도_속성이_유지됨() throws Exception {
+        JdbcSessionRepository.JdbcSession session = repository.createSession();
+        session.setAttribute("cart", "초기값");
+        repository.save(session);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Throwable> errors = Collections.synchronizedList(new ArrayList<>());
+        for (int n = 0; n < 100; n++) {    // 같은 세션의 요청 여러 개가 같은 속성을 동시에 덮어씀
+            int value = n;
+            executor.submit(() -> {
+                try {
+                    start.await();
+                    JdbcSessionRepository.JdbcSession found = repository.findById(session.getId());
+                    found.setAttribute("cart", "값" + value);
+                    found.setAttribute("visit" + (value % 4), value);
+                    repository.save(found);
+                } catch (Throwable e) {
+                    errors.add(e);
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(60, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(errors).isEmpty();
+        JdbcSessionRepository.JdbcSession found = repository.findById(session.getId());
+        assertThat(found.getAttributeNames()).containsExactlyInAnyOrder("cart", "visit0", "visit1", "visit2", "visit3");
+        assertThat((String) found.getAttribute("cart")).startsWith("값");
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM app_session_attribute WHERE session_id = ?",
+                Integer.class, session.getId())).isEqualTo(5);
+    }
+
+    private long storedAccessTime(String sessionId) {
+        return jdbcTemplate.queryForObject("SELECT last_access_time FROM app_session WHERE session_id = ?", Long.class, sessionId);
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.project;
+
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.example.project.config.KakaoPayConfig;
+import com.example.project.dto.KakaoPayApproveRequestDTO;
+import com.example.project.dto.KakaoPayApproveResponseDTO;
+import com.example.project.dto.KakaoPayCancelRequestDTO;
+import com.example.project.dto.KakaoPayCancelResponseDTO;
+import com.example.project.dto.KakaoPayOrderRequestDTO;
+import com.example.project.dto.KakaoPayOrderResponseDTO;
+import com.example.project.dto.KakaoPayReadyRequestDTO;
+import com.example.project.dto.KakaoPayReadyResponseDTO;
+import com.example.project.payment.KakaoPayClient;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.util.Map;
+
+public class KakaoPayClientTest {
+
+    private KakaoPayStubServer stubServer;
+    private CloseableHttpClient httpClient;
+    private KakaoPayClient kakaoPayClient;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        stubServer = new KakaoPayStubServer();
+        httpClient = KakaoPayConfig.createHttpClient(1000, 500, 500, 10);
+        RestTemplate restTemplate = new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient));
+        kakaoPayClient = new KakaoPayClient(restTemplate, stubServer.getBaseUrl(), "test-secret-key");
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        httpClient.close();
+        stubServer.close();
+    }
+
+    @Test
+    void 결제_준비_승인_호출() {
+        KakaoPayReadyResponseDTO ready = kakaoPayClient.ready(KakaoPayReadyRequestDTO.builder()
+                .cid("TC0ONETIME")
+                .partner_order_id("1")
+                .partner_user_id("1")
+                .item_name("테스트 상품")
+                .quantity(1)
+                .total_amount(10000)
+                .build());
+        KakaoPayApproveResponseDTO approve = kakaoPayClient.approve(KakaoPayApproveRequestDTO.builder()
+                .cid("TC0ONETIME")
+                .tid(ready.getTid())
+                .partner_order_id("1")
+                .partner_user_id("1")
+                .pg_token("pg-token")
+                .build());
+
+        assertEquals("T1", ready.getTid());
+        assertEquals("A1", approve.getAid());
+        assertEquals(1, stubServer.getReadyCount());
+        assertEquals(1, stubServer.getApproveCount());
+    }
+
+    @Test
+    void 결제_취소_호출() {
+        KakaoPayCancelResponseDTO cancel = kakaoPayClient.cancel(KakaoPayCancelRequestDTO.builder()
+                .cid("TC0ONETIME")
+                .tid("T1")
+                .cancel_amount(10000)
+                .cancel_tax_free_amount(0)
+                .build());
+
+        assertEquals("CANCEL_PAYMENT", cancel.getStatus());
+        assertEquals(1, stubServer.getCancelCount());
+    }
+
+    @Test
+    void 결제_상태_조회_호출() {
+        KakaoPayOrderResponseDTO order = kakaoPayClient.order(KakaoPayOrderRequestDTO.builder()
+                .cid("TC0ONETIME")
+                .tid("T1")
+                .build());
+
+        assertEquals("SUCCESS_PAYMENT", order.getStatus());
+        assertEquals(1, stubServer.getOrderCount());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void 연속_호출시_커넥션_재사용() {
+        for (int i = 0; i < 20; i++) {
+            kakaoPayClient.ready(KakaoPayReadyRequestDTO.builder().cid("TC0ONETIME").partner_order_id(String.valueOf(i)).build());
+        }
+
+        assertEquals(20, stubServer.getReadyCount());
+        assertEquals(1, stubServer.getDistinctConnections());     // keep-alive로 하나의 커넥션만 사용
+
+        Map<String, Object> readyStats = (Map<String, Object>) kakaoPayClient.stats().get("ready");
+        assertEquals(20L, readyStats.get("count"));
+        assertEquals(0L, readyStats.get("failures"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void 응답_지연시_타임아웃() {
+        stubServer.setDelayMillis(1500);
+
+        assertThrows(ResourceAccessException.class, () ->
+                kakaoPayClient.ready(KakaoPayReadyRequestDTO.builder().cid("TC0ONETIME").build()));
+
+        Map<String, Object> readyStats = (Map<String, Object>) kakaoPayClient.stats().get("ready");
+        assertEquals(1L, readyStats.get("failures"));
+    }
+
+    @Test
+    void 지표_수집기에_호출_지연_시간_기록() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        kakaoPayClient.bindTo(registry);
+        kakaoPayClient.ready(KakaoPayReadyRequestDTO.builder().cid("TC0ONETIME").build());
+        stubServer.setDelayMillis(1500);
+        assertThrows(ResourceAccessException.class, () ->
+                kakaoPayClient.ready(KakaoPayReadyRequestDTO.builder().cid("TC0ONETIME").build()));
+
+        Timer success = registry.find("kakaopay.requests").tags("operation", "ready", "outcome", "SUCCESS").timer();
+        Timer failure = registry.find("kakaopay.requests").tags("operation", "ready", "outcome", "FAILURE").timer();
+        assertNotNull(success);
+        assertNotNull(failure);
+        assertEquals(1, success.count());
+        assertEquals(1, failure.count());
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.project;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 테스트용 카카오페이 API 스텁 서버 (결제 준비/승인/취소/조회 응답 고정)
+public class KakaoPayStubServer implements AutoCloseable {
+    private final HttpServer server;
+    private final AtomicInteger readyCount = new AtomicInteger();
+    private final AtomicInteger approveCount = new AtomicInteger();
+    private final AtomicInteger cancelCount = new AtomicInteger();
+    private final AtomicInteger orderCount = new AtomicInteger();
+    private final AtomicLong tidSequence = new AtomicLong();
+    private final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+    private volatile long delayMillis = 0;
+
+    public KakaoPayStubServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/online/v1/payment/ready", exchange -> {
+            readyCount.incrementAndGet();
+            respond(exchange, "{\"tid\":\"T" + tidSequence.incrementAndGet() + "\","
+                    + "\"next_redirect_pc_url\":\"http://localhost/pay\",\"created_at\":\"2024-01-01T00:00:00\"}");
+        });
+        server.createContext("/online/v1/payment/approve", exchange -> {
+            approveCount.incrementAndGet();
+            respond(exchange, "{\"aid\":\"A1\",\"tid\":\"T1\",\"cid\":\"TC0ONETIME\",\"partner_order_id\":\"1\","
+                    + "\"partner_user_id\":\"1\",\"payment_method_type\":\"MONEY\",\"quantity\":1}");
+        });
+        server.createContext("/online/v1/payment/cancel", exchange -> {
+            cancelCount.incrementAndGet();
+            respond(exchange, "{\"aid\":\"A2\",\"tid\":\"T1\",\"cid\":\"TC0ONETIME\",\"status\":\"CANCEL_PAYMENT\"}");
+        });
+        server.createContext("/online/v1/payment/order", exchange -> {
+            orderCount.incrementAndGet();
+            respond(exchange, "{\"tid\":\"T1\",\"cid\":\"TC0ONETIME\",\"status\":\"SUCCESS_PAYMENT\"}");
+        });
+        server.setExecutor(Executors.newFixedThreadPool(8));
+        server.start();
+    }
+
+    private void respond(HttpExchange exchange, String json) throws IOException {
+        clientPorts.add(exchange.getRemoteAddress().getPort());
+        exchange.getRequestBody().readAllBytes();
+        if (delayMillis > 0) {
+            try {
+                Thread.sleep(delayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    public String getBaseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public int getReadyCount() {
+        return readyCount.get();
+    }
+
+    public int getApproveCount() {
+        return approveCount.get();
+    }
+
+    public int getCancelCount() {
+        return cancelCount.get();
+    }
+
+    public int getOrderCount() {
+        return orderCount.get();
+    }
+
+    public int getDistinctConnections() {   // 서로 다른 클라이언트 포트 수 (= 사용된 TCP 커넥션 수)
+        return clientPorts.size();
+    }
+
+    public void setDelayMillis(long delayMillis) {
+        this.delayMillis = delayMillis;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
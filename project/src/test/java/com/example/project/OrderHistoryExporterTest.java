@@ -0,0 +1,113 @@
+package com.example.project;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.example.project.model.Order.OrderStatus;
+import com.example.project.repository.OrderRepository;
+import com.example.project.repository.ReviewRepository;
+import com.example.project.service.OrderHistoryExporter;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class OrderHistoryExporterTest {
+    private final OrderRepository orderRepository = mock(OrderRepository.class);
+    private final ReviewRepository reviewRepository = mock(ReviewRepository.class);
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final OrderHistoryExporter exporter = new OrderHistoryExporter(orderRepository, reviewRepository, objectMapper, transactionManager, 2);
+
+    private static final LocalDateTime ORDER_DATE = LocalDateTime.of(2024, 5, 1, 10, 0);
+
+    private static Object[] key(long orderId) {
+        return new Object[] {orderId, ORDER_DATE};
+    }
+
+    private static Object[] row(long orderId, long itemId, long productId, String name) {
+        return new Object[] {orderId, ORDER_DATE, OrderStatus.PAID, 30000,
+                itemId, productId, name, "/images/" + productId + ".png", 1, 10000};
+    }
+
+    @Test
+    void 주문별로_묶어_JSON_배열로_출력() throws Exception {
+        when(reviewRepository.findReviewIdsByUserId(1L)).thenReturn(List.<Object[]>of(new Object[] {100L, 900L}));
+        when(orderRepository.findOrderKeysByUserId(1L, PageRequest.of(0, 2))).thenReturn(List.<Object[]>of(key(2L)));
+        when(orderRepository.findOrderRowsByOrderIds(List.of(2L))).thenReturn(List.of(
+                row(2L, 21L, 100L, "키보드"), row(2L, 22L, 101L, "마우스")));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int written = exporter.export(1L, out, false);
+
+        JsonNode orders = objectMapper.readTree(out.toByteArray());
+        assertThat(written).isEqualTo(1);
+        assertThat(orders.size()).isEqualTo(1);
+        assertThat(orders.get(0).get("id").asLong()).isEqualTo(2L);
+        assertThat(orders.get(0).get("orderItems").size()).isEqualTo(2);
+        assertThat(orders.get(0).get("orderItems").get(0).get("reviewId").asLong()).isEqualTo(900L);
+        assertThat(orders.get(0).get("orderItems").get(1).get("reviewId").isNull()).isTrue();
+        assertThat(orders.get(0).get("status").asText()).isEqualTo("PAID");
+        assertThat(orders.get(0).get("orderDate").asText()).isEqualTo("2024-05-01T10:00");
+        verify(orderRepository, never()).findOrderKeysByUserIdAfter(any(), any(), any(), any());   // 배치 크기보다 적으면 다음 배치 조회 없음
+    }
+
+    @Test
+    void 배치마다_마지막_주문_다음부터_읽음() throws Exception {
+        when(reviewRepository.findReviewIdsByUserId(1L)).thenReturn(List.of());
+        when(orderRepository.findOrderKeysByUserId(1L, PageRequest.of(0, 2))).thenReturn(List.of(key(5L), key(4L)));
+        when(orderRepository.findOrderKeysByUserIdAfter(1L, ORDER_DATE, 4L, PageRequest.of(0, 2))).thenReturn(List.of(key(3L), key(2L)));
+        when(orderRepository.findOrderKeysByUserIdAfter(1L, ORDER_DATE, 2L, PageRequest.of(0, 2))).thenReturn(List.of());
+        when(orderRepository.findOrderRowsByOrderIds(List.of(5L, 4L))).thenReturn(List.of(row(5L, 51L, 100L, "키보드"), row(4L, 41L, 101L, "마우스")));
+        when(orderRepository.findOrderRowsByOrderIds(List.of(3L, 2L))).thenReturn(List.of(row(3L, 31L, 102L, "모니터"), row(2L, 21L, 103L, "의자")));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int written = exporter.export(1L, out, false);
+
+        JsonNode orders = objectMapper.readTree(out.toByteArray());
+        assertThat(written).isEqualTo(4);
+        assertThat(List.of(orders.get(0).get("id").asLong(), orders.get(1).get("id").asLong(),
+                orders.get(2).get("id").asLong(), orders.get(3).get("id").asLong())).containsExactly(5L, 4L, 3L, 2L);
+        verify(transactionManager, times(3)).getTransaction(any());    // 배치마다 별도의 짧은 읽기 트랜잭션
+        verify(transactionManager, times(3)).commit(any());
+    }
+
+    @Test
+    void NDJSON은_한_줄에_주문_하나() throws Exception {
+        when(reviewRepository.findReviewIdsByUserId(1L)).thenReturn(List.of());
+        when(orderRepository.findOrderKeysByUserId(1L, PageRequest.of(0, 2))).thenReturn(List.of(key(2L), key(1L)));
+        when(orderRepository.findOrderRowsByOrderIds(List.of(2L, 1L))).thenReturn(List.of(row(2L, 21L, 100L, "키보드"), row(1L, 11L, 102L, "모니터")));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exporter.export(1L, out, true);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n", -1);
+        assertThat(lines).hasSize(3);
+        assertThat(lines[2]).isEmpty();     // 마지막 줄도 개행으로 끝남
+        assertThat(objectMapper.readTree(lines[0]).get("id").asLong()).isEqualTo(2L);
+        assertThat(objectMapper.readTree(lines[1]).get("orderItems").get(0).get("productName").asText()).isEqualTo("모니터");
+    }
+
+    @Test
+    void 주문이_없으면_빈_배열() throws Exception {
+        when(reviewRepository.findReviewIdsByUserId(1L)).thenReturn(List.of());
+        when(orderRepository.findOrderKeysByUserId(1L, PageRequest.of(0, 2))).thenReturn(List.of());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertThat(exporter.export(1L, out, false)).isZero();
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("[]");
+
+        out.reset();
+        exporter.export(1L, out, true);
+        assertThat(out.size()).isZero();
+        verify(orderRepository, never()).findOrderRowsByOrderIds(any());
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.project;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.example.project.dto.CursorPageDTO;
+import com.example.project.dto.OrderDTO;
+import com.example.project.event.OrderPaidEvent;
+import com.example.project.image.ImageStore;
+import com.example.project.model.Order;
+import com.example.project.model.Order.OrderStatus;
+import com.example.project.model.OrderHistory;
+import com.example.project.model.OrderItem;
+import com.example.project.model.Product;
+import com.example.project.model.User;
+import com.example.project.repository.OrderHistoryRepository;
+import com.example.project.repository.OrderRepository;
+import com.example.project.repository.ReviewRepository;
+import com.example.project.service.OrderHistoryProjection;
+import com.example.project.util.CursorCodec;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+public class OrderHistoryProjectionTest {
+    private final OrderHistoryRepository orderHistoryRepository = mock(OrderHistoryRepository.class);
+    private final OrderRepository orderRepository = mock(OrderRepository.class);
+    private final ReviewRepository reviewRepository = mock(ReviewRepository.class);
+    private final ImageStore imageStore = mock(ImageStore.class);
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final OrderHistoryProjection projection = new OrderHistoryProjection(orderHistoryRepository, orderRepository, reviewRepository,
+            imageStore, objectMapper, new TransactionTemplate(mock(PlatformTransactionManager.class)), 500);
+
+    private static Order paidOrder(long orderId, long userId, long... productIds) {
+        Order order = Order.builder()
+                .id(orderId)
+                .user(User.builder().id(userId).build())
+                .orderDate(LocalDateTime.of(2024, 5, 1, 10, 0))
+                .status(OrderStatus.PAID)
+                .totalPrice(20000)
+                .build();
+        for (long productId : productIds) {
+            Product product = Product.builder().id(productId).name("상품" + productId).imageUrl("/images/shared.png").build();
+            order.addOrderItem(OrderItem.builder().id(productId * 10).product(product).quantity(1).price(10000).build());
+        }
+        return order;
+    }
+
+    private String itemsJson(long productId, Long reviewId) {
+        return "[{\"id\":1,\"orderId\":7,\"productId\":" + productId + ",\"productName\":\"상품\",\"imageUrl\":\"/images/a.png\"," +
+                "\"quantity\":1,\"price\":10000,\"reviewId\":" + reviewId + "}]";
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void 결제_완료_주문을_화면_형태로_저장() throws Exception {
+        when(orderHistoryRepository.findAllById(List.of(7L))).thenReturn(List.of());
+        when(orderRepository.findOrdersWithItemsByIds(List.of(7L))).thenReturn(List.of(paidOrder(7L, 1L, 100L, 101L)));
+        when(reviewRepository.findReviewIdsByUserId(1L)).thenReturn(List.<Object[]>of(new Object[] {100L, 900L}));
+
+        projection.onOrderPaid(new OrderPaidEvent(7L, 1L, LocalDateTime.now(), List.of()));
+
+        ArgumentCaptor<List<OrderHistory>> captor = ArgumentCaptor.forClass(List.class);
+        verify(orderHistoryRepository).saveAll(captor.capture());
+        OrderHistory row = captor.getValue().get(0);
+        assertThat(row.getUserId()).isEqualTo(1L);
+        assertThat(row.getStatus()).isEqualTo(OrderStatus.PAID);
+        assertThat(row.getProductIds()).isEqualTo(",100,101,");
+        JsonNode items = objectMapper.readTree(row.getItemsJson());
+        assertThat(items.get(0).get("productName").asText()).isEqualTo("상품100");
+        assertThat(items.get(0).get("reviewId").asLong()).isEqualTo(900L);
+        assertThat(items.get(1).get("reviewId").isNull()).isTrue();
+        verify(imageStore, times(1)).retain("/images/shared.png");     // 같은 이미지는 한 번만 참조
+    }
+
+    @Test
+    void 이미_있는_주문은_다시_저장하지_않음() {
+        when(orderHistoryRepository.findAllById(List.of(7L))).thenReturn(List.of(OrderHistory.builder().orderId(7L).build()));
+
+        projection.onOrderPaid(new OrderPaidEvent(7L, 1L, LocalDateTime.now(), List.of()));
+
+        verify(orderRepository, never()).findOrdersWithItemsByIds(any());
+        verify(orderHistoryRepository, never()).saveAll(any());
+        verify(imageStore, never()).retain(any());
+    }
+
+    @Test
+    void 리뷰_추가_시_해당_상품의_리뷰_ID_갱신() throws Exception {
+        OrderHistory row = OrderHistory.builder().orderId(7L).userId(1L).itemsJson(itemsJson(100L, null)).productIds(",100,").build();
+        when(orderHistoryRepository.findByUserIdAndProductIdsContaining(1L, ",100,")).thenReturn(List.of(row));
+
+        projection.updateReview(1L, 100L, 900L);
+        assertThat(objectMapper.readTree(row.getItemsJson()).get(0).get("reviewId").asLong()).isEqualTo(900L);
+
+        projection.updateReview(1L, 100L, null);   // 리뷰 삭제
+        assertThat(objectMapper.readTree(row.getItemsJson()).get(0).get("reviewId").isNull()).isTrue();
+    }
+
+    @Test
+    void 커서_조회는_다음_페이지_커서_반환() {
+        LocalDateTime date = LocalDateTime.of(2024, 5, 1, 10, 0);
+        when(orderHistoryRepository.findFirstPage(eq(1L), eq(OrderStatus.PAID), any(Pageable.class))).thenReturn(List.of(
+                OrderHistory.builder().orderId(9L).userId(1L).orderDate(date).status(OrderStatus.PAID).totalPrice(1000).itemsJson(itemsJson(100L, null)).build(),
+                OrderHistory.builder().orderId(8L).userId(1L).orderDate(date).status(OrderStatus.PAID).totalPrice(1000).itemsJson(itemsJson(101L, 5L)).build()));
+
+        CursorPageDTO<OrderDTO> page = projection.scroll(1L, null, 1);
+
+        assertThat(page.isHasNext()).isTrue();
+        assertThat(page.getContent()).hasSize(1);
+        assertThat(page.getContent().get(0).getOrderItems().get(0).getProductId()).isEqualTo(100L);
+        assertThat(CursorCodec.decodeTimeId(page.getNextCursor()).id()).isEqualTo(9L);
+    }
+
+    @Test
+    void 건수가_같으면_보정_없이_준비_완료() {
+        when(orderRepository.countByStatus(OrderStatus.PAID)).thenReturn(3L);
+        when(orderHistoryRepository.countByStatus(OrderStatus.PAID)).thenReturn(3L);
+
+        Map<String, Object> result = projection.catchUp(false);
+
+        assertThat(result.get("added")).isEqualTo(0);
+        assertThat(projection.isReady()).isTrue();
+        verify(orderRepository, never()).findPaidOrderIdsAfter(anyLong(), any());
+    }
+
+    @Test
+    void 누락된_주문을_채우고_상태_보정() {
+        when(orderRepository.countByStatus(OrderStatus.PAID)).thenReturn(1L);
+        when(orderHistoryRepository.countByStatus(OrderStatus.PAID)).thenReturn(1L);
+        when(orderRepository.findPaidOrderIdsAfter(eq(0L), any())).thenReturn(List.of(7L));
+        when(orderHistoryRepository.findAllById(List.of(7L))).thenReturn(List.of());
+        when(orderRepository.findOrdersWithItemsByIds(List.of(7L))).thenReturn(List.of(paidOrder(7L, 1L, 100L)));
+        when(reviewRepository.findReviewIdsByUserId(1L)).thenReturn(List.of());
+        when(orderHistoryRepository.syncStatusFromOrders(OrderStatus.PAID)).thenReturn(2);
+
+        Map<String, Object> result = projection.catchUp(true);
+
+        assertThat(result.get("added")).isEqualTo(1);
+        assertThat(result.get("statusSynced")).isEqualTo(2);
+        assertThat(projection.isReady()).isTrue();
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.project;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.example.project.dto.KakaoPayApproveResponseDTO;
+import com.example.project.payment.KakaoPayClient;
+import com.example.project.service.OrderService;
+import com.example.project.service.PaymentTransactionService;
+
+@ExtendWith(MockitoExtension.class)
+public class OrderServicePaymentTest {
+
+    @Mock
+    private KakaoPayClient kakaoPayClient;
+
+    @Mock
+    private PaymentTransactionService paymentTransactionService;
+
+    @InjectMocks
+    private OrderService orderService;
+
+    private final PaymentTransactionService.ApprovalTarget target = new PaymentTransactionService.ApprovalTarget(10L, 1L, "T1", 20000);
+
+    @Test
+    @DisplayName("결제 준비와 승인 사이에 재고가 소진되면 승인된 결제를 취소")
+    public void 승인_후_재고_부족이면_결제_취소() {
+        when(paymentTransactionService.prepareApprove(10L)).thenReturn(target);    // 승인 요청 전에는 재고 충분
+        when(kakaoPayClient.approve(any())).thenReturn(KakaoPayApproveResponseDTO.builder().aid("A1").tid("T1").build());
+        doThrow(new IllegalStateException("재고가 부족합니다. 상품 ID: [100]"))     // 그 사이 다른 주문이 재고 소진
+                .when(paymentTransactionService).completeApprove(target, true);
+        when(paymentTransactionService.isPaid(target)).thenReturn(false);
+
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> orderService.KakaoPayApproveFromCart(10L, "pg-token"));
+
+        assertEquals("재고가 부족합니다. 상품 ID: [100]", e.getMessage());
+        verify(kakaoPayClient).cancel(argThat(request -> "T1".equals(request.getTid()) && request.getCancel_amount() == 20000));
+    }
+
+    @Test
+    @DisplayName("같은 tid로 이미 결제 완료된 주문은 취소하지 않음")
+    public void 중복_승인은_결제_취소_안함() {
+        when(paymentTransactionService.prepareApprove(10L)).thenReturn(target);
+        when(kakaoPayClient.approve(any())).thenReturn(KakaoPayApproveResponseDTO.builder().aid("A1").tid("T1").build());
+        doThrow(new IllegalStateException("이미 결제 완료된 주문입니다."))
+                .when(paymentTransactionService).completeApprove(target, false);
+        when(paymentTransactionService.isPaid(target)).thenReturn(true);
+
+        assertThrows(IllegalStateException.class, () -> orderService.KakaoPayApprove(10L, "pg-token"));
+
+        verify(kakaoPayClient, never()).cancel(any());
+    }
+
+    @Test
+    @DisplayName("취소 API가 실패해도 원래 예외를 전달")
+    public void 결제_취소_실패시_원래_예외() {
+        when(paymentTransactionService.prepareApprove(10L)).thenReturn(target);
+        when(kakaoPayClient.approve(any())).thenReturn(KakaoPayApproveResponseDTO.builder().aid("A1").tid("T1").build());
+        doThrow(new IllegalStateException("재고가 부족합니다. 상품 ID: [100]"))
+                .when(paymentTransactionService).completeApprove(target, true);
+        when(paymentTransactionService.isPaid(target)).thenReturn(false);
+        when(kakaoPayClient.cancel(any())).thenThrow(new IllegalStateException("카카오페이 응답이 올바르지 않습니다: 500"));
+
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> orderService.KakaoPayApproveFromCart(10L, "pg-token"));
+
+        assertEquals("재고가 부족합니다. 상품 ID: [100]", e.getMessage());
+    }
+}
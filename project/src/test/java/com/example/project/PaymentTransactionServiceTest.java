@@ -0,0 +1,152 @@
+package com.example.project;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.example.project.event.OrderPaidEvent;
+import com.example.project.model.Order;
+import com.example.project.model.User;
+import com.example.project.model.Order.OrderStatus;
+import com.example.project.model.Product.Category;
+import com.example.project.repository.OrderItemRepository;
+import com.example.project.repository.OrderRepository;
+import com.example.project.service.CartItemService;
+import com.example.project.service.PaymentTransactionService;
+import com.example.project.service.ProductStockService;
+import com.example.project.stock.StockReservationLedger;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@ExtendWith(MockitoExtension.class)
+public class PaymentTransactionServiceTest {
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private OrderItemRepository orderItemRepository;
+
+    @Mock
+    private ProductStockService productStockService;
+
+    @Mock
+    private StockReservationLedger stockReservationLedger;
+
+    @Mock
+    private CartItemService cartItemService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private PaymentTransactionService paymentTransactionService;
+
+    @Test
+    @DisplayName("이미 결제 완료된 주문은 승인 준비 단계에서 거부")
+    public void 결제완료_주문_승인_거부() {
+        User user = User.builder().id(1L).build();
+        Order order = Order.builder().id(10L).user(user).status(OrderStatus.PAID).tid("T1").build();
+        when(orderRepository.findById(10L)).thenReturn(Optional.of(order));
+
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> paymentTransactionService.prepareApprove(10L));
+        assertEquals("이미 결제 완료된 주문입니다.", e.getMessage());
+    }
+
+    @Test
+    @DisplayName("예약되지 않은 재고가 부족하면 승인 요청 전에 거부")
+    public void 승인_전_재고_부족_거부() {
+        User user = User.builder().id(1L).build();
+        Order order = Order.builder().id(10L).user(user).status(OrderStatus.PENDING).tid("T1").totalPrice(20000).build();
+        when(orderRepository.findById(10L)).thenReturn(Optional.of(order));
+        when(orderItemRepository.findItemRowsByOrderId(10L)).thenReturn(List.<Object[]>of(new Object[]{100L, Category.FOOD, 2}));
+        when(productStockService.findShortages(Map.of(100L, 2))).thenReturn(List.of(100L));
+
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> paymentTransactionService.prepareApprove(10L));
+        assertEquals("재고가 부족합니다. 상품 ID: [100]", e.getMessage());
+    }
+
+    @Test
+    @DisplayName("예약된 주문은 재고 확인 없이 승인 대상 반환")
+    public void 예약된_주문_승인_준비() {
+        User user = User.builder().id(1L).build();
+        Order order = Order.builder().id(10L).user(user).status(OrderStatus.PENDING).tid("T1").totalPrice(20000).build();
+        when(orderRepository.findById(10L)).thenReturn(Optional.of(order));
+        when(stockReservationLedger.hasReservation(10L)).thenReturn(true);
+        when(orderRepository.markApproveRequested(eq(10L), any(LocalDateTime.class))).thenReturn(1);
+
+        assertEquals(new PaymentTransactionService.ApprovalTarget(10L, 1L, "T1", 20000), paymentTransactionService.prepareApprove(10L));
+        verify(productStockService, never()).findShortages(anyMap());
+    }
+
+    @Test
+    @DisplayName("확인 직후 만료 정리로 삭제된 주문은 승인 요청하지 않음")
+    public void 정리된_주문_승인_거부() {
+        User user = User.builder().id(1L).build();
+        Order order = Order.builder().id(10L).user(user).status(OrderStatus.PENDING).tid("T1").totalPrice(20000).build();
+        when(orderRepository.findById(10L)).thenReturn(Optional.of(order));
+        when(stockReservationLedger.hasReservation(10L)).thenReturn(true);
+        when(orderRepository.markApproveRequested(eq(10L), any(LocalDateTime.class))).thenReturn(0);
+
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> paymentTransactionService.prepareApprove(10L));
+        assertEquals("결제 대기 중인 주문이 아닙니다.", e.getMessage());
+    }
+
+    @Test
+    @DisplayName("같은 tid로 중복 승인 시 재고를 다시 차감하지 않음")
+    public void 중복_승인_재고_차감_없음() {
+        PaymentTransactionService.ApprovalTarget target = new PaymentTransactionService.ApprovalTarget(10L, 1L, "T1", 20000);
+        when(orderRepository.markPaid(10L, "T1")).thenReturn(0);   // 이미 다른 요청이 결제 완료 처리
+
+        assertThrows(IllegalStateException.class, () -> paymentTransactionService.completeApprove(target, true));
+
+        verify(productStockService, never()).decreaseStocks(anyMap());
+        verify(cartItemService, never()).deleteAllCartItemsByUserId(anyLong());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    @DisplayName("결제 완료 시 주문 항목 수량만 조회해 재고 차감 후 이벤트 발행")
+    public void 결제완료_재고_차감과_이벤트() {
+        PaymentTransactionService.ApprovalTarget target = new PaymentTransactionService.ApprovalTarget(10L, 1L, "T1", 20000);
+        LocalDateTime orderDate = LocalDateTime.of(2024, 5, 1, 10, 0);
+        when(orderRepository.markPaid(10L, "T1")).thenReturn(1);
+        when(orderItemRepository.findItemRowsByOrderId(10L)).thenReturn(List.of(
+                new Object[]{100L, Category.FOOD, 2}, new Object[]{101L, Category.TOYS, 1}, new Object[]{100L, Category.FOOD, 1}));
+        when(productStockService.decreaseStocks(anyMap())).thenReturn(List.of());
+        when(orderRepository.findById(10L)).thenReturn(Optional.of(Order.builder().id(10L).orderDate(orderDate).build()));
+
+        paymentTransactionService.completeApprove(target, true);
+
+        verify(productStockService).decreaseStocks(Map.of(100L, 3, 101L, 1));
+        verify(stockReservationLedger).consumeAfterCommit(Map.of(100L, 3, 101L, 1));
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof OrderPaidEvent paid
+                && paid.getOrderId() == 10L && paid.getOrderDate().equals(orderDate) && paid.getItems().size() == 3));
+        verify(cartItemService).deleteAllCartItemsByUserId(1L);
+    }
+
+    @Test
+    @DisplayName("결제 준비 상품명은 첫 상품명과 나머지 건수")
+    public void 결제준비_상품명() {
+        when(orderItemRepository.findProductNamesByOrderId(10L)).thenReturn(List.of("키보드", "마우스", "모니터"));
+        when(orderItemRepository.findProductNamesByOrderId(11L)).thenReturn(List.of("키보드"));
+
+        assertEquals("키보드 외 2건", paymentTransactionService.describeItems(10L));
+        assertEquals("키보드", paymentTransactionService.describeItems(11L));
+    }
+}
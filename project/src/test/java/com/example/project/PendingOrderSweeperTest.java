@@ -0,0 +1,176 @@
+package com.example.project;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.web.client.ResourceAccessException;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.example.project.dto.KakaoPayCancelRequestDTO;
+import com.example.project.dto.KakaoPayOrderResponseDTO;
+import com.example.project.model.Order;
+import com.example.project.payment.KakaoPayClient;
+import com.example.project.model.User;
+import com.example.project.repository.OrderRepository;
+import com.example.project.repository.UserRepository;
+import com.example.project.service.EmailService;
+import com.example.project.service.PaymentTransactionService;
+import com.example.project.service.PendingOrderSweeper;
+import com.example.project.stock.StockReservationLedger;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class PendingOrderSweeperTest {
+
+    @Autowired
+    private PendingOrderSweeper pendingOrderSweeper;
+
+    @Autowired
+    private PaymentTransactionService paymentTransactionService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoBean
+    private EmailService emailService;
+
+    @MockitoBean
+    private StockReservationLedger stockReservationLedger;
+
+    @MockitoBean
+    private KakaoPayClient kakaoPayClient;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = String.valueOf(System.nanoTime() % 1_000_000_000L);
+        user = userRepository.save(User.builder()
+                .username("sweep" + suffix)
+                .name("정리")
+                .password("password")
+                .email("sweep" + suffix + "@example.com")
+                .phoneNumber("012" + suffix)
+                .address("서울")
+                .role(User.Role.USER)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM orders WHERE user_id = ?", user.getId());
+        userRepository.deleteById(user.getId());
+    }
+
+    private Long pendingOrder(String tid, LocalDateTime orderDate) {   // 주문 시각은 생성 시 자동 기록되므로 직접 변경
+        Order order = orderRepository.save(Order.builder()
+                .user(user)
+                .address("서울")
+                .status(Order.OrderStatus.PENDING)
+                .tid(tid)
+                .totalPrice(10000)
+                .build());
+        jdbcTemplate.update("UPDATE orders SET order_date = ? WHERE id = ?", Timestamp.valueOf(orderDate), order.getId());
+        return order.getId();
+    }
+
+    private Long abandonedApproval(String tid) {     // 승인 요청 후 결과를 모른 채 남은 주문 (예: 승인 API 읽기 타임아웃)
+        Long orderId = pendingOrder(tid, LocalDateTime.now().minusHours(2));
+        jdbcTemplate.update("UPDATE orders SET approve_requested_at = ? WHERE id = ?",
+                Timestamp.valueOf(LocalDateTime.now().minusHours(1)), orderId);
+        return orderId;
+    }
+
+    private void paymentStatus(String status) {
+        when(kakaoPayClient.order(any())).thenReturn(KakaoPayOrderResponseDTO.builder().status(status).build());
+    }
+
+    @Test
+    void 승인_요청_중인_주문은_정리하지_않음() {
+        LocalDateTime expired = LocalDateTime.now().minusHours(2);
+        String suffix = String.valueOf(System.nanoTime());
+        Long abandoned = pendingOrder(null, expired);
+        Long approving = pendingOrder("TA" + suffix, expired);
+
+        paymentTransactionService.prepareApprove(approving);    // 승인 API 호출 직전 상태
+
+        pendingOrderSweeper.sweep();
+
+        assertThat(orderRepository.existsById(abandoned)).isFalse();
+        assertThat(orderRepository.existsById(approving)).isTrue();
+        verifyNoInteractions(kakaoPayClient);
+    }
+
+    @Test
+    void 승인_결과를_알_수_없으면_삭제하지_않음() {
+        Long orderId = abandonedApproval("TU" + System.nanoTime());
+        when(kakaoPayClient.order(any())).thenThrow(new ResourceAccessException("Read timed out"));
+
+        pendingOrderSweeper.sweep();
+
+        assertThat(orderRepository.existsById(orderId)).isTrue();
+        verify(kakaoPayClient, never()).cancel(any());
+    }
+
+    @Test
+    void 청구된_승인_요청은_환불_후_정리() {
+        String tid = "TC" + System.nanoTime();
+        Long orderId = abandonedApproval(tid);
+        paymentStatus("SUCCESS_PAYMENT");
+
+        pendingOrderSweeper.sweep();
+
+        verify(kakaoPayClient).cancel(argThat((KakaoPayCancelRequestDTO request) ->
+                tid.equals(request.getTid()) && request.getCancel_amount() == 10000));
+        assertThat(orderRepository.existsById(orderId)).isFalse();
+    }
+
+    @Test
+    void 환불에_실패하면_삭제하지_않음() {
+        Long orderId = abandonedApproval("TF" + System.nanoTime());
+        paymentStatus("SUCCESS_PAYMENT");
+        when(kakaoPayClient.cancel(any())).thenThrow(new ResourceAccessException("Read timed out"));
+
+        pendingOrderSweeper.sweep();
+
+        assertThat(orderRepository.existsById(orderId)).isTrue();
+    }
+
+    @Test
+    void 청구되지_않은_승인_요청은_정리() {
+        Long orderId = abandonedApproval("TQ" + System.nanoTime());
+        paymentStatus("QUIT_PAYMENT");
+
+        pendingOrderSweeper.sweep();
+
+        assertThat(orderRepository.existsById(orderId)).isFalse();
+        verify(kakaoPayClient, never()).cancel(any());
+    }
+
+    @Test
+    void 정리된_주문은_승인_요청_거부() {
+        Long orderId = pendingOrder("TD" + System.nanoTime(), LocalDateTime.now().minusHours(2));
+
+        pendingOrderSweeper.sweep();
+
+        assertThatThrownBy(() -> paymentTransactionService.prepareApprove(orderId))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
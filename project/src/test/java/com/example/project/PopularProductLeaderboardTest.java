@@ -0,0 +1,178 @@
+package com.example.project;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.example.project.cache.ProductCache;
+import com.example.project.dto.PopularProductDTO;
+import com.example.project.event.OrderCancelledEvent;
+import com.example.project.event.OrderPaidEvent;
+import com.example.project.event.ProductChangedEvent;
+import com.example.project.image.ImageStore;
+import com.example.project.image.ImageVariant;
+import com.example.project.image.ImageVariantService;
+import com.example.project.model.Product;
+import com.example.project.model.Product.Category;
+import com.example.project.ranking.PopularProductLeaderboard;
+import com.example.project.ranking.PopularProductLeaderboard.Entry;
+import com.example.project.repository.CartItemRepository;
+import com.example.project.repository.OrderItemRepository;
+import com.example.project.repository.OrderRepository;
+import com.example.project.repository.ProductRepository;
+import com.example.project.repository.ReviewRepository;
+import com.example.project.search.ProductSearchIndex;
+import com.example.project.service.ProductService;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+public class PopularProductLeaderboardTest {
+    private final OrderItemRepository orderItemRepository = mock(OrderItemRepository.class);
+    private final OrderRepository orderRepository = mock(OrderRepository.class);
+    private final ProductRepository productRepository = mock(ProductRepository.class);
+    private final PopularProductLeaderboard leaderboard = new PopularProductLeaderboard(orderItemRepository, orderRepository,
+            productRepository, mock(PlatformTransactionManager.class));
+
+    private OrderPaidEvent paid(long orderId, LocalDateTime orderDate, long... productIds) {
+        List<OrderPaidEvent.PaidItem> items = new ArrayList<>();
+        for (long productId : productIds) {
+            items.add(new OrderPaidEvent.PaidItem(productId, Category.ELECTRONICS, 1));
+        }
+        return new OrderPaidEvent(orderId, 1L, orderDate, items);
+    }
+
+    private Object[] row(long productId, LocalDate day, long sales) {
+        return new Object[]{productId, Category.ELECTRONICS.name(), day, sales};
+    }
+
+    @Test
+    void 오늘을_포함한_30일만_집계() {
+        leaderboard.rebuild();
+        leaderboard.onOrderPaid(paid(1L, LocalDate.now().minusDays(29).atTime(0, 0), 1L));
+        leaderboard.onOrderPaid(paid(2L, LocalDate.now().minusDays(30).atTime(23, 59), 2L));
+
+        assertThat(leaderboard.top(10, null)).containsExactly(new Entry(1L, Category.ELECTRONICS, 1));
+        verify(orderItemRepository).countDailySalesSince(LocalDate.now().minusDays(29).atStartOfDay());
+    }
+
+    @Test
+    void 초기화_중_결제된_주문은_한_번만_집계() {
+        LocalDate today = LocalDate.now();
+        when(orderItemRepository.countDailySalesSince(any())).thenAnswer(invocation -> {
+            leaderboard.onOrderPaid(paid(10L, today.atTime(9, 0), 1L));     // 집계 스냅샷에 포함된 주문
+            leaderboard.onOrderPaid(paid(11L, today.atTime(9, 1), 1L));     // 스냅샷 이후 커밋된 주문
+            List<Object[]> rows = new ArrayList<>();
+            rows.add(row(1L, today, 5));
+            return rows;
+        });
+        when(orderRepository.findPaidOrderIdsIn(List.of(10L, 11L))).thenReturn(List.of(10L));
+
+        leaderboard.rebuild();
+
+        assertThat(leaderboard.isReady()).isTrue();
+        assertThat(leaderboard.top(1, null)).containsExactly(new Entry(1L, Category.ELECTRONICS, 6));
+    }
+
+    @Test
+    void 결제_완료_주문_취소시_판매_건수_차감() {
+        leaderboard.rebuild();
+        leaderboard.onOrderPaid(paid(1L, LocalDateTime.now(), 1L, 2L));
+        leaderboard.onOrderPaid(paid(2L, LocalDateTime.now(), 1L));
+
+        leaderboard.onOrderCancelled(new OrderCancelledEvent(1L, LocalDateTime.now(), List.of(1L, 2L)));
+
+        assertThat(leaderboard.top(10, null)).containsExactly(new Entry(1L, Category.ELECTRONICS, 1));
+    }
+
+    @Test
+    void 초기화_중_취소된_주문은_스냅샷에_포함된_경우만_차감() {
+        LocalDate today = LocalDate.now();
+        when(orderItemRepository.countDailySalesSince(any())).thenAnswer(invocation -> {
+            leaderboard.onOrderCancelled(new OrderCancelledEvent(20L, today.atTime(8, 0), List.of(1L)));   // 스냅샷에서 결제 완료로 집계된 주문
+            leaderboard.onOrderPaid(paid(21L, today.atTime(9, 0), 1L));     // 스냅샷 이후 결제되고 곧바로 취소된 주문
+            leaderboard.onOrderCancelled(new OrderCancelledEvent(21L, today.atTime(9, 0), List.of(1L)));
+            List<Object[]> rows = new ArrayList<>();
+            rows.add(row(1L, today, 3));
+            return rows;
+        });
+        when(orderRepository.findPaidOrderIdsIn(List.of(21L, 20L))).thenReturn(List.of(20L));
+
+        leaderboard.rebuild();
+
+        assertThat(leaderboard.top(1, null)).containsExactly(new Entry(1L, Category.ELECTRONICS, 2));
+    }
+
+    @Test
+    void 주기적_재구성으로_DB와_맞춤() {
+        leaderboard.rebuild();
+        leaderboard.onOrderPaid(paid(1L, LocalDateTime.now(), 1L));
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(row(2L, LocalDate.now(), 4));     // 다른 서버에서 결제된 주문
+        when(orderItemRepository.countDailySalesSince(any())).thenReturn(rows);
+
+        leaderboard.resync();
+
+        assertThat(leaderboard.top(10, null)).containsExactly(new Entry(2L, Category.ELECTRONICS, 4));
+    }
+
+    @Test
+    void 삭제된_상품은_순위에서_제외() {
+        leaderboard.rebuild();
+        leaderboard.onOrderPaid(paid(1L, LocalDateTime.now(), 1L, 2L, 3L));
+        leaderboard.onOrderPaid(paid(2L, LocalDateTime.now(), 1L, 2L));
+        leaderboard.onOrderPaid(paid(3L, LocalDateTime.now(), 1L));
+        when(productRepository.findById(1L)).thenReturn(Optional.empty());
+
+        leaderboard.onProductChanged(ProductChangedEvent.of(1L));
+
+        assertThat(leaderboard.top(2, null)).extracting(Entry::productId).containsExactly(2L, 3L);
+        assertThat(leaderboard.top(2, Category.ELECTRONICS)).extracting(Entry::productId).containsExactly(2L, 3L);
+    }
+
+    @Test
+    void 카테고리_변경_반영() {
+        leaderboard.rebuild();
+        leaderboard.onOrderPaid(paid(1L, LocalDateTime.now(), 1L));
+        when(productRepository.findById(1L)).thenReturn(Optional.of(Product.builder().id(1L).category(Category.FOOD).build()));
+
+        leaderboard.onProductChanged(ProductChangedEvent.of(1L));
+
+        assertThat(leaderboard.top(3, Category.ELECTRONICS)).isEmpty();
+        assertThat(leaderboard.top(3, Category.FOOD)).extracting(Entry::productId).containsExactly(1L);
+    }
+
+    @Test
+    void 재고만_바뀐_이벤트는_무시() {
+        leaderboard.rebuild();
+        leaderboard.onOrderPaid(paid(1L, LocalDateTime.now(), 1L));
+
+        leaderboard.onProductChanged(ProductChangedEvent.stockChanged(List.of(1L)));
+
+        verifyNoInteractions(productRepository);
+        assertThat(leaderboard.top(3, null)).hasSize(1);
+    }
+
+    @Test
+    void 집계_초기화_전_DB_조회도_목록용_이미지_사용() {
+        ProductService productService = new ProductService(productRepository, mock(ReviewRepository.class), mock(CartItemRepository.class),
+                mock(ProductCache.class), mock(ProductSearchIndex.class), leaderboard, mock(ApplicationEventPublisher.class),
+                mock(ImageVariantService.class), mock(ImageStore.class));
+        when(productRepository.findPopularProducts(any(), isNull(), eq(3))).thenReturn(List.of(
+                new Object[]{1L, "준비된 상품", "/images/a.png", true, "FOOD", 1000, 7L, 4.5, 2L},
+                new Object[]{2L, "생성 전 상품", "/images/b.png", false, "FOOD", 2000, 3L, 0.0, 0L}));
+
+        List<PopularProductDTO> popular = productService.getPopularProducts(3, null);
+
+        assertThat(popular).extracting(PopularProductDTO::getImageUrl)
+                .containsExactly(ImageVariant.LIST.url("/images/a.png", true), "/images/b.png");
+        assertThat(popular.get(0).getSales30d()).isEqualTo(7L);
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.project;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import com.example.project.cache.ProductCache;
+import com.example.project.event.ProductChangedEvent;
+import com.example.project.model.Product;
+import com.example.project.repository.ProductRepository;
+
+import java.util.List;
+import java.util.Optional;
+
+@SpringJUnitConfig(ProductCacheTest.Config.class)
+public class ProductCacheTest {
+
+    @Configuration
+    @EnableTransactionManagement    // @TransactionalEventListener 처리 (커밋/롤백 시점 이벤트)
+    static class Config {
+        @Bean
+        ProductRepository productRepository() {
+            return mock(ProductRepository.class);
+        }
+
+        @Bean
+        ProductCache productCache(ProductRepository productRepository) {
+            return new ProductCache(productRepository, 100, 300);
+        }
+
+        @Bean
+        PlatformTransactionManager transactionManager() {
+            return new NoopTransactionManager();
+        }
+    }
+
+    static class NoopTransactionManager extends AbstractPlatformTransactionManager {   // DB 없이 트랜잭션 동기화(커밋/롤백 콜백)만 수행
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+
+    @Autowired
+    private ProductCache productCache;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        productCache.evictAll();
+        reset(productRepository);
+        when(productRepository.findById(1L)).thenReturn(Optional.of(Product.builder()
+                .id(1L).name("키보드").price(10000).stock(5).category(Product.Category.ELECTRONICS).build()));
+    }
+
+    @Test
+    void 두번째_조회부터는_캐시에서_읽음() {
+        assertThat(productCache.get(1L).getName()).isEqualTo("키보드");
+        assertThat(productCache.get(1L).getName()).isEqualTo("키보드");
+
+        verify(productRepository, times(1)).findById(1L);
+        assertThat(productCache.stats().hitCount()).isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    void 없는_상품은_예외이고_캐시하지_않음() {
+        when(productRepository.findById(2L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> productCache.get(2L)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> productCache.get(2L)).isInstanceOf(IllegalArgumentException.class);
+        verify(productRepository, times(2)).findById(2L);
+    }
+
+    @Test
+    void 커밋_후에_캐시_무효화() {
+        productCache.get(1L);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            eventPublisher.publishEvent(ProductChangedEvent.of(1L));
+            productCache.get(1L);   // 커밋 전에는 기존 캐시 유지
+            verify(productRepository, times(1)).findById(1L);
+        });
+
+        productCache.get(1L);
+        verify(productRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    void 롤백되면_캐시_유지() {
+        productCache.get(1L);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            eventPublisher.publishEvent(ProductChangedEvent.stockChanged(List.of(1L)));
+            status.setRollbackOnly();
+        });
+
+        productCache.get(1L);
+        verify(productRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    void 트랜잭션_밖의_변경은_즉시_무효화() {
+        productCache.get(1L);
+        long invalidations = (long) productCache.statsSummary().get("invalidationCount");
+
+        eventPublisher.publishEvent(ProductChangedEvent.of(1L));
+
+        productCache.get(1L);
+        verify(productRepository, times(2)).findById(1L);
+        assertThat(productCache.statsSummary().get("invalidationCount")).isEqualTo(invalidations + 1);
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.project;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import com.example.project.model.Product;
+import com.example.project.repository.ProductRepository;
+import com.example.project.search.ProductSearchIndex;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class ProductSearchIndexTest {
+
+    private ProductSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductSearchIndex(null, 1000, 30);
+        index.index(product(1L, "갤럭시 스마트폰 케이스", "투명 젤리 케이스", Product.Category.ELECTRONICS));
+        index.index(product(2L, "아이폰 충전기", "고속 충전 지원 스마트폰 충전기", Product.Category.ELECTRONICS));
+        index.index(product(3L, "스마트폰 거치대", "차량용 거치대", Product.Category.FURNITURE));
+        index.index(product(4L, "원목 책상", "튼튼한 원목 책상", Product.Category.FURNITURE));
+    }
+
+    @Test
+    void 부분_문자열_검색() {
+        List<Long> result = index.search("스마트폰", null);
+
+        assertEquals(2, result.size());     // 설명에만 포함된 상품(2)은 DB 검색과 같이 제외
+        assertTrue(result.containsAll(List.of(1L, 3L)));
+    }
+
+    @Test
+    void 토큰은_모두_있지만_부분_문자열이_아니면_제외() {
+        index.index(product(6L, "트폰 스마트 워치", null, Product.Category.ELECTRONICS));   // 스마/마트/트폰 2-gram은 모두 있음
+
+        assertFalse(index.search("스마트폰", null).contains(6L));
+    }
+
+    @Test
+    void 카테고리명과_설명은_검색어로_일치하지_않음() {
+        assertTrue(index.search("furniture", null).isEmpty());
+        assertTrue(index.search("튼튼한", null).isEmpty());
+    }
+
+    @Test
+    void 카테고리_필터() {
+        List<Long> result = index.search("스마트폰", Product.Category.FURNITURE);
+
+        assertEquals(List.of(3L), result);
+    }
+
+    @Test
+    void 한글자_검색과_대소문자_무시() {
+        index.index(product(5L, "USB-C 케이블", null, Product.Category.ELECTRONICS));
+
+        assertEquals(List.of(4L), index.search("책", null));
+        assertEquals(List.of(5L), index.search("usb", null));
+    }
+
+    @Test
+    void 상품_수정_삭제_반영() {
+        index.index(product(4L, "접이식 의자", "가벼운 의자", Product.Category.FURNITURE));
+        assertTrue(index.search("책상", null).isEmpty());
+        assertEquals(List.of(4L), index.search("의자", null));
+
+        index.remove(4L);
+        assertTrue(index.search("의자", null).isEmpty());
+    }
+
+    @Test
+    void 일치하지_않는_검색어() {
+        assertTrue(index.search("냉장고", null).isEmpty());
+        assertTrue(index.search("   ", null).isEmpty());
+    }
+
+    @Test
+    void 전체_색인은_ID_커서로_필요한_컬럼만_조회() {
+        ProductRepository productRepository = mock(ProductRepository.class);
+        LocalDateTime now = LocalDateTime.now();
+        when(productRepository.findSearchRowsAfter(eq(0L), eq(1000), any()))
+                .thenReturn(List.<Object[]>of(new Object[]{7L, "무선 마우스", Product.Category.ELECTRONICS, "저소음 클릭", now}));
+        when(productRepository.findSearchRowsAfter(eq(7L), eq(1000), any())).thenReturn(List.of());
+        ProductSearchIndex rebuilt = new ProductSearchIndex(productRepository, 1000, 30);
+
+        rebuilt.rebuild();
+
+        assertTrue(rebuilt.isReady());
+        assertEquals(List.of(7L), rebuilt.search("마우스", null));
+        verify(productRepository, never()).findSearchRowsAfter(eq(7L), anyInt(), any());   // 페이지 크기보다 적게 오면 마지막 페이지
+    }
+
+    @Test
+    void 다른_서버에서_추가된_상품을_변경분_반영으로_색인() {
+        ProductRepository productRepository = mock(ProductRepository.class);
+        when(productRepository.findSearchRowsAfter(anyLong(), anyInt(), any())).thenReturn(List.of());
+        ProductSearchIndex caughtUp = new ProductSearchIndex(productRepository, 1000, 30);
+        caughtUp.rebuild();
+        assertTrue(caughtUp.search("키보드", null).isEmpty());
+
+        when(productRepository.findSearchRowsUpdatedAfter(any(), anyLong(), eq(1000), any()))
+                .thenReturn(List.<Object[]>of(new Object[]{8L, "기계식 키보드", Product.Category.ELECTRONICS, "청축", LocalDateTime.now()}));
+        caughtUp.catchUp();
+
+        assertEquals(List.of(8L), caughtUp.search("키보드", null));
+    }
+
+    private Product product(Long id, String name, String description, Product.Category category) {
+        return Product.builder()
+                .id(id)
+                .name(name)
+                .description(description)
+                .price(10000)
+                .stock(10)
+                .category(category)
+                .build();
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.project;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.example.project.model.Product;
+import com.example.project.repository.ProductRepository;
+import com.example.project.service.EmailService;
+import com.example.project.service.ProductStockService;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class ProductStockConcurrencyTest {
+    private static final int PRODUCT_COUNT = 5;
+    private static final int INITIAL_STOCK = 100;
+    private static final int CHECKOUTS = 200;
+
+    @Autowired
+    private ProductStockService productStockService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @MockitoBean
+    private EmailService emailService;
+
+    private final List<Long> productIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < PRODUCT_COUNT; i++) {
+            Product product = productRepository.save(Product.builder()
+                    .name("재고 테스트 상품 " + i + "-" + System.nanoTime())
+                    .price(1000)
+                    .stock(INITIAL_STOCK)
+                    .category(Product.Category.ELECTRONICS)
+                    .build());
+            productIds.add(product.getId());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        productRepository.deleteAllById(productIds);
+    }
+
+    @Test
+    void 겹치는_상품_동시_장바구니_결제() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        Map<Long, AtomicInteger> sold = new LinkedHashMap<>();
+        productIds.forEach(id -> sold.put(id, new AtomicInteger()));
+        List<Throwable> errors = Collections.synchronizedList(new ArrayList<>());
+
+        for (int n = 0; n < CHECKOUTS; n++) {
+            Random random = new Random(n);
+            List<Long> shuffled = new ArrayList<>(productIds);
+            Collections.shuffle(shuffled, random);      // 장바구니마다 다른 순서로 담긴 상품
+            Map<Long, Integer> cart = new LinkedHashMap<>();
+            for (Long productId : shuffled.subList(0, 3)) {
+                cart.put(productId, 1 + random.nextInt(3));
+            }
+
+            executor.submit(() -> {
+                try {
+                    start.await();
+                    transactionTemplate.executeWithoutResult(status -> {
+                        List<Long> failed = productStockService.decreaseStocks(cart);
+                        if (failed.isEmpty()) {
+                            succeeded.incrementAndGet();
+                            cart.forEach((id, q) -> sold.get(id).addAndGet(q));
+                        } else {
+                            rejected.incrementAndGet();
+                            status.setRollbackOnly();   // 일부 상품 재고 부족 시 전체 롤백
+                        }
+                    });
+                } catch (Throwable e) {
+                    errors.add(e);      // 교착 상태 등 예외 발생 시 실패
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(60, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(errors).isEmpty();
+        assertThat(succeeded.get() + rejected.get()).isEqualTo(CHECKOUTS);
+        assertThat(rejected.get()).isPositive();     // 재고보다 주문량이 많으므로 일부는 거절
+        for (Long productId : productIds) {
+            int stock = productRepository.findById(productId).orElseThrow().getStock();
+            assertThat(stock).isGreaterThanOrEqualTo(0);
+            assertThat(stock).isEqualTo(INITIAL_STOCK - sold.get(productId).get());
+        }
+    }
+
+    @Test
+    void 재고_부족_상품_보고() {
+        Long productId = productIds.get(0);
+        List<Long> failed = transactionTemplate.execute(status ->
+                productStockService.decreaseStocks(Map.of(productId, INITIAL_STOCK + 1, productIds.get(1), 1)));
+
+        assertThat(failed).containsExactly(productId);
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.project;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.example.project.dto.CursorPageDTO;
+import com.example.project.dto.ReviewDTO;
+import com.example.project.dto.ReviewResponseDTO;
+import com.example.project.model.Product;
+import com.example.project.model.User;
+import com.example.project.repository.ProductRepository;
+import com.example.project.repository.ReviewRepository;
+import com.example.project.repository.UserRepository;
+import com.example.project.service.EmailService;
+import com.example.project.service.ProductService;
+import com.example.project.service.ReviewService;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class ReviewCursorTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ReviewService reviewService;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @MockitoBean
+    private EmailService emailService;
+
+    private Long userId;
+    private Long productId;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = String.valueOf(System.nanoTime() % 1_000_000_000L);
+        userId = userRepository.save(User.builder()
+                .username("cursor" + suffix)
+                .name("커서")
+                .password("password")
+                .email("cursor" + suffix + "@example.com")
+                .phoneNumber("012" + suffix)
+                .address("서울")
+                .role(User.Role.USER)
+                .build()).getId();
+        productId = productRepository.save(Product.builder()
+                .name("커서 테스트 상품 " + suffix)
+                .price(1000)
+                .stock(10)
+                .category(Product.Category.TOYS)
+                .build()).getId();
+        for (int i = 1; i <= 7; i++) {
+            reviewService.addReview(productId, userId, ReviewDTO.builder().reviewText("리뷰 " + i).rating(5).build());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        reviewRepository.deleteAllById(reviewRepository.findFirstReviewIdsByProductId(productId, PageRequest.of(0, 100)));
+        productRepository.deleteById(productId);
+        userRepository.deleteById(userId);
+    }
+
+    @Test
+    void 넘기는_중에_리뷰를_수정해도_누락이나_중복_없음() {
+        List<Long> seen = new ArrayList<>();
+        CursorPageDTO<ReviewResponseDTO> page = productService.scrollReviews(productId, null, 3);
+        page.getContent().forEach(review -> seen.add(review.getId()));
+
+        Long oldest = reviewRepository.findFirstReviewIdsByProductId(productId, PageRequest.of(0, 100)).get(6);
+        reviewService.updateReview(oldest, userId, "수정해서 수정 시각이 가장 최근이 된 리뷰", 1);    // 다음 페이지에 있던 리뷰 수정
+
+        while (page.isHasNext()) {
+            page = productService.scrollReviews(productId, page.getNextCursor(), 3);
+            page.getContent().forEach(review -> seen.add(review.getId()));
+        }
+
+        assertThat(seen).hasSize(7).doesNotHaveDuplicates();
+        assertThat(seen).isSortedAccordingTo((a, b) -> Long.compare(b, a));     // 최신 작성 순
+    }
+}
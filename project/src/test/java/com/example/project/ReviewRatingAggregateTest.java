@@ -0,0 +1,118 @@
+package com.example.project;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.example.project.dto.ReviewDTO;
+import com.example.project.model.Product;
+import com.example.project.model.User;
+import com.example.project.repository.ProductRepository;
+import com.example.project.repository.ReviewRepository;
+import com.example.project.repository.UserRepository;
+import com.example.project.service.EmailService;
+import com.example.project.service.ReviewService;
+
+import java.util.List;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class ReviewRatingAggregateTest {
+
+    @Autowired
+    private ReviewService reviewService;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoBean
+    private EmailService emailService;
+
+    private Long userId;
+    private Long productId;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = String.valueOf(System.nanoTime() % 1_000_000_000L);
+        userId = userRepository.save(User.builder()
+                .username("review" + suffix)
+                .name("리뷰")
+                .password("password")
+                .email("review" + suffix + "@example.com")
+                .phoneNumber("011" + suffix)
+                .address("서울")
+                .role(User.Role.USER)
+                .build()).getId();
+        productId = productRepository.save(Product.builder()
+                .name("별점 테스트 상품 " + suffix)
+                .price(1000)
+                .stock(10)
+                .category(Product.Category.FOOD)
+                .build()).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        reviewRepository.deleteAllById(reviewIds());
+        productRepository.deleteById(productId);
+        userRepository.deleteById(userId);
+    }
+
+    private List<Long> reviewIds() {
+        return reviewRepository.findReviewIdsByProductId(productId, PageRequest.of(0, 100)).getContent();
+    }
+
+    private void assertAggregate(long ratingSum, long reviewCount) {
+        Product product = productRepository.findById(productId).orElseThrow();
+        assertThat(product.getRatingSum()).isEqualTo(ratingSum);
+        assertThat(product.getReviewCount()).isEqualTo(reviewCount);
+    }
+
+    private void addReview(int rating) {
+        reviewService.addReview(productId, userId, ReviewDTO.builder().reviewText("별점 " + rating).rating(rating).build());
+    }
+
+    @Test
+    void 리뷰_추가_수정_삭제시_별점_집계_반영() {
+        addReview(4);
+        assertAggregate(4, 1);
+
+        Long firstId = reviewIds().get(0);
+        reviewService.updateReview(firstId, userId, "수정한 리뷰", 2);
+        assertAggregate(2, 1);
+
+        addReview(5);
+        assertAggregate(7, 2);
+
+        reviewService.deleteReview(firstId);
+        assertAggregate(5, 1);
+    }
+
+    @Test
+    void 비어_있는_집계는_시작_시_보정() {
+        addReview(3);
+        addReview(5);
+        jdbcTemplate.update("UPDATE product SET rating_sum = 0, review_count = 0 WHERE id = ?", productId);    // 집계 컬럼 추가 직후 상태
+
+        assertThat(reviewService.backfillRatingAggregatesIfMissing()).isTrue();
+        assertAggregate(8, 2);
+        assertThat(reviewService.backfillRatingAggregatesIfMissing()).isFalse();
+    }
+}
@@ -0,0 +1,196 @@
+package com.example.project;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.example.project.stock.StockLedger;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class StockLedgerTest {
+
+    @Test
+    void 재고_이상_예약_불가() {
+        StockLedger ledger = new StockLedger(id -> 5);
+
+        assertThat(ledger.reserve(1L, Map.of(10L, 3))).isEmpty();
+        assertThat(ledger.reserve(2L, Map.of(10L, 3))).containsExactly(10L);
+        assertThat(ledger.available(10L)).isEqualTo(2);
+
+        assertThat(ledger.release(1L)).isTrue();
+        assertThat(ledger.release(1L)).isFalse();      // 중복 해제 무시
+        assertThat(ledger.available(10L)).isEqualTo(5);
+    }
+
+    @Test
+    void 일부_상품_부족시_전체_롤백() {
+        StockLedger ledger = new StockLedger(id -> id == 1L ? 10 : 1);
+
+        assertThat(ledger.reserve(1L, Map.of(1L, 5, 2L, 2))).containsExactly(2L);
+        assertThat(ledger.available(1L)).isEqualTo(10);
+        assertThat(ledger.hasReservation(1L)).isFalse();
+    }
+
+    @Test
+    void 결제_확정_후_DB_반영_수량() {
+        StockLedger ledger = new StockLedger(id -> 10);
+        ledger.reserve(1L, Map.of(1L, 4));
+        ledger.confirm(1L);
+
+        assertThat(ledger.available(1L)).isEqualTo(6);
+        assertThat(ledger.drainPendingFlush()).containsEntry(1L, 4);
+        assertThat(ledger.drainPendingFlush()).isEmpty();
+    }
+
+    @Test
+    void 예약_주문과_예약_없는_주문이_섞여도_초과_판매_없음() {
+        AtomicInteger dbStock = new AtomicInteger(10);
+        StockLedger ledger = new StockLedger(id -> dbStock.get());
+
+        assertThat(ledger.reserve(1L, Map.of(1L, 3))).isEmpty();     // 예약 주문
+        dbStock.addAndGet(-4);      // 예약 없이 DB에서 바로 차감된 주문
+        ledger.consume(Map.of(1L, 4));
+
+        assertThat(ledger.available(1L)).isEqualTo(3);
+        assertThat(ledger.reserve(2L, Map.of(1L, 4))).containsExactly(1L);
+        assertThat(ledger.reserve(3L, Map.of(1L, 3))).isEmpty();
+
+        ledger.confirm(1L);
+        dbStock.addAndGet(-ledger.drainPendingFlush().get(1L));
+        assertThat(ledger.available(1L)).isZero();      // DB 10 - 예약 없는 주문 4 - 확정 3 - 예약 3
+        assertThat(dbStock.get() - ledger.reserved(1L)).isEqualTo(ledger.available(1L));
+    }
+
+    @Test
+    void 관리자_재고_수정은_차이만_반영() {
+        AtomicInteger dbStock = new AtomicInteger(10);
+        StockLedger ledger = new StockLedger(id -> dbStock.get());
+        ledger.reserve(1L, Map.of(1L, 4));
+        long adjustedAt = System.nanoTime();
+        dbStock.set(15);    // 관리자가 10 -> 15로 수정
+
+        ledger.adjust(1L, 5, adjustedAt);
+
+        assertThat(ledger.available(1L)).isEqualTo(11);     // 예약 4는 그대로 유지
+    }
+
+    @Test
+    void 수정_이후_읽은_장부에는_차이를_다시_더하지_않음() {
+        StockLedger ledger = new StockLedger(id -> 15);
+        long adjustedAt = System.nanoTime();
+
+        assertThat(ledger.available(1L)).isEqualTo(15);     // 수정이 커밋된 뒤 처음 읽음
+        ledger.adjust(1L, 5, adjustedAt);
+
+        assertThat(ledger.available(1L)).isEqualTo(15);
+    }
+
+    @Test
+    void 삭제된_상품은_장부에서_제거() {
+        AtomicInteger dbStock = new AtomicInteger(10);
+        StockLedger ledger = new StockLedger(id -> dbStock.get() < 0 ? null : dbStock.get());
+        ledger.available(1L);
+        dbStock.set(-1);
+
+        ledger.removeIfMissing(1L);
+
+        assertThat(ledger.stats().get("products")).isEqualTo(0);
+    }
+
+    @Test
+    void 로드되지_않은_상품은_차감_반영_생략() {
+        StockLedger ledger = new StockLedger(id -> 5);
+
+        ledger.consume(Map.of(1L, 2));      // 아직 장부에 없으면 처음 조회할 때 DB 값 사용
+
+        assertThat(ledger.available(1L)).isEqualTo(5);
+    }
+
+    @Test
+    void 동시_예약시_초과_판매_없음() throws Exception {
+        int initialStock = 1000;
+        StockLedger ledger = new StockLedger(id -> initialStock);
+        ExecutorService executor = Executors.newFixedThreadPool(32);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicLong orderSequence = new AtomicLong();
+        AtomicInteger confirmed = new AtomicInteger();
+
+        for (int t = 0; t < 32; t++) {
+            long seed = t;
+            executor.submit(() -> {
+                Random random = new Random(seed);
+                start.await();
+                for (int i = 0; i < 2000; i++) {
+                    long orderId = orderSequence.incrementAndGet();
+                    int quantity = 1 + random.nextInt(3);
+                    if (!ledger.reserve(orderId, Map.of(1L, quantity)).isEmpty()) {
+                        continue;
+                    }
+                    if (random.nextInt(4) == 0) {
+                        ledger.release(orderId);      // 일부 주문은 취소/만료
+                    } else if (ledger.confirm(orderId)) {
+                        confirmed.addAndGet(quantity);
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(60, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(confirmed.get()).isLessThanOrEqualTo(initialStock);
+        assertThat(ledger.reserved(1L)).isZero();
+        assertThat(ledger.available(1L)).isEqualTo(initialStock - confirmed.get());
+        assertThat(ledger.drainPendingFlush().getOrDefault(1L, 0)).isEqualTo(confirmed.get());
+    }
+
+    @Test
+    void 예약_중_재고를_수정해도_초과_판매_없음() throws Exception {
+        int initialStock = 1000;
+        StockLedger ledger = new StockLedger(id -> initialStock);
+        ledger.available(1L);
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicLong orderSequence = new AtomicLong();
+        AtomicInteger confirmed = new AtomicInteger();
+        AtomicInteger added = new AtomicInteger();
+
+        for (int t = 0; t < 16; t++) {
+            long seed = t;
+            executor.submit(() -> {
+                Random random = new Random(seed);
+                start.await();
+                for (int i = 0; i < 2000; i++) {
+                    if (seed == 0 && i % 100 == 0) {    // 관리자가 재고를 조금씩 추가
+                        ledger.adjust(1L, 10, System.nanoTime() - 1);
+                        added.addAndGet(10);
+                        continue;
+                    }
+                    long orderId = orderSequence.incrementAndGet();
+                    int quantity = 1 + random.nextInt(3);
+                    if (ledger.reserve(orderId, Map.of(1L, quantity)).isEmpty()) {
+                        if (ledger.confirm(orderId)) {
+                            confirmed.addAndGet(quantity);
+                        }
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(60, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(confirmed.get()).isLessThanOrEqualTo(initialStock + added.get());
+        assertThat(ledger.available(1L)).isEqualTo(initialStock + added.get() - confirmed.get());
+    }
+}
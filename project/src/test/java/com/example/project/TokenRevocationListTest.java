@@ -0,0 +1,81 @@
+package com.example.project;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.example.project.model.User;
+import com.example.project.repository.RevokedTokenRepository;
+import com.example.project.security.CustomUserDetails;
+import com.example.project.security.TokenRevocationList;
+import com.example.project.security.TokenService;
+import com.example.project.service.EmailService;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class TokenRevocationListTest {
+
+    @Autowired
+    private TokenRevocationList revocationList;
+
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @MockitoBean
+    private EmailService emailService;
+
+    private final TokenService tokenService = new TokenService("test-secret", 900, 3600);
+    private final CustomUserDetails principal = new CustomUserDetails(3L, "user", User.Role.USER, true, null);
+    private final List<String> tokenIds = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        revokedTokenRepository.deleteAllById(tokenIds);
+    }
+
+    private TokenService.TokenClaims claims(String token, TokenService.TokenType type) {
+        TokenService.TokenClaims claims = tokenService.verify(token, type);
+        tokenIds.add(claims.tokenId());
+        return claims;
+    }
+
+    @Test
+    void 리프레시_토큰은_한_번만_사용_가능() {
+        TokenService.TokenClaims refresh = claims(tokenService.issue(principal).refreshToken(), TokenService.TokenType.REFRESH);
+
+        assertThat(revocationList.revokeRefresh(refresh)).isTrue();
+        assertThat(revocationList.revokeRefresh(refresh)).isFalse();
+    }
+
+    @Test
+    void 리프레시_토큰_폐기는_다른_서버에도_적용() {
+        TokenService.TokenClaims refresh = claims(tokenService.issue(principal).refreshToken(), TokenService.TokenType.REFRESH);
+        revocationList.revoke(refresh);     // 로그아웃
+
+        TokenRevocationList otherNode = new TokenRevocationList(revokedTokenRepository);   // 메모리 목록이 비어 있는 다른 서버
+        assertThat(transactionTemplate.execute(status -> otherNode.revokeRefresh(refresh))).isFalse();
+        assertThat(revokedTokenRepository.existsById(refresh.tokenId())).isTrue();
+    }
+
+    @Test
+    void 액세스_토큰은_메모리에서_확인() {
+        TokenService.TokenClaims access = claims(tokenService.issue(principal).accessToken(), TokenService.TokenType.ACCESS);
+
+        revocationList.revoke(access);
+
+        assertThat(revocationList.isRevoked(access.tokenId())).isTrue();
+        assertThat(revokedTokenRepository.existsById(access.tokenId())).isFalse();
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.project;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.example.project.model.User;
+import com.example.project.security.CustomUserDetails;
+import com.example.project.security.TokenService;
+
+public class TokenServiceTest {
+
+    private final TokenService tokenService = new TokenService("test-secret", 900, 3600);
+    private final CustomUserDetails principal = new CustomUserDetails(3L, "user|name", User.Role.ADMIN, true, null);
+
+    @Test
+    void 토큰_발급_후_검증() {
+        TokenService.TokenPair pair = tokenService.issue(principal);
+
+        TokenService.TokenClaims claims = tokenService.verify(pair.accessToken(), TokenService.TokenType.ACCESS);
+
+        assertThat(claims.userId()).isEqualTo(3L);
+        assertThat(claims.username()).isEqualTo("user|name");
+        assertThat(claims.toPrincipal().hasRole("ROLE_ADMIN")).isTrue();
+    }
+
+    @Test
+    void 변조된_토큰_거부() {
+        String token = tokenService.issue(principal).accessToken();
+        String tampered = "A" + token.substring(1);
+
+        assertThatThrownBy(() -> tokenService.verify(tampered, TokenService.TokenType.ACCESS))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new TokenService("other-secret", 900, 3600).verify(token, TokenService.TokenType.ACCESS))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void 토큰_종류_및_만료_확인() {
+        TokenService.TokenPair pair = tokenService.issue(principal);
+        assertThatThrownBy(() -> tokenService.verify(pair.refreshToken(), TokenService.TokenType.ACCESS))
+                .hasMessage("토큰 종류가 올바르지 않습니다.");
+
+        String expired = new TokenService("test-secret", 0, 0).issue(principal).accessToken();
+        assertThatThrownBy(() -> tokenService.verify(expired, TokenService.TokenType.ACCESS))
+                .hasMessage("만료된 토큰입니다.");
+    }
+
+    @Test
+    void 서명_키_설정_여부() {
+        assertThat(tokenService.isSecretConfigured()).isTrue();
+        assertThat(new TokenService("", 900, 3600).isSecretConfigured()).isFalse();    // 서버별 임의 키
+    }
+}